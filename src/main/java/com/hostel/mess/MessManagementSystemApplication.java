@@ -2,12 +2,14 @@ package com.hostel.mess;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 /**
  * Main application class for Hostel Mess Management System
  * Implements OOP principles and Spring Boot best practices
  */
 @SpringBootApplication
+@EnableScheduling
 public class MessManagementSystemApplication {
 
     public static void main(String[] args) {
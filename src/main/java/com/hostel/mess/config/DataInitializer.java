@@ -2,6 +2,8 @@ package com.hostel.mess.config;
 
 import com.hostel.mess.model.*;
 import com.hostel.mess.repository.*;
+import com.hostel.mess.service.RatingAggregateService;
+import com.hostel.mess.service.RatingRollupService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.boot.CommandLineRunner;
@@ -24,6 +26,8 @@ public class DataInitializer implements CommandLineRunner {
     private final MenuRepository menuRepository;
     private final FeedbackRepository feedbackRepository;
     private final ComplaintRepository complaintRepository;
+    private final RatingAggregateService ratingAggregateService;
+    private final RatingRollupService ratingRollupService;
     
     @Override
     public void run(String... args) throws Exception {
@@ -33,6 +37,10 @@ public class DataInitializer implements CommandLineRunner {
             initializeStudents();
             initializeMenus();
             initializeFeedback();
+            
+            // Sample feedback is inserted directly, so derive the aggregates from it
+            ratingAggregateService.rebuildAll();
+            ratingRollupService.rebuildAll();
             initializeComplaints();
             
             log.info("Sample data initialization completed!");
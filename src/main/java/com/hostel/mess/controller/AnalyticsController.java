@@ -0,0 +1,76 @@
+package com.hostel.mess.controller;
+
+import com.hostel.mess.dto.KeywordReportDto;
+import com.hostel.mess.dto.LiveRatingSnapshot;
+import com.hostel.mess.model.ComplaintCategory;
+import com.hostel.mess.model.MealType;
+import com.hostel.mess.service.KeywordAnalyticsService;
+import com.hostel.mess.service.LiveRatingMonitor;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * REST Controller for live and text analytics
+ * Answers from in-memory windows and sketches without touching the database
+ */
+@RestController
+@RequestMapping("/api/analytics")
+@RequiredArgsConstructor
+@Slf4j
+@CrossOrigin(origins = "*")
+public class AnalyticsController {
+    
+    private final KeywordAnalyticsService keywordAnalyticsService;
+    private final LiveRatingMonitor liveRatingMonitor;
+    
+    /**
+     * Top keywords for exactly one of menuId, mealType or category, for this week or the previous one
+     */
+    @GetMapping("/keywords")
+    public ResponseEntity<KeywordReportDto> getTopKeywords(
+            @RequestParam(required = false) Long menuId,
+            @RequestParam(required = false) MealType mealType,
+            @RequestParam(required = false) ComplaintCategory category,
+            @RequestParam(defaultValue = "false") boolean previousWeek,
+            @RequestParam(defaultValue = "10") int limit) {
+        log.info("Fetching top keywords for menu {} / meal type {} / category {}", menuId, mealType, category);
+        
+        int scopes = (menuId != null ? 1 : 0) + (mealType != null ? 1 : 0) + (category != null ? 1 : 0);
+        if (scopes != 1) {
+            log.error("Error fetching keywords: exactly one of menuId, mealType or category is required");
+            return ResponseEntity.badRequest().build();
+        }
+        
+        KeywordReportDto report;
+        if (menuId != null) {
+            report = keywordAnalyticsService.getMenuKeywords(menuId, previousWeek, limit);
+        } else if (mealType != null) {
+            report = keywordAnalyticsService.getMealTypeKeywords(mealType, previousWeek, limit);
+        } else {
+            report = keywordAnalyticsService.getCategoryKeywords(category, previousWeek, limit);
+        }
+        return ResponseEntity.ok(report);
+    }
+    
+    @GetMapping("/keywords/stats")
+    public ResponseEntity<Map<String, Long>> getKeywordStatistics() {
+        log.info("Fetching keyword analytics statistics");
+        
+        return ResponseEntity.ok(keywordAnalyticsService.getStatistics());
+    }
+    
+    /**
+     * Rolling average and negative share per meal over the live window for today's menus
+     */
+    @GetMapping("/live")
+    public ResponseEntity<List<LiveRatingSnapshot>> getLiveRatings() {
+        log.info("Fetching live rating windows");
+        
+        return ResponseEntity.ok(liveRatingMonitor.getSnapshots());
+    }
+}
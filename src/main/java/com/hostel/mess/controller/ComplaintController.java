@@ -1,17 +1,34 @@
 package com.hostel.mess.controller;
 
+import com.hostel.mess.dto.ComplaintBulkStatusRequest;
+import com.hostel.mess.dto.ComplaintBulkStatusResult;
+import com.hostel.mess.dto.ComplaintClusterDto;
+import com.hostel.mess.dto.ComplaintClusterResolveRequest;
 import com.hostel.mess.dto.ComplaintDto;
+import com.hostel.mess.dto.CursorPage;
+import com.hostel.mess.dto.ExportFormat;
+import com.hostel.mess.dto.ExportRange;
+import com.hostel.mess.model.ComplaintCategory;
 import com.hostel.mess.model.ComplaintStatus;
+import com.hostel.mess.model.Priority;
 import com.hostel.mess.service.ComplaintService;
+import com.hostel.mess.service.SubmissionRateLimiter;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import jakarta.validation.Valid;
+import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
 
 /**
  * REST Controller for Complaint operations
@@ -26,11 +43,20 @@ import java.util.List;
 public class ComplaintController {
     
     private final ComplaintService complaintService;
+    private final SubmissionRateLimiter submissionRateLimiter;
     
     @PostMapping
     public ResponseEntity<ComplaintDto> submitComplaint(@Valid @RequestBody ComplaintDto complaintDto) {
         log.info("Submitting complaint from student ID: {}", complaintDto.getStudentId());
         
+        long retryAfter = submissionRateLimiter.acquire(SubmissionRateLimiter.Endpoint.COMPLAINT, complaintDto.getStudentId());
+        if (retryAfter > 0) {
+            log.warn("Rate limited complaint from student ID: {}", complaintDto.getStudentId());
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                    .header(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfter))
+                    .build();
+        }
+        
         try {
             ComplaintDto submittedComplaint = complaintService.submitComplaint(complaintDto);
             return ResponseEntity.status(HttpStatus.CREATED).body(submittedComplaint);
@@ -74,12 +100,35 @@ public class ComplaintController {
         return ResponseEntity.ok(complaints);
     }
     
+    /**
+     * Next open complaints to handle, highest priority first and then oldest
+     */
+    @GetMapping("/next")
+    public ResponseEntity<List<ComplaintDto>> getNextComplaints(@RequestParam(required = false) Integer limit) {
+        log.info("Fetching next complaints to handle");
+        
+        try {
+            List<ComplaintDto> complaints = complaintService.getNextComplaints(limit);
+            return ResponseEntity.ok(complaints);
+        } catch (IllegalArgumentException e) {
+            log.error("Error fetching next complaints: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        }
+    }
+    
     @GetMapping
-    public ResponseEntity<List<ComplaintDto>> getAllComplaints() {
+    public ResponseEntity<CursorPage<ComplaintDto>> getAllComplaints(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
         log.info("Fetching all complaints");
         
-        List<ComplaintDto> complaints = complaintService.getAllComplaints();
-        return ResponseEntity.ok(complaints);
+        try {
+            CursorPage<ComplaintDto> complaints = complaintService.getAllComplaints(cursor, size);
+            return ResponseEntity.ok(complaints);
+        } catch (IllegalArgumentException e) {
+            log.error("Error fetching complaints: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        }
     }
     
     @PutMapping("/{id}/status")
@@ -87,18 +136,82 @@ public class ComplaintController {
             @PathVariable Long id,
             @RequestParam ComplaintStatus status,
             @RequestParam(required = false) String notes,
-            @RequestParam(required = false) String resolvedBy) {
+            @RequestParam(required = false) String resolvedBy,
+            @RequestParam(required = false) Long expectedVersion) {
         log.info("Updating complaint ID: {} to status: {}", id, status);
         
         try {
-            ComplaintDto updatedComplaint = complaintService.updateComplaintStatus(id, status, notes, resolvedBy);
+            ComplaintDto updatedComplaint = complaintService.updateComplaintStatus(id, status, notes, resolvedBy,
+                    expectedVersion);
             return ResponseEntity.ok(updatedComplaint);
+        } catch (OptimisticLockingFailureException e) {
+            // The body carries the current state so the caller can decide and retry with its version
+            log.warn("Conflict updating complaint status: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(complaintService.getComplaintById(id));
         } catch (IllegalArgumentException | IllegalStateException e) {
             log.error("Error updating complaint status: {}", e.getMessage());
             return ResponseEntity.badRequest().build();
         }
     }
     
+    /**
+     * Moves many complaints to one status; the response lists an outcome per complaint
+     */
+    @PostMapping("/status/bulk")
+    public ResponseEntity<ComplaintBulkStatusResult> bulkUpdateStatus(
+            @Valid @RequestBody ComplaintBulkStatusRequest request) {
+        log.info("Bulk updating complaints to status: {}", request.getStatus());
+        
+        try {
+            ComplaintBulkStatusResult result = complaintService.bulkUpdateStatus(request);
+            return ResponseEntity.ok(result);
+        } catch (IllegalArgumentException e) {
+            log.error("Error bulk updating complaint status: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        }
+    }
+    
+    /**
+     * Near-duplicate complaints clustered with this one that are still open
+     */
+    @GetMapping("/{id}/cluster")
+    public ResponseEntity<ComplaintClusterDto> getComplaintCluster(@PathVariable Long id) {
+        log.info("Fetching cluster of complaint ID: {}", id);
+        
+        try {
+            ComplaintClusterDto cluster = complaintService.getComplaintCluster(id);
+            return ResponseEntity.ok(cluster);
+        } catch (IllegalArgumentException e) {
+            log.error("Error fetching complaint cluster: {}", e.getMessage());
+            return ResponseEntity.notFound().build();
+        }
+    }
+    
+    /**
+     * Resolves the listed complaints that are still open in this complaint's cluster
+     */
+    @PostMapping("/{id}/cluster/resolve")
+    public ResponseEntity<ComplaintBulkStatusResult> resolveCluster(
+            @PathVariable Long id,
+            @Valid @RequestBody ComplaintClusterResolveRequest request) {
+        log.info("Resolving cluster of complaint ID: {}", id);
+        
+        try {
+            ComplaintBulkStatusResult result = complaintService.resolveCluster(id, request);
+            return ResponseEntity.ok(result);
+        } catch (IllegalArgumentException e) {
+            log.error("Error resolving complaint cluster: {}", e.getMessage());
+            return ResponseEntity.notFound().build();
+        }
+    }
+    
+    @GetMapping("/stats/clusters")
+    public ResponseEntity<Map<String, Long>> getClusterStatistics() {
+        log.info("Fetching complaint cluster statistics");
+        
+        return ResponseEntity.ok(complaintService.getClusterStatistics());
+    }
+    
     @GetMapping("/stats/pending-count")
     public ResponseEntity<Long> getPendingComplaintsCount() {
         log.info("Fetching pending complaints count");
@@ -114,4 +227,47 @@ public class ComplaintController {
         Long count = complaintService.getUrgentComplaintsCount();
         return ResponseEntity.ok(count);
     }
+    
+    /**
+     * Complaint counts for every status, priority and category in one response
+     */
+    @GetMapping("/stats/matrix")
+    public ResponseEntity<Map<ComplaintStatus, Map<Priority, Map<ComplaintCategory, Long>>>> getCountMatrix() {
+        log.info("Fetching complaint count matrix");
+        
+        return ResponseEntity.ok(complaintService.getCountMatrix());
+    }
+    
+    /**
+     * Streams complaints as CSV or NDJSON; the date range is inclusive and applies to submission time
+     */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportComplaints(
+            @RequestParam(defaultValue = "csv") String format,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) ComplaintStatus status,
+            @RequestParam(required = false) ComplaintCategory category,
+            @RequestParam(required = false) Priority priority) {
+        log.info("Exporting complaints from {} to {} as {}", from, to, format);
+        
+        ExportFormat exportFormat;
+        ExportRange range;
+        try {
+            exportFormat = ExportFormat.fromParameter(format);
+            range = ExportRange.of(from, to);
+        } catch (IllegalArgumentException e) {
+            log.error("Error exporting complaints: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        }
+        
+        StreamingResponseBody body = out -> complaintService.exportComplaints(
+                range, status, category, priority, exportFormat, out);
+        
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(exportFormat.getContentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"complaints-export." + exportFormat.getFileExtension() + "\"")
+                .body(body);
+    }
 }
@@ -1,17 +1,14 @@
 package com.hostel.mess.controller;
 
-import com.hostel.mess.dto.MenuDto;
-import com.hostel.mess.dto.FeedbackDto;
-import com.hostel.mess.service.MenuService;
-import com.hostel.mess.service.FeedbackService;
-import com.hostel.mess.service.ComplaintService;
+import com.hostel.mess.service.ComplaintEscalationService;
+import com.hostel.mess.service.DashboardSnapshotService;
+import com.hostel.mess.service.SubmissionRateLimiter;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.HashMap;
-import java.util.List;
 import java.util.Map;
 
 /**
@@ -25,46 +22,39 @@ import java.util.Map;
 @CrossOrigin(origins = "*")
 public class DashboardController {
     
-    private final MenuService menuService;
-    private final FeedbackService feedbackService;
-    private final ComplaintService complaintService;
+    private final DashboardSnapshotService dashboardSnapshotService;
+    private final SubmissionRateLimiter submissionRateLimiter;
+    private final ComplaintEscalationService complaintEscalationService;
     
     @GetMapping("/overview")
     public ResponseEntity<Map<String, Object>> getDashboardOverview() {
         log.info("Fetching dashboard overview");
         
-        Map<String, Object> overview = new HashMap<>();
-        
         try {
-            // Today's menus
-            List<MenuDto> todaysMenus = menuService.getTodaysMenus();
-            overview.put("todaysMenus", todaysMenus);
-            
-            // Recent feedback
-            List<FeedbackDto> positiveFeedback = feedbackService.getPositiveFeedback();
-            List<FeedbackDto> negativeFeedback = feedbackService.getNegativeFeedback();
-            overview.put("positiveFeedbackCount", positiveFeedback.size());
-            overview.put("negativeFeedbackCount", negativeFeedback.size());
-            
-            // Complaint statistics
-            Long pendingComplaints = complaintService.getPendingComplaintsCount();
-            Long urgentComplaints = complaintService.getUrgentComplaintsCount();
-            overview.put("pendingComplaints", pendingComplaints);
-            overview.put("urgentComplaints", urgentComplaints);
-            
-            // System status
-            overview.put("systemStatus", "operational");
-            overview.put("lastUpdated", java.time.LocalDateTime.now());
-            
-            return ResponseEntity.ok(overview);
+            return ResponseEntity.ok(dashboardSnapshotService.getOverview());
         } catch (Exception e) {
             log.error("Error fetching dashboard overview: {}", e.getMessage());
+            Map<String, Object> overview = new HashMap<>();
             overview.put("systemStatus", "error");
             overview.put("message", "Unable to fetch complete dashboard data");
             return ResponseEntity.ok(overview);
         }
     }
     
+    @GetMapping("/rate-limits")
+    public ResponseEntity<Map<String, Map<String, Long>>> getRateLimitStatistics() {
+        log.info("Fetching rate limit statistics");
+        
+        return ResponseEntity.ok(submissionRateLimiter.getStatistics());
+    }
+    
+    @GetMapping("/escalations")
+    public ResponseEntity<Map<String, Long>> getEscalationStatistics() {
+        log.info("Fetching complaint escalation statistics");
+        
+        return ResponseEntity.ok(complaintEscalationService.getStatistics());
+    }
+    
     @GetMapping("/health")
     public ResponseEntity<Map<String, String>> getHealthCheck() {
         Map<String, String> health = new HashMap<>();
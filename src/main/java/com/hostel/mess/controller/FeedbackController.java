@@ -1,16 +1,34 @@
 package com.hostel.mess.controller;
 
+import com.hostel.mess.dto.CursorPage;
+import com.hostel.mess.dto.ExportFormat;
+import com.hostel.mess.dto.ExportRange;
 import com.hostel.mess.dto.FeedbackDto;
+import com.hostel.mess.dto.RatingHistogramDto;
+import com.hostel.mess.dto.RatingTrendPoint;
+import com.hostel.mess.model.FeedbackType;
+import com.hostel.mess.model.MealType;
+import com.hostel.mess.model.RollupLevel;
+import com.hostel.mess.service.FeedbackIngestionService;
 import com.hostel.mess.service.FeedbackService;
+import com.hostel.mess.service.SubmissionRateLimiter;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import jakarta.validation.Valid;
+import java.time.LocalDate;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.RejectedExecutionException;
 
 /**
  * REST Controller for Feedback operations
@@ -25,12 +43,20 @@ import java.util.List;
 public class FeedbackController {
     
     private final FeedbackService feedbackService;
+    private final FeedbackIngestionService feedbackIngestionService;
+    private final SubmissionRateLimiter submissionRateLimiter;
     
     @PostMapping
     public ResponseEntity<FeedbackDto> submitFeedback(@Valid @RequestBody FeedbackDto feedbackDto) {
         log.info("Submitting feedback from student ID: {} for menu ID: {}", 
                 feedbackDto.getStudentId(), feedbackDto.getMenuId());
         
+        long retryAfter = submissionRateLimiter.acquire(SubmissionRateLimiter.Endpoint.FEEDBACK, feedbackDto.getStudentId());
+        if (retryAfter > 0) {
+            log.warn("Rate limited feedback from student ID: {}", feedbackDto.getStudentId());
+            return tooManyRequests(retryAfter);
+        }
+        
         try {
             FeedbackDto submittedFeedback = feedbackService.submitFeedback(feedbackDto);
             return ResponseEntity.status(HttpStatus.CREATED).body(submittedFeedback);
@@ -40,6 +66,42 @@ public class FeedbackController {
         }
     }
     
+    /**
+     * Acknowledges feedback once it is validated and journaled; it is inserted
+     * shortly afterwards by the batching flusher
+     */
+    @PostMapping("/async")
+    public ResponseEntity<FeedbackDto> submitFeedbackAsync(@Valid @RequestBody FeedbackDto feedbackDto) {
+        log.info("Queueing feedback from student ID: {} for menu ID: {}", 
+                feedbackDto.getStudentId(), feedbackDto.getMenuId());
+        
+        long retryAfter = submissionRateLimiter.acquire(SubmissionRateLimiter.Endpoint.FEEDBACK_ASYNC, feedbackDto.getStudentId());
+        if (retryAfter > 0) {
+            log.warn("Rate limited queued feedback from student ID: {}", feedbackDto.getStudentId());
+            return tooManyRequests(retryAfter);
+        }
+        
+        try {
+            feedbackIngestionService.submit(feedbackDto);
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(feedbackDto);
+        } catch (IllegalArgumentException e) {
+            log.error("Error queueing feedback: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        } catch (RejectedExecutionException e) {
+            log.warn("Feedback rejected under backpressure: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, "1")
+                    .build();
+        }
+    }
+    
+    @GetMapping("/ingestion/stats")
+    public ResponseEntity<Map<String, Object>> getIngestionStatistics() {
+        log.info("Fetching feedback ingestion statistics");
+        
+        return ResponseEntity.ok(feedbackIngestionService.getStatistics());
+    }
+    
     @GetMapping("/menu/{menuId}")
     public ResponseEntity<List<FeedbackDto>> getFeedbackForMenu(@PathVariable Long menuId) {
         log.info("Fetching feedback for menu ID: {}", menuId);
@@ -79,19 +141,124 @@ public class FeedbackController {
         }
     }
     
+    @GetMapping("/menu/{menuId}/histogram")
+    public ResponseEntity<RatingHistogramDto> getRatingHistogram(@PathVariable Long menuId) {
+        log.info("Fetching rating histogram for menu ID: {}", menuId);
+        
+        try {
+            RatingHistogramDto histogram = feedbackService.getRatingHistogram(menuId);
+            return ResponseEntity.ok(histogram);
+        } catch (IllegalArgumentException e) {
+            log.error("Error fetching rating histogram: {}", e.getMessage());
+            return ResponseEntity.notFound().build();
+        }
+    }
+    
+    @PostMapping("/aggregates/rebuild")
+    public ResponseEntity<Map<String, Integer>> rebuildRatingAggregates() {
+        log.info("Rebuilding rating aggregates");
+        
+        int rebuilt = feedbackService.rebuildRatingAggregates();
+        return ResponseEntity.ok(Collections.singletonMap("aggregatesRebuilt", rebuilt));
+    }
+    
+    /**
+     * Rating trend per day, week or month over an inclusive date range of menu dates,
+     * optionally narrowed to one MealType and FeedbackType
+     */
+    @GetMapping("/trends")
+    public ResponseEntity<List<RatingTrendPoint>> getRatingTrend(
+            @RequestParam(defaultValue = "WEEK") RollupLevel level,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) MealType mealType,
+            @RequestParam(required = false) FeedbackType feedbackType) {
+        log.info("Fetching {} rating trend from {} to {}", level, from, to);
+        
+        try {
+            List<RatingTrendPoint> trend = feedbackService.getRatingTrend(level, from, to, mealType, feedbackType);
+            return ResponseEntity.ok(trend);
+        } catch (IllegalArgumentException e) {
+            log.error("Error fetching rating trend: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        }
+    }
+    
+    @PostMapping("/trends/rebuild")
+    public ResponseEntity<Map<String, Integer>> rebuildRatingRollups() {
+        log.info("Rebuilding rating rollups");
+        
+        int rebuilt = feedbackService.rebuildRatingRollups();
+        return ResponseEntity.ok(Collections.singletonMap("dailyRollupsRebuilt", rebuilt));
+    }
+    
     @GetMapping("/negative")
-    public ResponseEntity<List<FeedbackDto>> getNegativeFeedback() {
+    public ResponseEntity<CursorPage<FeedbackDto>> getNegativeFeedback(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
         log.info("Fetching negative feedback");
         
-        List<FeedbackDto> feedbacks = feedbackService.getNegativeFeedback();
-        return ResponseEntity.ok(feedbacks);
+        try {
+            CursorPage<FeedbackDto> feedbacks = feedbackService.getNegativeFeedback(cursor, size);
+            return ResponseEntity.ok(feedbacks);
+        } catch (IllegalArgumentException e) {
+            log.error("Error fetching negative feedback: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        }
     }
     
     @GetMapping("/positive")
-    public ResponseEntity<List<FeedbackDto>> getPositiveFeedback() {
+    public ResponseEntity<CursorPage<FeedbackDto>> getPositiveFeedback(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
         log.info("Fetching positive feedback");
         
-        List<FeedbackDto> feedbacks = feedbackService.getPositiveFeedback();
-        return ResponseEntity.ok(feedbacks);
+        try {
+            CursorPage<FeedbackDto> feedbacks = feedbackService.getPositiveFeedback(cursor, size);
+            return ResponseEntity.ok(feedbacks);
+        } catch (IllegalArgumentException e) {
+            log.error("Error fetching positive feedback: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        }
+    }
+    
+    /**
+     * Streams feedback as CSV or NDJSON; the date range is inclusive and applies to submission time
+     */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportFeedback(
+            @RequestParam(defaultValue = "csv") String format,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) Long menuId,
+            @RequestParam(required = false) FeedbackType feedbackType,
+            @RequestParam(required = false) Integer minRating,
+            @RequestParam(required = false) Integer maxRating) {
+        log.info("Exporting feedback from {} to {} as {}", from, to, format);
+        
+        ExportFormat exportFormat;
+        ExportRange range;
+        try {
+            exportFormat = ExportFormat.fromParameter(format);
+            range = ExportRange.of(from, to);
+        } catch (IllegalArgumentException e) {
+            log.error("Error exporting feedback: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        }
+        
+        StreamingResponseBody body = out -> feedbackService.exportFeedback(
+                range, menuId, feedbackType, minRating, maxRating, exportFormat, out);
+        
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(exportFormat.getContentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"feedback-export." + exportFormat.getFileExtension() + "\"")
+                .body(body);
+    }
+    
+    private ResponseEntity<FeedbackDto> tooManyRequests(long retryAfterSeconds) {
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds))
+                .build();
     }
 }
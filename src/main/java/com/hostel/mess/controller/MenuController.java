@@ -1,6 +1,10 @@
 package com.hostel.mess.controller;
 
+import com.hostel.mess.dto.CursorPage;
 import com.hostel.mess.dto.MenuDto;
+import com.hostel.mess.dto.MenuImportRequest;
+import com.hostel.mess.dto.MenuImportResult;
+import com.hostel.mess.dto.ResourceVersion;
 import com.hostel.mess.model.MealType;
 import com.hostel.mess.service.MenuService;
 import lombok.RequiredArgsConstructor;
@@ -10,10 +14,12 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import jakarta.validation.Valid;
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
 
 /**
  * REST Controller for Menu operations
@@ -43,19 +49,38 @@ public class MenuController {
         }
     }
     
+    @PostMapping("/import")
+    public ResponseEntity<MenuImportResult> importMenus(@Valid @RequestBody MenuImportRequest request) {
+        log.info("Importing menu schedule with {} rows", request.getMenus().size());
+        
+        MenuImportResult result = menuService.importMenus(request);
+        HttpStatus status = result.getImported() > 0 ? HttpStatus.CREATED : HttpStatus.BAD_REQUEST;
+        return ResponseEntity.status(status).body(result);
+    }
+    
     @GetMapping("/today")
-    public ResponseEntity<List<MenuDto>> getTodaysMenus() {
+    public ResponseEntity<List<MenuDto>> getTodaysMenus(WebRequest request) {
         log.info("Fetching today's menus");
         
+        LocalDate today = LocalDate.now();
+        if (isNotModified(request, menuService.getMenuVersion(today, today, null))) {
+            return null;
+        }
+        
         List<MenuDto> menus = menuService.getTodaysMenus();
         return ResponseEntity.ok(menus);
     }
     
     @GetMapping("/date/{date}")
     public ResponseEntity<List<MenuDto>> getMenusForDate(
-            @PathVariable @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
+            @PathVariable @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+            WebRequest request) {
         log.info("Fetching menus for date: {}", date);
         
+        if (isNotModified(request, menuService.getMenuVersion(date, date, null))) {
+            return null;
+        }
+        
         List<MenuDto> menus = menuService.getMenusForDate(date);
         return ResponseEntity.ok(menus);
     }
@@ -63,33 +88,66 @@ public class MenuController {
     @GetMapping("/date/{date}/meal-type/{mealType}")
     public ResponseEntity<MenuDto> getMenuByDateAndMealType(
             @PathVariable @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
-            @PathVariable MealType mealType) {
+            @PathVariable MealType mealType,
+            WebRequest request) {
         log.info("Fetching menu for date: {} and meal type: {}", date, mealType);
         
+        if (isNotModified(request, menuService.getMenuVersion(date, date, mealType))) {
+            return null;
+        }
+        
         return menuService.getMenuByDateAndMealType(date, mealType)
                 .map(menu -> ResponseEntity.ok().body(menu))
                 .orElse(ResponseEntity.notFound().build());
     }
     
     @GetMapping("/upcoming")
-    public ResponseEntity<List<MenuDto>> getUpcomingMenus() {
+    public ResponseEntity<CursorPage<MenuDto>> getUpcomingMenus(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
         log.info("Fetching upcoming menus");
         
-        List<MenuDto> menus = menuService.getUpcomingMenus();
-        return ResponseEntity.ok(menus);
+        try {
+            CursorPage<MenuDto> menus = menuService.getUpcomingMenus(cursor, size);
+            return ResponseEntity.ok(menus);
+        } catch (IllegalArgumentException e) {
+            log.error("Error fetching upcoming menus: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        }
     }
     
     @GetMapping("/week/{startDate}")
     public ResponseEntity<List<MenuDto>> getMenusForWeek(
-            @PathVariable @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate) {
+            @PathVariable @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            WebRequest request) {
         log.info("Fetching menus for week starting: {}", startDate);
         
+        if (isNotModified(request, menuService.getMenuVersion(startDate, startDate.plusDays(6), null))) {
+            return null;
+        }
+        
         List<MenuDto> menus = menuService.getMenusForWeek(startDate);
         return ResponseEntity.ok(menus);
     }
     
+    @GetMapping("/cache/stats")
+    public ResponseEntity<Map<String, Long>> getCacheStatistics() {
+        log.info("Fetching menu cache statistics");
+        
+        return ResponseEntity.ok(menuService.getCacheStatistics());
+    }
+    
     @GetMapping("/meal-types")
     public ResponseEntity<MealType[]> getMealTypes() {
         return ResponseEntity.ok(MealType.values());
     }
+    
+    /**
+     * Evaluates If-None-Match / If-Modified-Since against the cheap version lookup.
+     * Sets ETag and Last-Modified on the response; when it returns true the 304 is
+     * already prepared and the handler returns null without building a body.
+     */
+    private boolean isNotModified(WebRequest request, ResourceVersion version) {
+        return request.checkNotModified(version.getEtag(), version.getLastModified());
+    }
 }
@@ -1,5 +1,6 @@
 package com.hostel.mess.controller;
 
+import com.hostel.mess.dto.CursorPage;
 import com.hostel.mess.dto.StudentDto;
 import com.hostel.mess.service.StudentService;
 import lombok.RequiredArgsConstructor;
@@ -10,7 +11,6 @@ import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 
 import jakarta.validation.Valid;
-import java.util.List;
 
 /**
  * REST Controller for Student operations
@@ -58,11 +58,18 @@ public class StudentController {
     }
     
     @GetMapping
-    public ResponseEntity<List<StudentDto>> getAllActiveStudents() {
+    public ResponseEntity<CursorPage<StudentDto>> getAllActiveStudents(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
         log.info("Fetching all active students");
         
-        List<StudentDto> students = studentService.getAllActiveStudents();
-        return ResponseEntity.ok(students);
+        try {
+            CursorPage<StudentDto> students = studentService.getAllActiveStudents(cursor, size);
+            return ResponseEntity.ok(students);
+        } catch (IllegalArgumentException e) {
+            log.error("Error fetching students: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        }
     }
     
     @PutMapping("/{id}")
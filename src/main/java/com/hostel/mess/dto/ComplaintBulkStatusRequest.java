@@ -0,0 +1,41 @@
+package com.hostel.mess.dto;
+
+import com.hostel.mess.model.ComplaintStatus;
+import lombok.Data;
+import lombok.Builder;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+import jakarta.validation.constraints.*;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * DTO for moving many complaints to one status in a single request
+ * Complaints are chosen either by id or by current status and last update date
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ComplaintBulkStatusRequest {
+    
+    @NotNull(message = "Target status is required")
+    private ComplaintStatus status;
+    
+    @Size(max = 1000, message = "A single bulk update cannot exceed 1000 complaints")
+    private List<Long> ids;
+    
+    // Used when ids is empty, e.g. currentStatus RESOLVED over last week to close it out
+    private ComplaintStatus currentStatus;
+    
+    // Inclusive range on the complaint's last update date; either end may be left open
+    private LocalDate updatedFrom;
+    
+    private LocalDate updatedTo;
+    
+    @Size(max = 1000, message = "Resolution notes should not exceed 1000 characters")
+    private String notes;
+    
+    private String resolvedBy;
+}
@@ -0,0 +1,50 @@
+package com.hostel.mess.dto;
+
+import com.hostel.mess.model.ComplaintStatus;
+import lombok.Data;
+import lombok.Builder;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO summarising a bulk complaint status update
+ * Carries one outcome per requested complaint, in request order
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ComplaintBulkStatusResult {
+    
+    public enum Outcome {
+        UPDATED,
+        NOT_FOUND,
+        INVALID_TRANSITION,
+        // Cluster resolve only: not an open member of the complaint's cluster
+        NOT_IN_CLUSTER
+    }
+    
+    private ComplaintStatus status;
+    
+    private int requested;
+    
+    private int updated;
+    
+    private List<Item> outcomes;
+    
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Item {
+        
+        private Long id;
+        
+        private Outcome outcome;
+        
+        // Status the complaint was in when the update was attempted; null if not found
+        private ComplaintStatus previousStatus;
+    }
+}
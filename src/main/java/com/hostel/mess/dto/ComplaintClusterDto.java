@@ -0,0 +1,26 @@
+package com.hostel.mess.dto;
+
+import lombok.Data;
+import lombok.Builder;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO for the cluster of near-duplicate complaints a complaint belongs to
+ * Lists only the members that are still open, oldest first
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ComplaintClusterDto {
+    
+    private Long complaintId;
+    
+    // Open complaints in the cluster, including this one; 0 once this one is no longer open
+    private int clusterSize;
+    
+    private List<ComplaintDto> openComplaints;
+}
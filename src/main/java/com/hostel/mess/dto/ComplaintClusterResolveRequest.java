@@ -0,0 +1,29 @@
+package com.hostel.mess.dto;
+
+import lombok.Data;
+import lombok.Builder;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+import jakarta.validation.constraints.*;
+import java.util.List;
+
+/**
+ * DTO for resolving the near-duplicates a warden reviewed in one complaint's cluster
+ * Carries the ids from the cluster listing, so complaints that joined later are left alone
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ComplaintClusterResolveRequest {
+    
+    @NotEmpty(message = "The reviewed complaint ids are required")
+    @Size(max = 1000, message = "A single bulk update cannot exceed 1000 complaints")
+    private List<Long> ids;
+    
+    @Size(max = 1000, message = "Resolution notes should not exceed 1000 characters")
+    private String notes;
+    
+    private String resolvedBy;
+}
@@ -52,4 +52,9 @@ public class ComplaintDto {
     private String studentName;
     private LocalDateTime submittedAt;
     private LocalDateTime lastUpdated;
+    private LocalDateTime lastEscalatedAt;
+    private LocalDateTime slaBreachedAt;
+    
+    // Pass back as expectedVersion to update only if nobody changed the complaint meanwhile
+    private Long version;
 }
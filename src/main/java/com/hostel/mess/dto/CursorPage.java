@@ -0,0 +1,54 @@
+package com.hostel.mess.dto;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * DTO for one page of a keyset-paginated listing
+ * Pass nextCursor back as the cursor parameter to fetch the following page
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CursorPage<T> {
+    
+    public static final int DEFAULT_PAGE_SIZE = 50;
+    public static final int MAX_PAGE_SIZE = 200;
+    
+    private List<T> items;
+    
+    private String nextCursor;
+    
+    private boolean hasMore;
+    
+    private int size;
+    
+    public static int resolvePageSize(Integer requested) {
+        if (requested == null) {
+            return DEFAULT_PAGE_SIZE;
+        }
+        if (requested < 1) {
+            throw new IllegalArgumentException("Page size must be at least 1");
+        }
+        return Math.min(requested, MAX_PAGE_SIZE);
+    }
+    
+    /**
+     * Builds a page from rows fetched with a limit of pageSize + 1;
+     * the extra row only signals that another page exists
+     */
+    public static <E, T> CursorPage<T> fromRows(List<E> rows, int pageSize,
+                                                Function<List<E>, List<T>> converter,
+                                                Function<E, PageCursor> cursorOf) {
+        boolean hasMore = rows.size() > pageSize;
+        List<E> pageRows = hasMore ? rows.subList(0, pageSize) : rows;
+        List<T> items = converter.apply(pageRows);
+        String nextCursor = hasMore ? cursorOf.apply(pageRows.get(pageRows.size() - 1)).encode() : null;
+        
+        return new CursorPage<>(items, nextCursor, hasMore, items.size());
+    }
+}
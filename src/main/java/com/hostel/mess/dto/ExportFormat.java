@@ -0,0 +1,39 @@
+package com.hostel.mess.dto;
+
+import java.util.Locale;
+
+/**
+ * Output formats supported by the streaming export endpoints
+ */
+public enum ExportFormat {
+    
+    CSV("text/csv", "csv"),
+    NDJSON("application/x-ndjson", "ndjson");
+    
+    private final String contentType;
+    private final String fileExtension;
+    
+    ExportFormat(String contentType, String fileExtension) {
+        this.contentType = contentType;
+        this.fileExtension = fileExtension;
+    }
+    
+    public String getContentType() {
+        return contentType;
+    }
+    
+    public String getFileExtension() {
+        return fileExtension;
+    }
+    
+    /**
+     * @throws IllegalArgumentException if the format is not supported
+     */
+    public static ExportFormat fromParameter(String value) {
+        try {
+            return valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unsupported export format: " + value);
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.hostel.mess.dto;
+
+import lombok.Getter;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Inclusive date range for exports, resolved to a half-open timestamp range
+ * Either end may be left open
+ */
+@Getter
+public class ExportRange {
+    
+    private final LocalDateTime start;
+    private final LocalDateTime endExclusive;
+    
+    private ExportRange(LocalDateTime start, LocalDateTime endExclusive) {
+        this.start = start;
+        this.endExclusive = endExclusive;
+    }
+    
+    /**
+     * @throws IllegalArgumentException if the range ends before it starts
+     */
+    public static ExportRange of(LocalDate from, LocalDate to) {
+        if (from != null && to != null && to.isBefore(from)) {
+            throw new IllegalArgumentException("Export range ends before it starts");
+        }
+        return new ExportRange(
+                from != null ? from.atStartOfDay() : null,
+                to != null ? to.plusDays(1).atStartOfDay() : null);
+    }
+}
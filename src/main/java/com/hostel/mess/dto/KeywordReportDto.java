@@ -0,0 +1,43 @@
+package com.hostel.mess.dto;
+
+import lombok.Data;
+import lombok.Builder;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * DTO for the most frequent keywords in one week of feedback or complaint text
+ * Counts are sketch estimates: they may overcount slightly but never undercount
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class KeywordReportDto {
+    
+    // "menu", "mealType" or "category"
+    private String scope;
+    
+    private String key;
+    
+    // Monday of the reported week
+    private LocalDate weekStart;
+    
+    private Long totalKeywords;
+    
+    private List<KeywordCount> keywords;
+    
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class KeywordCount {
+        
+        private String keyword;
+        
+        private Long estimatedCount;
+    }
+}
@@ -0,0 +1,33 @@
+package com.hostel.mess.dto;
+
+import com.hostel.mess.model.MealType;
+import lombok.Data;
+import lombok.Builder;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * DTO for the live rating window of one meal
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class LiveRatingSnapshot {
+    
+    private MealType mealType;
+    
+    private Integer windowMinutes;
+    
+    private Long feedbackCount;
+    
+    private Double averageRating;
+    
+    private Double negativeShare;
+    
+    private Boolean alerting;
+    
+    private LocalDateTime lastAlertAt;
+}
@@ -6,6 +6,7 @@ import lombok.Builder;
 import lombok.NoArgsConstructor;
 import lombok.AllArgsConstructor;
 
+import jakarta.validation.Valid;
 import jakarta.validation.constraints.*;
 import java.time.LocalDate;
 import java.util.List;
@@ -15,7 +16,7 @@ import java.util.List;
  * Demonstrates composition and data transfer
  */
 @Data
-@Builder
+@Builder(toBuilder = true)
 @NoArgsConstructor
 @AllArgsConstructor
 public class MenuDto {
@@ -29,6 +30,7 @@ public class MenuDto {
     @NotNull(message = "Meal type is required")
     private MealType mealType;
     
+    @Valid
     private List<MenuItemDto> menuItems;
     
     private Boolean isActive;
@@ -0,0 +1,24 @@
+package com.hostel.mess.dto;
+
+import lombok.Data;
+import lombok.Builder;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+import jakarta.validation.constraints.*;
+import java.util.List;
+
+/**
+ * DTO for importing a whole menu schedule in one request
+ * Rows are validated individually so one bad row does not reject the schedule
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class MenuImportRequest {
+    
+    @NotEmpty(message = "At least one menu is required")
+    @Size(max = 2000, message = "A single import cannot exceed 2000 menus")
+    private List<MenuDto> menus;
+}
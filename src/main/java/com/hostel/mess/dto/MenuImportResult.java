@@ -0,0 +1,45 @@
+package com.hostel.mess.dto;
+
+import com.hostel.mess.model.MealType;
+import lombok.Data;
+import lombok.Builder;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * DTO summarising a bulk menu import
+ * Lists every rejected row with its position in the request
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class MenuImportResult {
+    
+    private int requested;
+    
+    private int imported;
+    
+    private int itemsImported;
+    
+    private List<RowError> errors;
+    
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class RowError {
+        
+        // Zero-based position of the row in the request
+        private int index;
+        
+        private LocalDate menuDate;
+        
+        private MealType mealType;
+        
+        private String message;
+    }
+}
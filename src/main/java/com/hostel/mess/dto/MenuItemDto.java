@@ -13,7 +13,7 @@ import java.math.BigDecimal;
  * Demonstrates data validation and transfer
  */
 @Data
-@Builder
+@Builder(toBuilder = true)
 @NoArgsConstructor
 @AllArgsConstructor
 public class MenuItemDto {
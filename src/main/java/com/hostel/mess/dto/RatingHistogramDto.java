@@ -0,0 +1,44 @@
+package com.hostel.mess.dto;
+
+import com.hostel.mess.model.FeedbackType;
+import lombok.Data;
+import lombok.Builder;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+import java.util.Map;
+
+/**
+ * DTO for the rating distribution of a menu
+ * Served from incrementally maintained aggregates rather than raw feedback rows
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RatingHistogramDto {
+    
+    private Long menuId;
+    
+    private Long totalFeedbacks;
+    
+    private Double averageRating;
+    
+    // Star rating (1-5) to number of feedbacks
+    private Map<Integer, Long> starCounts;
+    
+    private Map<FeedbackType, TypeStats> byFeedbackType;
+    
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class TypeStats {
+        
+        private Long totalFeedbacks;
+        
+        private Double averageRating;
+        
+        private Map<Integer, Long> starCounts;
+    }
+}
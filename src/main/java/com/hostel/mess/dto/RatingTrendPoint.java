@@ -0,0 +1,32 @@
+package com.hostel.mess.dto;
+
+import com.hostel.mess.model.RollupLevel;
+import lombok.Data;
+import lombok.Builder;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.Map;
+
+/**
+ * DTO for one bucket of a rating trend
+ * Empty buckets are included with a zero count so the series has no gaps
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RatingTrendPoint {
+    
+    private RollupLevel level;
+    
+    private LocalDate bucketStart;
+    
+    private Long totalFeedbacks;
+    
+    private Double averageRating;
+    
+    // Star rating (1-5) to number of feedbacks
+    private Map<Integer, Long> starCounts;
+}
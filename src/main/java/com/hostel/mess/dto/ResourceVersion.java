@@ -0,0 +1,22 @@
+package com.hostel.mess.dto;
+
+import lombok.Data;
+import lombok.Builder;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+/**
+ * DTO carrying HTTP validators for a cacheable resource
+ * Used to answer conditional GET requests with 304 Not Modified
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ResourceVersion {
+    
+    private String etag;
+    
+    // Epoch milliseconds, or -1 when the resource has no timestamp
+    private long lastModified;
+}
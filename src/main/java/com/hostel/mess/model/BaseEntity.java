@@ -10,6 +10,9 @@ import java.time.LocalDateTime;
 /**
  * Base entity class implementing common fields and OOP principles
  * Demonstrates inheritance and encapsulation
+ * 
+ * Ids come from a pooled per-table sequence (e.g. students_seq, allocation size 50)
+ * rather than IDENTITY, which would prevent Hibernate from batching inserts.
  */
 @MappedSuperclass
 @Data
@@ -18,7 +21,7 @@ import java.time.LocalDateTime;
 public abstract class BaseEntity {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE)
     private Long id;
     
     @Column(name = "created_at", nullable = false, updatable = false)
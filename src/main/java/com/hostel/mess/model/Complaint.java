@@ -7,12 +7,19 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.EqualsAndHashCode;
 
+import java.time.LocalDateTime;
+
 /**
  * Complaint entity representing student complaints
  * Demonstrates state management and business logic
  */
 @Entity
-@Table(name = "complaints")
+@Table(name = "complaints", indexes = {
+        @Index(name = "idx_complaints_created_id", columnList = "created_at, id"),
+        @Index(name = "idx_complaints_created_desc", columnList = "created_at DESC, id DESC"),
+        @Index(name = "idx_complaints_student_created", columnList = "student_id, created_at"),
+        @Index(name = "idx_complaints_status_priority_created", columnList = "status, priority, created_at")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -51,27 +58,50 @@ public class Complaint extends BaseEntity {
     @Column(name = "resolved_by")
     private String resolvedBy;
     
+    // Set by the escalation engine when it raises the priority of a waiting complaint
+    @Column(name = "last_escalated_at")
+    private LocalDateTime lastEscalatedAt;
+    
+    // Set once an URGENT complaint misses its deadline as well
+    @Column(name = "sla_breached_at")
+    private LocalDateTime slaBreachedAt;
+    
+    // Optimistic lock: concurrent status updates conflict instead of overwriting each other
+    @Version
+    @Column(name = "version")
+    private Long version;
+    
     // Business methods demonstrating state management
+    
+    /**
+     * Moves the complaint to the target status if the ComplaintStatus transition table allows it;
+     * resolving or rejecting records the notes and who made the decision
+     */
+    public void transitionTo(ComplaintStatus target, String notes, String decidedBy) {
+        if (!this.status.canTransitionTo(target)) {
+            throw new IllegalStateException("Cannot move complaint from " + this.status.name() + " to " + target.name());
+        }
+        this.status = target;
+        if (target == ComplaintStatus.RESOLVED || target == ComplaintStatus.REJECTED) {
+            this.resolutionNotes = notes;
+            this.resolvedBy = decidedBy;
+        }
+    }
+    
     public void markInProgress() {
-        this.status = ComplaintStatus.IN_PROGRESS;
+        transitionTo(ComplaintStatus.IN_PROGRESS, null, null);
     }
     
     public void resolve(String notes, String resolvedBy) {
-        this.status = ComplaintStatus.RESOLVED;
-        this.resolutionNotes = notes;
-        this.resolvedBy = resolvedBy;
+        transitionTo(ComplaintStatus.RESOLVED, notes, resolvedBy);
     }
     
     public void close() {
-        if (this.status == ComplaintStatus.RESOLVED) {
-            this.status = ComplaintStatus.CLOSED;
-        } else {
-            throw new IllegalStateException("Cannot close complaint that is not resolved");
-        }
+        transitionTo(ComplaintStatus.CLOSED, null, null);
     }
     
     public boolean canBeResolved() {
-        return this.status == ComplaintStatus.SUBMITTED || this.status == ComplaintStatus.IN_PROGRESS;
+        return this.status.canTransitionTo(ComplaintStatus.RESOLVED);
     }
     
     public boolean isOpen() {
@@ -1,8 +1,17 @@
 package com.hostel.mess.model;
 
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
+
 /**
  * Enum representing complaint status lifecycle
  * Demonstrates state management and workflow
+ * 
+ * Allowed transitions are precomputed once into EnumMap tables, in both directions,
+ * so checking a transition or finding the statuses that may reach a target is a lookup.
  */
 public enum ComplaintStatus {
     SUBMITTED("Submitted"),
@@ -11,6 +20,27 @@ public enum ComplaintStatus {
     CLOSED("Closed"),
     REJECTED("Rejected");
     
+    private static final Map<ComplaintStatus, Set<ComplaintStatus>> TRANSITIONS = new EnumMap<>(ComplaintStatus.class);
+    private static final Map<ComplaintStatus, Set<ComplaintStatus>> SOURCES = new EnumMap<>(ComplaintStatus.class);
+    
+    static {
+        allow(SUBMITTED, IN_PROGRESS, RESOLVED, REJECTED);
+        allow(IN_PROGRESS, RESOLVED, REJECTED);
+        allow(RESOLVED, CLOSED);
+        allow(CLOSED);
+        allow(REJECTED);
+        
+        for (ComplaintStatus target : values()) {
+            Set<ComplaintStatus> sources = EnumSet.noneOf(ComplaintStatus.class);
+            TRANSITIONS.forEach((source, targets) -> {
+                if (targets.contains(target)) {
+                    sources.add(source);
+                }
+            });
+            SOURCES.put(target, Collections.unmodifiableSet(sources));
+        }
+    }
+    
     private final String displayName;
     
     ComplaintStatus(String displayName) {
@@ -29,6 +59,27 @@ public enum ComplaintStatus {
         return this == CLOSED || this == REJECTED;
     }
     
+    public boolean canTransitionTo(ComplaintStatus target) {
+        return TRANSITIONS.get(this).contains(target);
+    }
+    
+    public Set<ComplaintStatus> getAllowedTransitions() {
+        return TRANSITIONS.get(this);
+    }
+    
+    /**
+     * Returns the statuses a complaint may be in to move to this one
+     */
+    public Set<ComplaintStatus> getAllowedSources() {
+        return SOURCES.get(this);
+    }
+    
+    private static void allow(ComplaintStatus source, ComplaintStatus... targets) {
+        Set<ComplaintStatus> allowed = EnumSet.noneOf(ComplaintStatus.class);
+        Collections.addAll(allowed, targets);
+        TRANSITIONS.put(source, Collections.unmodifiableSet(allowed));
+    }
+    
     @Override
     public String toString() {
         return displayName;
@@ -12,7 +12,15 @@ import lombok.EqualsAndHashCode;
  * Demonstrates association and encapsulation
  */
 @Entity
-@Table(name = "feedbacks")
+@Table(name = "feedbacks", uniqueConstraints = {
+        @UniqueConstraint(name = Feedback.STUDENT_MENU_CONSTRAINT, columnNames = {"student_id", "menu_id"})
+}, indexes = {
+        @Index(name = "idx_feedbacks_created_id", columnList = "created_at, id"),
+        // Newest-first pages: H2 only reads an index in order when its direction matches the ORDER BY
+        @Index(name = "idx_feedbacks_created_desc", columnList = "created_at DESC, id DESC"),
+        @Index(name = "idx_feedbacks_menu_created", columnList = "menu_id, created_at"),
+        @Index(name = "idx_feedbacks_student_created", columnList = "student_id, created_at")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -20,6 +28,9 @@ import lombok.EqualsAndHashCode;
 @EqualsAndHashCode(callSuper = true)
 public class Feedback extends BaseEntity {
     
+    // One feedback per student per menu
+    public static final String STUDENT_MENU_CONSTRAINT = "uk_feedback_student_menu";
+    
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "student_id", nullable = false)
     private Student student;
@@ -8,6 +8,7 @@ import lombok.Builder;
 import lombok.EqualsAndHashCode;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -15,7 +16,10 @@ import java.util.List;
  * Demonstrates composition and encapsulation
  */
 @Entity
-@Table(name = "menus")
+@Table(name = "menus", indexes = {
+        @Index(name = "idx_menus_date_id", columnList = "menu_date, id"),
+        @Index(name = "idx_menus_date_meal_active", columnList = "menu_date, meal_type, is_active")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -31,7 +35,8 @@ public class Menu extends BaseEntity {
     private MealType mealType;
     
     @OneToMany(mappedBy = "menu", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
-    private List<MenuItem> menuItems;
+    @Builder.Default
+    private List<MenuItem> menuItems = new ArrayList<>();
     
     @Column(name = "is_active")
     @Builder.Default
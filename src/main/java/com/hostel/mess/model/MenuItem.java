@@ -6,6 +6,7 @@ import lombok.NoArgsConstructor;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.EqualsAndHashCode;
+import lombok.ToString;
 
 import java.math.BigDecimal;
 
@@ -39,8 +40,11 @@ public class MenuItem extends BaseEntity {
     @Column(name = "price", precision = 10, scale = 2)
     private BigDecimal price;
     
+    // Excluded to break the Menu <-> MenuItem cycle in equals/hashCode/toString
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "menu_id")
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     private Menu menu;
     
     // Business methods
@@ -0,0 +1,38 @@
+package com.hostel.mess.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+
+/**
+ * Incrementally maintained rating totals for one menu and FeedbackType
+ * Lets rating statistics be read without scanning the feedbacks table
+ */
+@Entity
+@Table(name = "menu_rating_aggregates", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_menu_rating_aggregate", columnNames = {"menu_id", "feedback_type"})
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@EqualsAndHashCode(callSuper = true)
+public class MenuRatingAggregate extends BaseEntity {
+    
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "menu_id", nullable = false)
+    @ToString.Exclude
+    private Menu menu;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(name = "feedback_type", nullable = false)
+    private FeedbackType feedbackType;
+    
+    @Embedded
+    @Builder.Default
+    private RatingTally tally = new RatingTally();
+}
@@ -3,6 +3,8 @@ package com.hostel.mess.model;
 /**
  * Enum representing priority levels
  * Demonstrates prioritization and urgency classification
+ * 
+ * Declared from lowest to highest urgency; triage ordering relies on it
  */
 public enum Priority {
     LOW("Low"),
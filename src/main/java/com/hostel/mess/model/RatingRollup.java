@@ -0,0 +1,49 @@
+package com.hostel.mess.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.EqualsAndHashCode;
+
+import java.time.LocalDate;
+
+/**
+ * Rating totals for one time bucket, MealType and FeedbackType
+ * Daily buckets are updated on submission; weekly and monthly buckets are compacted from them
+ */
+@Entity
+@Table(name = "rating_rollups", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_rating_rollup",
+                columnNames = {"rollup_level", "bucket_start", "meal_type", "feedback_type"})
+}, indexes = {
+        @Index(name = "idx_rating_rollups_level_meal_start", columnList = "rollup_level, meal_type, bucket_start")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@EqualsAndHashCode(callSuper = true)
+public class RatingRollup extends BaseEntity {
+    
+    @Enumerated(EnumType.STRING)
+    @Column(name = "rollup_level", nullable = false)
+    private RollupLevel level;
+    
+    // Menu date the bucket starts on: the day itself, the Monday of the week or the first of the month
+    @Column(name = "bucket_start", nullable = false)
+    private LocalDate bucketStart;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(name = "meal_type", nullable = false)
+    private MealType mealType;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(name = "feedback_type", nullable = false)
+    private FeedbackType feedbackType;
+    
+    @Embedded
+    @Builder.Default
+    private RatingTally tally = new RatingTally();
+}
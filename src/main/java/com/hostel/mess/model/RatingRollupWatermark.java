@@ -0,0 +1,28 @@
+package com.hostel.mess.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.EqualsAndHashCode;
+
+import java.time.LocalDate;
+
+/**
+ * The day rating rollup compaction last ran through; a single row
+ * Kept next to the buckets so a restart knows which days are already folded in
+ */
+@Entity
+@Table(name = "rating_rollup_watermarks")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@EqualsAndHashCode(callSuper = true)
+public class RatingRollupWatermark extends BaseEntity {
+    
+    // Days before this date are folded into the weekly and monthly buckets
+    @Column(name = "compacted_through", nullable = false)
+    private LocalDate compactedThrough;
+}
@@ -0,0 +1,100 @@
+package com.hostel.mess.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Embeddable running tally of ratings: count, sum and a 1-5 star histogram
+ * Demonstrates composition of reusable value objects
+ */
+@Embeddable
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RatingTally {
+    
+    @Column(name = "feedback_count", nullable = false)
+    @Builder.Default
+    private Long feedbackCount = 0L;
+    
+    @Column(name = "rating_sum", nullable = false)
+    @Builder.Default
+    private Long ratingSum = 0L;
+    
+    @Column(name = "one_star_count", nullable = false)
+    @Builder.Default
+    private Long oneStarCount = 0L;
+    
+    @Column(name = "two_star_count", nullable = false)
+    @Builder.Default
+    private Long twoStarCount = 0L;
+    
+    @Column(name = "three_star_count", nullable = false)
+    @Builder.Default
+    private Long threeStarCount = 0L;
+    
+    @Column(name = "four_star_count", nullable = false)
+    @Builder.Default
+    private Long fourStarCount = 0L;
+    
+    @Column(name = "five_star_count", nullable = false)
+    @Builder.Default
+    private Long fiveStarCount = 0L;
+    
+    // Business methods
+    public void record(int rating, long count) {
+        switch (rating) {
+            case 1:
+                oneStarCount += count;
+                break;
+            case 2:
+                twoStarCount += count;
+                break;
+            case 3:
+                threeStarCount += count;
+                break;
+            case 4:
+                fourStarCount += count;
+                break;
+            case 5:
+                fiveStarCount += count;
+                break;
+            default:
+                throw new IllegalArgumentException("Rating must be between 1 and 5");
+        }
+        feedbackCount += count;
+        ratingSum += rating * count;
+    }
+    
+    public void merge(RatingTally other) {
+        feedbackCount += other.feedbackCount;
+        ratingSum += other.ratingSum;
+        oneStarCount += other.oneStarCount;
+        twoStarCount += other.twoStarCount;
+        threeStarCount += other.threeStarCount;
+        fourStarCount += other.fourStarCount;
+        fiveStarCount += other.fiveStarCount;
+    }
+    
+    public Double getAverageRating() {
+        return feedbackCount > 0 ? (double) ratingSum / feedbackCount : null;
+    }
+    
+    public Map<Integer, Long> getHistogram() {
+        Map<Integer, Long> histogram = new LinkedHashMap<>();
+        histogram.put(1, oneStarCount);
+        histogram.put(2, twoStarCount);
+        histogram.put(3, threeStarCount);
+        histogram.put(4, fourStarCount);
+        histogram.put(5, fiveStarCount);
+        return histogram;
+    }
+}
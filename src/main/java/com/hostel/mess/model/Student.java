@@ -12,7 +12,9 @@ import lombok.EqualsAndHashCode;
  * Demonstrates encapsulation and data modeling
  */
 @Entity
-@Table(name = "students")
+@Table(name = "students", indexes = {
+        @Index(name = "idx_students_active_created_id", columnList = "is_active, created_at, id")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
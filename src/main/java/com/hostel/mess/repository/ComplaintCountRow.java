@@ -0,0 +1,19 @@
+package com.hostel.mess.repository;
+
+import com.hostel.mess.model.ComplaintCategory;
+import com.hostel.mess.model.ComplaintStatus;
+import com.hostel.mess.model.Priority;
+
+/**
+ * Projection of the complaint count for one status, priority and category
+ */
+public interface ComplaintCountRow {
+    
+    ComplaintStatus getStatus();
+    
+    Priority getPriority();
+    
+    ComplaintCategory getCategory();
+    
+    Long getComplaintCount();
+}
@@ -0,0 +1,22 @@
+package com.hostel.mess.repository;
+
+import com.hostel.mess.model.ComplaintCategory;
+import com.hostel.mess.model.Priority;
+
+import java.time.LocalDateTime;
+
+/**
+ * Projection of the fields that place a waiting complaint's escalation deadline
+ */
+public interface ComplaintEscalationKey {
+    
+    Long getId();
+    
+    Priority getPriority();
+    
+    ComplaintCategory getCategory();
+    
+    LocalDateTime getCreatedAt();
+    
+    LocalDateTime getLastEscalatedAt();
+}
@@ -5,12 +5,23 @@ import com.hostel.mess.model.ComplaintStatus;
 import com.hostel.mess.model.ComplaintCategory;
 import com.hostel.mess.model.Priority;
 import com.hostel.mess.model.Student;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * Repository interface for Complaint entity
@@ -19,6 +30,14 @@ import java.util.List;
 @Repository
 public interface ComplaintRepository extends JpaRepository<Complaint, Long> {
     
+    // Selects exactly the ComplaintDto columns in one query, without loading the student
+    String COMPLAINT_ROW = "SELECT new com.hostel.mess.repository.ComplaintRow(c.id, s.id, s.name, c.title, " +
+            "c.description, c.category, c.status, c.priority, c.resolutionNotes, c.resolvedBy, " +
+            "c.createdAt, c.updatedAt, c.lastEscalatedAt, c.slaBreachedAt, c.version) FROM Complaint c JOIN c.student s ";
+    
+    // Priority is stored as a string, so sorting the column would be alphabetical
+    String PRIORITY_RANK = "CASE c.priority WHEN 'URGENT' THEN 0 WHEN 'HIGH' THEN 1 WHEN 'MEDIUM' THEN 2 ELSE 3 END";
+    
     List<Complaint> findByStudent(Student student);
     
     List<Complaint> findByStatus(ComplaintStatus status);
@@ -27,7 +46,8 @@ public interface ComplaintRepository extends JpaRepository<Complaint, Long> {
     
     List<Complaint> findByPriority(Priority priority);
     
-    @Query("SELECT c FROM Complaint c WHERE c.status IN ('SUBMITTED', 'IN_PROGRESS') ORDER BY c.priority DESC, c.createdAt ASC")
+    @Query("SELECT c FROM Complaint c WHERE c.status IN ('SUBMITTED', 'IN_PROGRESS') " +
+           "ORDER BY " + PRIORITY_RANK + ", c.createdAt ASC")
     List<Complaint> findOpenComplaintsOrderByPriorityAndDate();
     
     @Query("SELECT c FROM Complaint c WHERE c.student = :student ORDER BY c.createdAt DESC")
@@ -39,5 +59,114 @@ public interface ComplaintRepository extends JpaRepository<Complaint, Long> {
     @Query("SELECT COUNT(c) FROM Complaint c WHERE c.priority = 'URGENT' AND c.status IN ('SUBMITTED', 'IN_PROGRESS')")
     Long countUrgentOpenComplaints();
     
-    List<Complaint> findByStatusInOrderByPriorityDescCreatedAtAsc(List<ComplaintStatus> statuses);
+    @Query("SELECT c FROM Complaint c WHERE c.status IN :statuses ORDER BY " + PRIORITY_RANK + ", c.createdAt ASC")
+    List<Complaint> findByStatusInOrderByPriorityDescCreatedAtAsc(@Param("statuses") List<ComplaintStatus> statuses);
+    
+    // Keyset pagination on (created_at, id), newest first; the bare <= gives the index a range start
+    @Query(COMPLAINT_ROW + "ORDER BY c.createdAt DESC, c.id DESC")
+    List<ComplaintRow> findLatest(Pageable pageable);
+    
+    @Query(COMPLAINT_ROW + "WHERE c.createdAt <= :createdAt AND (c.createdAt < :createdAt OR c.id < :id) " +
+           "ORDER BY c.createdAt DESC, c.id DESC")
+    List<ComplaintRow> findLatestBefore(@Param("createdAt") LocalDateTime createdAt,
+                                        @Param("id") Long id,
+                                        Pageable pageable);
+    
+    @Query(COMPLAINT_ROW + "WHERE c.id = :id")
+    Optional<ComplaintRow> findRowById(@Param("id") Long id);
+    
+    @Query(COMPLAINT_ROW + "WHERE s.id = :studentId ORDER BY c.createdAt DESC")
+    List<ComplaintRow> findRowsByStudentId(@Param("studentId") Long studentId);
+    
+    @Query(COMPLAINT_ROW + "WHERE c.status IN :statuses ORDER BY " + PRIORITY_RANK + ", c.createdAt ASC, c.id ASC")
+    List<ComplaintRow> findRowsByStatusIn(@Param("statuses") Collection<ComplaintStatus> statuses);
+    
+    @Query(COMPLAINT_ROW + "WHERE c.id IN :ids")
+    List<ComplaintRow> findRowsByIdIn(@Param("ids") Collection<Long> ids);
+    
+    @Query("SELECT c.id AS id, c.priority AS priority, c.createdAt AS createdAt FROM Complaint c " +
+           "WHERE c.status IN ('SUBMITTED', 'IN_PROGRESS')")
+    List<ComplaintTriageKey> findOpenTriageKeys();
+    
+    // Complaints still waiting in SUBMITTED whose deadline has not been breached yet
+    @Query("SELECT c.id AS id, c.priority AS priority, c.category AS category, c.createdAt AS createdAt, " +
+           "c.lastEscalatedAt AS lastEscalatedAt FROM Complaint c " +
+           "WHERE c.status = 'SUBMITTED' AND c.slaBreachedAt IS NULL")
+    List<ComplaintEscalationKey> findEscalationKeys();
+    
+    // Locks the rows, in id order, until the caller's transaction ends
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT c.id AS id, c.priority AS priority, c.category AS category, c.createdAt AS createdAt, " +
+           "c.lastEscalatedAt AS lastEscalatedAt FROM Complaint c " +
+           "WHERE c.id IN :ids AND c.status = 'SUBMITTED' AND c.slaBreachedAt IS NULL ORDER BY c.id")
+    List<ComplaintEscalationKey> findEscalationKeysByIdIn(@Param("ids") Collection<Long> ids);
+    
+    // Guarded on the current priority and status so a concurrent transition wins over the escalation;
+    // bulk updates bypass @Version, so they bump it themselves
+    @Modifying
+    @Query("UPDATE Complaint c SET c.priority = :to, c.lastEscalatedAt = :now, c.updatedAt = :now, " +
+           "c.version = c.version + 1 " +
+           "WHERE c.id IN :ids AND c.priority = :from AND c.status = 'SUBMITTED'")
+    int escalatePriority(@Param("ids") Collection<Long> ids,
+                         @Param("from") Priority from,
+                         @Param("to") Priority to,
+                         @Param("now") LocalDateTime now);
+
+    
+    @Modifying
+    @Query("UPDATE Complaint c SET c.slaBreachedAt = :now, c.updatedAt = :now, c.version = c.version + 1 " +
+           "WHERE c.id IN :ids AND c.status = 'SUBMITTED' AND c.slaBreachedAt IS NULL")
+    int markSlaBreached(@Param("ids") Collection<Long> ids, @Param("now") LocalDateTime now);
+    
+    // Locks the rows, in id order, until the caller's transaction ends, so set-based transitions
+    // guarded on the status read here change exactly these complaints
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT c.id AS id, c.status AS status, c.priority AS priority, c.category AS category, " +
+           "c.createdAt AS createdAt FROM Complaint c WHERE c.id IN :ids ORDER BY c.id")
+    List<ComplaintStatusKey> findStatusKeysByIdIn(@Param("ids") Collection<Long> ids);
+    
+    @Query("SELECT c.id FROM Complaint c WHERE c.status = :status " +
+           "AND (:from IS NULL OR c.updatedAt >= :from) AND (:to IS NULL OR c.updatedAt < :to) " +
+           "ORDER BY c.id")
+    List<Long> findIdsByStatusAndUpdatedAt(@Param("status") ComplaintStatus status,
+                                           @Param("from") LocalDateTime from,
+                                           @Param("to") LocalDateTime to,
+                                           Pageable pageable);
+    
+    // Set-based transitions for one (from, to) pair, guarded on the source status
+    @Modifying
+    @Query("UPDATE Complaint c SET c.status = :to, c.updatedAt = :now, c.version = c.version + 1 " +
+           "WHERE c.id IN :ids AND c.status = :from")
+    int transitionStatus(@Param("ids") Collection<Long> ids,
+                         @Param("from") ComplaintStatus from,
+                         @Param("to") ComplaintStatus to,
+                         @Param("now") LocalDateTime now);
+    
+    @Modifying
+    @Query("UPDATE Complaint c SET c.status = :to, c.resolutionNotes = :notes, c.resolvedBy = :resolvedBy, " +
+           "c.updatedAt = :now, c.version = c.version + 1 WHERE c.id IN :ids AND c.status = :from")
+    int transitionStatusWithDecision(@Param("ids") Collection<Long> ids,
+                                     @Param("from") ComplaintStatus from,
+                                     @Param("to") ComplaintStatus to,
+                                     @Param("notes") String notes,
+                                     @Param("resolvedBy") String resolvedBy,
+                                     @Param("now") LocalDateTime now);
+
+    
+    @Query("SELECT c.status AS status, c.priority AS priority, c.category AS category, " +
+           "COUNT(c) AS complaintCount FROM Complaint c GROUP BY c.status, c.priority, c.category")
+    List<ComplaintCountRow> countByStatusPriorityAndCategory();
+    
+    // Export cursor: must be consumed inside a transaction and closed
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query(COMPLAINT_ROW + "WHERE (:from IS NULL OR c.createdAt >= :from) AND (:to IS NULL OR c.createdAt < :to) " +
+           "AND (:status IS NULL OR c.status = :status) " +
+           "AND (:category IS NULL OR c.category = :category) " +
+           "AND (:priority IS NULL OR c.priority = :priority) " +
+           "ORDER BY c.createdAt, c.id")
+    Stream<ComplaintRow> streamForExport(@Param("from") LocalDateTime from,
+                                         @Param("to") LocalDateTime to,
+                                         @Param("status") ComplaintStatus status,
+                                         @Param("category") ComplaintCategory category,
+                                         @Param("priority") Priority priority);
 }
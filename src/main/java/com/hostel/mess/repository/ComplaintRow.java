@@ -0,0 +1,34 @@
+package com.hostel.mess.repository;
+
+import com.hostel.mess.model.ComplaintCategory;
+import com.hostel.mess.model.ComplaintStatus;
+import com.hostel.mess.model.Priority;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+/**
+ * Flat, unmanaged complaint row selected with a constructor expression
+ * Carries the student columns so the student association is never loaded
+ */
+@Getter
+@AllArgsConstructor
+public class ComplaintRow {
+    
+    private final Long id;
+    private final Long studentId;
+    private final String studentName;
+    private final String title;
+    private final String description;
+    private final ComplaintCategory category;
+    private final ComplaintStatus status;
+    private final Priority priority;
+    private final String resolutionNotes;
+    private final String resolvedBy;
+    private final LocalDateTime createdAt;
+    private final LocalDateTime updatedAt;
+    private final LocalDateTime lastEscalatedAt;
+    private final LocalDateTime slaBreachedAt;
+    private final Long version;
+}
@@ -0,0 +1,14 @@
+package com.hostel.mess.repository;
+
+import com.hostel.mess.model.ComplaintCategory;
+import com.hostel.mess.model.ComplaintStatus;
+
+/**
+ * Projection of a complaint's status together with its triage ordering and counter fields
+ */
+public interface ComplaintStatusKey extends ComplaintTriageKey {
+    
+    ComplaintStatus getStatus();
+    
+    ComplaintCategory getCategory();
+}
@@ -0,0 +1,17 @@
+package com.hostel.mess.repository;
+
+import com.hostel.mess.model.Priority;
+
+import java.time.LocalDateTime;
+
+/**
+ * Projection of the fields that order an open complaint for triage
+ */
+public interface ComplaintTriageKey {
+    
+    Long getId();
+    
+    Priority getPriority();
+    
+    LocalDateTime getCreatedAt();
+}
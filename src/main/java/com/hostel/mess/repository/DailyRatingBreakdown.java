@@ -0,0 +1,22 @@
+package com.hostel.mess.repository;
+
+import com.hostel.mess.model.FeedbackType;
+import com.hostel.mess.model.MealType;
+
+import java.time.LocalDate;
+
+/**
+ * Projection of feedback counts per menu date, MealType, FeedbackType and rating
+ */
+public interface DailyRatingBreakdown {
+    
+    LocalDate getMenuDate();
+    
+    MealType getMealType();
+    
+    FeedbackType getFeedbackType();
+    
+    Integer getRating();
+    
+    Long getFeedbackCount();
+}
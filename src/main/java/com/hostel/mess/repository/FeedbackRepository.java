@@ -3,12 +3,22 @@ package com.hostel.mess.repository;
 import com.hostel.mess.model.Feedback;
 import com.hostel.mess.model.Student;
 import com.hostel.mess.model.Menu;
+import com.hostel.mess.model.MealType;
+import com.hostel.mess.model.FeedbackType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 /**
  * Repository interface for Feedback entity
@@ -17,6 +27,11 @@ import java.util.List;
 @Repository
 public interface FeedbackRepository extends JpaRepository<Feedback, Long> {
     
+    // Selects exactly the FeedbackDto columns in one query, without loading student or menu
+    String FEEDBACK_ROW = "SELECT new com.hostel.mess.repository.FeedbackRow(f.id, s.id, s.name, m.id, " +
+            "m.menuDate, m.mealType, f.rating, f.comments, f.feedbackType, f.createdAt) " +
+            "FROM Feedback f JOIN f.student s JOIN f.menu m ";
+    
     List<Feedback> findByStudent(Student student);
     
     List<Feedback> findByMenu(Menu menu);
@@ -35,6 +50,62 @@ public interface FeedbackRepository extends JpaRepository<Feedback, Long> {
     @Query("SELECT f FROM Feedback f WHERE f.rating >= 4 ORDER BY f.createdAt DESC")
     List<Feedback> findPositiveFeedback();
     
+    // Keyset pagination on (created_at, id), newest first; the bare <= gives the index a range start
+    @Query(FEEDBACK_ROW + "WHERE f.rating <= 2 ORDER BY f.createdAt DESC, f.id DESC")
+    List<FeedbackRow> findNegativeFeedback(Pageable pageable);
+    
+    @Query(FEEDBACK_ROW + "WHERE f.rating <= 2 " +
+           "AND f.createdAt <= :createdAt AND (f.createdAt < :createdAt OR f.id < :id) " +
+           "ORDER BY f.createdAt DESC, f.id DESC")
+    List<FeedbackRow> findNegativeFeedbackBefore(@Param("createdAt") LocalDateTime createdAt,
+                                                 @Param("id") Long id,
+                                                 Pageable pageable);
+    
+    @Query(FEEDBACK_ROW + "WHERE f.rating >= 4 ORDER BY f.createdAt DESC, f.id DESC")
+    List<FeedbackRow> findPositiveFeedback(Pageable pageable);
+    
+    @Query(FEEDBACK_ROW + "WHERE f.rating >= 4 " +
+           "AND f.createdAt <= :createdAt AND (f.createdAt < :createdAt OR f.id < :id) " +
+           "ORDER BY f.createdAt DESC, f.id DESC")
+    List<FeedbackRow> findPositiveFeedbackBefore(@Param("createdAt") LocalDateTime createdAt,
+                                                 @Param("id") Long id,
+                                                 Pageable pageable);
+    
+    @Query(FEEDBACK_ROW + "WHERE m.id = :menuId ORDER BY f.createdAt DESC, f.id DESC")
+    List<FeedbackRow> findRowsByMenuId(@Param("menuId") Long menuId);
+    
+    @Query(FEEDBACK_ROW + "WHERE s.id = :studentId ORDER BY f.createdAt DESC, f.id DESC")
+    List<FeedbackRow> findRowsByStudentId(@Param("studentId") Long studentId);
+    
     @Query("SELECT COUNT(f) FROM Feedback f WHERE f.menu = :menu")
     Long countFeedbackForMenu(@Param("menu") Menu menu);
+    
+    @Query("SELECT f.menu.id AS menuId, f.feedbackType AS feedbackType, f.rating AS rating, " +
+           "COUNT(f) AS feedbackCount FROM Feedback f GROUP BY f.menu.id, f.feedbackType, f.rating")
+    List<RatingBreakdown> getRatingBreakdown();
+    
+    @Query("SELECT f.menu.menuDate AS menuDate, f.menu.mealType AS mealType, f.feedbackType AS feedbackType, " +
+           "f.rating AS rating, COUNT(f) AS feedbackCount FROM Feedback f " +
+           "GROUP BY f.menu.menuDate, f.menu.mealType, f.feedbackType, f.rating")
+    List<DailyRatingBreakdown> getDailyRatingBreakdown();
+    
+    @Query("SELECT f.student.id AS studentId, f.menu.id AS menuId FROM Feedback f " +
+           "WHERE f.student.id IN :studentIds AND f.menu.id IN :menuIds")
+    List<StudentMenuPair> findStudentMenuPairs(@Param("studentIds") Collection<Long> studentIds,
+                                               @Param("menuIds") Collection<Long> menuIds);
+    
+    // Export cursor: must be consumed inside a transaction and closed
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query(FEEDBACK_ROW + "WHERE (:from IS NULL OR f.createdAt >= :from) AND (:to IS NULL OR f.createdAt < :to) " +
+           "AND (:menuId IS NULL OR m.id = :menuId) " +
+           "AND (:feedbackType IS NULL OR f.feedbackType = :feedbackType) " +
+           "AND (:minRating IS NULL OR f.rating >= :minRating) " +
+           "AND (:maxRating IS NULL OR f.rating <= :maxRating) " +
+           "ORDER BY f.createdAt, f.id")
+    Stream<FeedbackRow> streamForExport(@Param("from") LocalDateTime from,
+                                        @Param("to") LocalDateTime to,
+                                        @Param("menuId") Long menuId,
+                                        @Param("feedbackType") FeedbackType feedbackType,
+                                        @Param("minRating") Integer minRating,
+                                        @Param("maxRating") Integer maxRating);
 }
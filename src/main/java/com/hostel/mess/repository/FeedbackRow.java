@@ -0,0 +1,29 @@
+package com.hostel.mess.repository;
+
+import com.hostel.mess.model.FeedbackType;
+import com.hostel.mess.model.MealType;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Flat, unmanaged feedback row selected with a constructor expression
+ * Carries the student and menu columns so no association is loaded
+ */
+@Getter
+@AllArgsConstructor
+public class FeedbackRow {
+    
+    private final Long id;
+    private final Long studentId;
+    private final String studentName;
+    private final Long menuId;
+    private final LocalDate menuDate;
+    private final MealType mealType;
+    private final Integer rating;
+    private final String comments;
+    private final FeedbackType feedbackType;
+    private final LocalDateTime createdAt;
+}
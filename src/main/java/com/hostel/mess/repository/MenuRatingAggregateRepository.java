@@ -0,0 +1,58 @@
+package com.hostel.mess.repository;
+
+import com.hostel.mess.model.FeedbackType;
+import com.hostel.mess.model.MenuRatingAggregate;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Repository interface for MenuRatingAggregate entity
+ * Increments are single atomic UPDATE statements so concurrent submissions never lose counts
+ */
+@Repository
+public interface MenuRatingAggregateRepository extends JpaRepository<MenuRatingAggregate, Long> {
+    
+    @Query("SELECT a FROM MenuRatingAggregate a WHERE a.menu.id = :menuId")
+    List<MenuRatingAggregate> findByMenuId(@Param("menuId") Long menuId);
+    
+    @Modifying
+    @Query("UPDATE MenuRatingAggregate a SET " +
+           "a.tally.feedbackCount = a.tally.feedbackCount + :count, " +
+           "a.tally.ratingSum = a.tally.ratingSum + :rating * :count, " +
+           "a.tally.oneStarCount = a.tally.oneStarCount + CASE WHEN :rating = 1L THEN :count ELSE 0L END, " +
+           "a.tally.twoStarCount = a.tally.twoStarCount + CASE WHEN :rating = 2L THEN :count ELSE 0L END, " +
+           "a.tally.threeStarCount = a.tally.threeStarCount + CASE WHEN :rating = 3L THEN :count ELSE 0L END, " +
+           "a.tally.fourStarCount = a.tally.fourStarCount + CASE WHEN :rating = 4L THEN :count ELSE 0L END, " +
+           "a.tally.fiveStarCount = a.tally.fiveStarCount + CASE WHEN :rating = 5L THEN :count ELSE 0L END, " +
+           "a.updatedAt = :now " +
+           "WHERE a.menu.id = :menuId AND a.feedbackType = :feedbackType")
+    int increment(@Param("menuId") Long menuId,
+                  @Param("feedbackType") FeedbackType feedbackType,
+                  @Param("rating") long rating,
+                  @Param("count") long count,
+                  @Param("now") LocalDateTime now);
+    
+    @Query("SELECT a.menu.id AS menuId, " +
+           "1.0 * SUM(a.tally.ratingSum) / NULLIF(SUM(a.tally.feedbackCount), 0) AS averageRating, " +
+           "SUM(a.tally.feedbackCount) AS totalFeedbacks " +
+           "FROM MenuRatingAggregate a WHERE a.menu.id IN :menuIds " +
+           "GROUP BY a.menu.id HAVING SUM(a.tally.feedbackCount) > 0")
+    List<MenuRatingStats> getRatingStatsForMenus(@Param("menuIds") Collection<Long> menuIds);
+    
+    // Sums per-menu histograms, so the cost follows the number of menus rather than feedback rows
+    @Query("SELECT COALESCE(SUM(a.tally.fourStarCount + a.tally.fiveStarCount), 0) AS positiveCount, " +
+           "COALESCE(SUM(a.tally.oneStarCount + a.tally.twoStarCount), 0) AS negativeCount " +
+           "FROM MenuRatingAggregate a")
+    SentimentCounts getSentimentCounts();
+    
+    @Modifying
+    @Query("DELETE FROM MenuRatingAggregate a")
+    int deleteAllAggregates();
+}
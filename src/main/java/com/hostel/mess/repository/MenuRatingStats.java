@@ -0,0 +1,14 @@
+package com.hostel.mess.repository;
+
+/**
+ * Projection carrying aggregated rating statistics for a single menu
+ * Used by grouped queries so a whole menu listing is served in one round-trip
+ */
+public interface MenuRatingStats {
+    
+    Long getMenuId();
+    
+    Double getAverageRating();
+    
+    Long getTotalFeedbacks();
+}
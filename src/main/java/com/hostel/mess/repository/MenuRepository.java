@@ -2,37 +2,77 @@ package com.hostel.mess.repository;
 
 import com.hostel.mess.model.Menu;
 import com.hostel.mess.model.MealType;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 /**
  * Repository interface for Menu entity
  * Demonstrates query methods and custom queries
+ * 
+ * Listing queries fetch menu items through an entity graph so a page of menus
+ * and their items loads in one query instead of one extra SELECT per menu
  */
 @Repository
 public interface MenuRepository extends JpaRepository<Menu, Long> {
     
+    @EntityGraph(attributePaths = "menuItems")
     List<Menu> findByMenuDate(LocalDate menuDate);
     
+    @EntityGraph(attributePaths = "menuItems")
+    List<Menu> findByMenuDateAndIsActiveTrue(LocalDate menuDate);
+    
     List<Menu> findByMenuDateAndMealType(LocalDate menuDate, MealType mealType);
     
+    @EntityGraph(attributePaths = "menuItems")
     Optional<Menu> findByMenuDateAndMealTypeAndIsActiveTrue(LocalDate menuDate, MealType mealType);
     
     List<Menu> findByIsActiveTrueOrderByMenuDateDescMealTypeAsc();
     
+    @EntityGraph(attributePaths = "menuItems")
     @Query("SELECT m FROM Menu m WHERE m.menuDate BETWEEN :startDate AND :endDate AND m.isActive = true")
     List<Menu> findMenusForDateRange(@Param("startDate") LocalDate startDate, 
                                    @Param("endDate") LocalDate endDate);
     
+    @EntityGraph(attributePaths = "menuItems")
     @Query("SELECT m FROM Menu m WHERE m.menuDate = CURRENT_DATE AND m.isActive = true")
     List<Menu> findTodaysMenus();
     
+    @EntityGraph(attributePaths = "menuItems")
     @Query("SELECT m FROM Menu m WHERE m.menuDate >= CURRENT_DATE AND m.isActive = true ORDER BY m.menuDate ASC")
     List<Menu> findUpcomingMenus();
+    
+    // Keyset pagination on (menu_date, id); items are loaded separately so the limit is applied in SQL
+    @Query("SELECT m.id FROM Menu m WHERE m.menuDate >= CURRENT_DATE AND m.isActive = true " +
+           "ORDER BY m.menuDate ASC, m.id ASC")
+    List<Long> findUpcomingMenuIds(Pageable pageable);
+    
+    @Query("SELECT m.id FROM Menu m WHERE m.menuDate >= CURRENT_DATE AND m.isActive = true " +
+           "AND (m.menuDate > :menuDate OR (m.menuDate = :menuDate AND m.id > :id)) " +
+           "ORDER BY m.menuDate ASC, m.id ASC")
+    List<Long> findUpcomingMenuIdsAfter(@Param("menuDate") LocalDate menuDate,
+                                        @Param("id") Long id,
+                                        Pageable pageable);
+    
+    @EntityGraph(attributePaths = "menuItems")
+    List<Menu> findByIdIn(Collection<Long> ids);
+    
+    @Query("SELECT m.menuDate AS menuDate, m.mealType AS mealType FROM Menu m " +
+           "WHERE m.isActive = true AND m.menuDate BETWEEN :startDate AND :endDate")
+    List<MenuSlot> findActiveSlotsForDateRange(@Param("startDate") LocalDate startDate,
+                                               @Param("endDate") LocalDate endDate);
+    
+    @Query("SELECT m.id FROM Menu m")
+    List<Long> findAllIds();
+    
+    @Query("SELECT DISTINCT m.menuDate AS menuDate, m.mealType AS mealType FROM Menu m")
+    List<MenuSlot> findAllSlots();
 }
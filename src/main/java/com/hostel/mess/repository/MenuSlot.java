@@ -0,0 +1,15 @@
+package com.hostel.mess.repository;
+
+import com.hostel.mess.model.MealType;
+
+import java.time.LocalDate;
+
+/**
+ * Projection identifying an occupied (date, meal type) slot in the menu schedule
+ */
+public interface MenuSlot {
+    
+    LocalDate getMenuDate();
+    
+    MealType getMealType();
+}
@@ -0,0 +1,18 @@
+package com.hostel.mess.repository;
+
+import com.hostel.mess.model.FeedbackType;
+
+/**
+ * Projection of raw feedback counts grouped by menu, FeedbackType and rating
+ * Source data for rebuilding the incrementally maintained aggregates
+ */
+public interface RatingBreakdown {
+    
+    Long getMenuId();
+    
+    FeedbackType getFeedbackType();
+    
+    Integer getRating();
+    
+    Long getFeedbackCount();
+}
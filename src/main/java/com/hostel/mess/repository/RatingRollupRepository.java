@@ -0,0 +1,69 @@
+package com.hostel.mess.repository;
+
+import com.hostel.mess.model.FeedbackType;
+import com.hostel.mess.model.MealType;
+import com.hostel.mess.model.RatingRollup;
+import com.hostel.mess.model.RollupLevel;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Repository interface for RatingRollup entity
+ * Increments are single atomic UPDATE statements, like the per-menu aggregates
+ */
+@Repository
+public interface RatingRollupRepository extends JpaRepository<RatingRollup, Long> {
+    
+    @Modifying
+    @Query("UPDATE RatingRollup r SET " +
+           "r.tally.feedbackCount = r.tally.feedbackCount + :count, " +
+           "r.tally.ratingSum = r.tally.ratingSum + :rating * :count, " +
+           "r.tally.oneStarCount = r.tally.oneStarCount + CASE WHEN :rating = 1L THEN :count ELSE 0L END, " +
+           "r.tally.twoStarCount = r.tally.twoStarCount + CASE WHEN :rating = 2L THEN :count ELSE 0L END, " +
+           "r.tally.threeStarCount = r.tally.threeStarCount + CASE WHEN :rating = 3L THEN :count ELSE 0L END, " +
+           "r.tally.fourStarCount = r.tally.fourStarCount + CASE WHEN :rating = 4L THEN :count ELSE 0L END, " +
+           "r.tally.fiveStarCount = r.tally.fiveStarCount + CASE WHEN :rating = 5L THEN :count ELSE 0L END, " +
+           "r.updatedAt = :now " +
+           "WHERE r.level = :level AND r.bucketStart = :bucketStart " +
+           "AND r.mealType = :mealType AND r.feedbackType = :feedbackType")
+    int increment(@Param("level") RollupLevel level,
+                  @Param("bucketStart") LocalDate bucketStart,
+                  @Param("mealType") MealType mealType,
+                  @Param("feedbackType") FeedbackType feedbackType,
+                  @Param("rating") long rating,
+                  @Param("count") long count,
+                  @Param("now") LocalDateTime now);
+    
+    @Query("SELECT r FROM RatingRollup r WHERE r.level = :level " +
+           "AND r.bucketStart >= :from AND r.bucketStart < :to " +
+           "AND (:mealType IS NULL OR r.mealType = :mealType) " +
+           "AND (:feedbackType IS NULL OR r.feedbackType = :feedbackType) " +
+           "ORDER BY r.bucketStart")
+    List<RatingRollup> findBuckets(@Param("level") RollupLevel level,
+                                   @Param("from") LocalDate from,
+                                   @Param("to") LocalDate to,
+                                   @Param("mealType") MealType mealType,
+                                   @Param("feedbackType") FeedbackType feedbackType);
+    
+    @Query("SELECT MIN(r.bucketStart) FROM RatingRollup r WHERE r.level = :level")
+    LocalDate findEarliestBucketStart(@Param("level") RollupLevel level);
+    
+    @Modifying
+    @Query("DELETE FROM RatingRollup r WHERE r.level = :level AND r.bucketStart >= :from")
+    int deleteFrom(@Param("level") RollupLevel level, @Param("from") LocalDate from);
+    
+    @Modifying
+    @Query("DELETE FROM RatingRollup r WHERE r.level = :level AND r.bucketStart < :before")
+    int deleteBefore(@Param("level") RollupLevel level, @Param("before") LocalDate before);
+    
+    @Modifying
+    @Query("DELETE FROM RatingRollup r")
+    int deleteAllRollups();
+}
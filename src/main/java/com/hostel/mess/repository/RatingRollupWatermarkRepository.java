@@ -0,0 +1,16 @@
+package com.hostel.mess.repository;
+
+import com.hostel.mess.model.RatingRollupWatermark;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+/**
+ * Repository interface for the RatingRollupWatermark row
+ */
+@Repository
+public interface RatingRollupWatermarkRepository extends JpaRepository<RatingRollupWatermark, Long> {
+    
+    Optional<RatingRollupWatermark> findFirstByOrderByIdAsc();
+}
@@ -0,0 +1,11 @@
+package com.hostel.mess.repository;
+
+/**
+ * Projection of total positive (4-5 star) and negative (1-2 star) feedback counts
+ */
+public interface SentimentCounts {
+    
+    Long getPositiveCount();
+    
+    Long getNegativeCount();
+}
@@ -0,0 +1,11 @@
+package com.hostel.mess.repository;
+
+/**
+ * Projection of the (student, menu) pair identifying a feedback submission
+ */
+public interface StudentMenuPair {
+    
+    Long getStudentId();
+    
+    Long getMenuId();
+}
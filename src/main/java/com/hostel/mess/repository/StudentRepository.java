@@ -1,11 +1,13 @@
 package com.hostel.mess.repository;
 
 import com.hostel.mess.model.Student;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -22,6 +24,17 @@ public interface StudentRepository extends JpaRepository<Student, Long> {
     
     List<Student> findByIsActiveTrue();
     
+    // Keyset pagination on (created_at, id), oldest first
+    @Query("SELECT s FROM Student s WHERE s.isActive = true ORDER BY s.createdAt ASC, s.id ASC")
+    List<Student> findActiveStudents(Pageable pageable);
+    
+    @Query("SELECT s FROM Student s WHERE s.isActive = true " +
+           "AND (s.createdAt > :createdAt OR (s.createdAt = :createdAt AND s.id > :id)) " +
+           "ORDER BY s.createdAt ASC, s.id ASC")
+    List<Student> findActiveStudentsAfter(@Param("createdAt") LocalDateTime createdAt,
+                                          @Param("id") Long id,
+                                          Pageable pageable);
+    
     List<Student> findByRoomNumber(String roomNumber);
     
     @Query("SELECT s FROM Student s WHERE s.name LIKE %:name%")
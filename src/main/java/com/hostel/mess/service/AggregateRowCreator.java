@@ -0,0 +1,105 @@
+package com.hostel.mess.service;
+
+import com.hostel.mess.model.FeedbackType;
+import com.hostel.mess.model.MealType;
+import com.hostel.mess.model.Menu;
+import com.hostel.mess.model.MenuRatingAggregate;
+import com.hostel.mess.model.RatingRollup;
+import com.hostel.mess.model.RatingTally;
+import com.hostel.mess.model.RollupLevel;
+import com.hostel.mess.repository.MenuRatingAggregateRepository;
+import com.hostel.mess.repository.MenuRepository;
+import com.hostel.mess.repository.RatingRollupRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Creates the empty aggregate and rollup rows that feedback submissions increment,
+ * always in the caller's transaction
+ * 
+ * Rows are created together with their menu, so submissions normally only update.
+ * The create-on-miss methods cover rows that were pruned or predate this; a concurrent
+ * creator losing that race fails its transaction on the unique constraint.
+ */
+@Component
+@RequiredArgsConstructor
+public class AggregateRowCreator {
+    
+    private final MenuRatingAggregateRepository menuRatingAggregateRepository;
+    private final MenuRepository menuRepository;
+    private final RatingRollupRepository ratingRollupRepository;
+    
+    /**
+     * Adds a per-menu aggregate and a daily rollup bucket for every FeedbackType of newly saved menus
+     */
+    public void createForMenus(Collection<Menu> menus) {
+        if (menus.isEmpty()) {
+            return;
+        }
+        
+        List<MenuRatingAggregate> aggregates = new ArrayList<>();
+        for (Menu menu : menus) {
+            for (FeedbackType feedbackType : FeedbackType.values()) {
+                aggregates.add(MenuRatingAggregate.builder()
+                        .menu(menu)
+                        .feedbackType(feedbackType)
+                        .tally(new RatingTally())
+                        .build());
+            }
+        }
+        menuRatingAggregateRepository.saveAll(aggregates);
+        
+        // A slot can already have buckets from an inactive menu, so only missing ones are added
+        LocalDate from = menus.stream().map(Menu::getMenuDate).min(Comparator.naturalOrder()).orElseThrow();
+        LocalDate to = menus.stream().map(Menu::getMenuDate).max(Comparator.naturalOrder()).orElseThrow();
+        Set<String> buckets = new HashSet<>();
+        for (RatingRollup rollup : ratingRollupRepository.findBuckets(RollupLevel.DAY, from, to.plusDays(1), null, null)) {
+            buckets.add(bucketKey(rollup.getBucketStart(), rollup.getMealType(), rollup.getFeedbackType()));
+        }
+        
+        List<RatingRollup> rollups = new ArrayList<>();
+        for (Menu menu : menus) {
+            for (FeedbackType feedbackType : FeedbackType.values()) {
+                if (buckets.add(bucketKey(menu.getMenuDate(), menu.getMealType(), feedbackType))) {
+                    rollups.add(emptyRollup(RollupLevel.DAY, menu.getMenuDate(), menu.getMealType(), feedbackType));
+                }
+            }
+        }
+        ratingRollupRepository.saveAll(rollups);
+    }
+    
+    public void createMenuAggregate(Long menuId, FeedbackType feedbackType) {
+        menuRatingAggregateRepository.saveAndFlush(MenuRatingAggregate.builder()
+                .menu(menuRepository.getReferenceById(menuId))
+                .feedbackType(feedbackType)
+                .tally(new RatingTally())
+                .build());
+    }
+    
+    public void createRollup(RollupLevel level, LocalDate bucketStart, MealType mealType, FeedbackType feedbackType) {
+        ratingRollupRepository.saveAndFlush(emptyRollup(level, bucketStart, mealType, feedbackType));
+    }
+    
+    // Helper methods
+    private RatingRollup emptyRollup(RollupLevel level, LocalDate bucketStart, MealType mealType, FeedbackType feedbackType) {
+        return RatingRollup.builder()
+                .level(level)
+                .bucketStart(bucketStart)
+                .mealType(mealType)
+                .feedbackType(feedbackType)
+                .tally(new RatingTally())
+                .build();
+    }
+    
+    private static String bucketKey(LocalDate bucketStart, MealType mealType, FeedbackType feedbackType) {
+        return bucketStart + "|" + mealType + "|" + feedbackType;
+    }
+}
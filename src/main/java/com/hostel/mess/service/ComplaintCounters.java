@@ -0,0 +1,154 @@
+package com.hostel.mess.service;
+
+import com.hostel.mess.model.ComplaintCategory;
+import com.hostel.mess.model.ComplaintStatus;
+import com.hostel.mess.model.Priority;
+import com.hostel.mess.repository.ComplaintCountRow;
+import com.hostel.mess.repository.ComplaintRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Live complaint counts per (ComplaintStatus, Priority, ComplaintCategory)
+ * 
+ * One LongAdder per cell, moved by writers after commit, so reading a count never
+ * touches the database. A scheduled reconcile compares each cell with a GROUP BY
+ * count and adds the difference; a transition committing while it runs may be off
+ * by one until the next run. Counts report not ready until the first reconcile.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ComplaintCounters {
+    
+    private static final ComplaintStatus[] STATUSES = ComplaintStatus.values();
+    private static final Priority[] PRIORITIES = Priority.values();
+    private static final ComplaintCategory[] CATEGORIES = ComplaintCategory.values();
+    
+    private final ComplaintRepository complaintRepository;
+    
+    private final LongAdder[] cells = newCells();
+    
+    private volatile boolean ready;
+    
+    public void recordSubmitted(ComplaintStatus status, Priority priority, ComplaintCategory category) {
+        cell(status, priority, category).increment();
+    }
+    
+    public void recordTransition(ComplaintStatus from, ComplaintStatus to, Priority priority, ComplaintCategory category) {
+        if (from == to) {
+            return;
+        }
+        cell(from, priority, category).decrement();
+        cell(to, priority, category).increment();
+    }
+    
+    public void recordReprioritized(ComplaintStatus status, Priority from, Priority to, ComplaintCategory category) {
+        if (from == to) {
+            return;
+        }
+        cell(status, from, category).decrement();
+        cell(status, to, category).increment();
+    }
+    
+    /**
+     * Sums the cells in the given statuses and, if priority is not null, of that priority
+     */
+    public long count(List<ComplaintStatus> statuses, Priority priority) {
+        long total = 0;
+        for (ComplaintStatus status : statuses) {
+            for (Priority p : PRIORITIES) {
+                if (priority != null && p != priority) {
+                    continue;
+                }
+                for (ComplaintCategory category : CATEGORIES) {
+                    total += cell(status, p, category).sum();
+                }
+            }
+        }
+        return total;
+    }
+    
+    /**
+     * Returns every cell, including empty ones, nested as status, priority, category
+     */
+    public Map<ComplaintStatus, Map<Priority, Map<ComplaintCategory, Long>>> getMatrix() {
+        Map<ComplaintStatus, Map<Priority, Map<ComplaintCategory, Long>>> matrix = new EnumMap<>(ComplaintStatus.class);
+        for (ComplaintStatus status : STATUSES) {
+            Map<Priority, Map<ComplaintCategory, Long>> byPriority = new EnumMap<>(Priority.class);
+            for (Priority priority : PRIORITIES) {
+                Map<ComplaintCategory, Long> byCategory = new EnumMap<>(ComplaintCategory.class);
+                for (ComplaintCategory category : CATEGORIES) {
+                    byCategory.put(category, cell(status, priority, category).sum());
+                }
+                byPriority.put(priority, byCategory);
+            }
+            matrix.put(status, byPriority);
+        }
+        return matrix;
+    }
+    
+    public boolean isReady() {
+        return ready;
+    }
+    
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${mess.complaints.counter-reconcile-interval-ms:300000}",
+            initialDelayString = "${mess.complaints.counter-reconcile-interval-ms:300000}")
+    @Transactional(readOnly = true)
+    public synchronized void reconcile() {
+        long[] before = new long[cells.length];
+        for (int i = 0; i < cells.length; i++) {
+            before[i] = cells[i].sum();
+        }
+        
+        long[] actual = new long[cells.length];
+        for (ComplaintCountRow row : complaintRepository.countByStatusPriorityAndCategory()) {
+            actual[index(row.getStatus(), row.getPriority(), row.getCategory())] += row.getComplaintCount();
+        }
+        
+        // Adding the difference keeps increments made during the query
+        long drift = 0;
+        for (int i = 0; i < cells.length; i++) {
+            long difference = actual[i] - before[i];
+            if (difference != 0) {
+                cells[i].add(difference);
+                drift += Math.abs(difference);
+            }
+        }
+        
+        if (ready && drift > 0) {
+            log.warn("Complaint counters drifted by {} from the database and were corrected", drift);
+        }
+        ready = true;
+    }
+    
+    // Helper methods
+    private LongAdder cell(ComplaintStatus status, Priority priority, ComplaintCategory category) {
+        return cells[index(status, priority, category)];
+    }
+    
+    private static int index(ComplaintStatus status, Priority priority, ComplaintCategory category) {
+        Priority p = priority != null ? priority : Priority.MEDIUM;
+        ComplaintCategory c = category != null ? category : ComplaintCategory.GENERAL;
+        return (status.ordinal() * PRIORITIES.length + p.ordinal()) * CATEGORIES.length + c.ordinal();
+    }
+    
+    private static LongAdder[] newCells() {
+        LongAdder[] cells = new LongAdder[STATUSES.length * PRIORITIES.length * CATEGORIES.length];
+        for (int i = 0; i < cells.length; i++) {
+            cells[i] = new LongAdder();
+        }
+        return cells;
+    }
+}
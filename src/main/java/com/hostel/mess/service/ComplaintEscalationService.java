@@ -0,0 +1,244 @@
+package com.hostel.mess.service;
+
+import com.hostel.mess.model.ComplaintCategory;
+import com.hostel.mess.model.ComplaintStatus;
+import com.hostel.mess.model.Priority;
+import com.hostel.mess.repository.ComplaintEscalationKey;
+import com.hostel.mess.repository.ComplaintRepository;
+import com.hostel.mess.service.support.HashedTimingWheel;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.env.Environment;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * SLA escalation for complaints waiting in SUBMITTED
+ * 
+ * Every waiting complaint has one deadline on a hashed timing wheel, measured from its
+ * submission or last escalation and sized by Priority, shortened for fast-track
+ * categories. A missed deadline raises the priority one level and starts a new one;
+ * a missed URGENT deadline records the breach instead. Deadlines expiring on the same
+ * tick are applied together as one update per priority level on rows locked while they
+ * are read, so a concurrent transition waits and then applies on top of the escalation.
+ * Side effects and counts follow the commit. The wheel lives in memory and is rebuilt
+ * from the waiting complaints once the application is ready.
+ */
+@Service
+@Slf4j
+public class ComplaintEscalationService {
+    
+    private static final int BATCH_SIZE = 500;
+    private static final long RETRY_DELAY_MS = TimeUnit.MINUTES.toMillis(1);
+    
+    private final ComplaintRepository complaintRepository;
+    private final ComplaintTriageQueue complaintTriageQueue;
+    private final ComplaintCounters complaintCounters;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate readOnlyTransactionTemplate;
+    
+    private final Map<Priority, Duration> deadlines = new EnumMap<>(Priority.class);
+    private final Set<ComplaintCategory> fastTrackCategories = EnumSet.noneOf(ComplaintCategory.class);
+    private final HashedTimingWheel<Long> wheel;
+    
+    private final ConcurrentMap<Long, HashedTimingWheel.Timeout<Long>> timeouts = new ConcurrentHashMap<>();
+    
+    private final AtomicLong escalated = new AtomicLong();
+    private final AtomicLong breached = new AtomicLong();
+    private final AtomicLong failedBatches = new AtomicLong();
+    
+    public ComplaintEscalationService(ComplaintRepository complaintRepository,
+                                      ComplaintTriageQueue complaintTriageQueue,
+                                      ComplaintCounters complaintCounters,
+                                      PlatformTransactionManager transactionManager,
+                                      Environment environment) {
+        this.complaintRepository = complaintRepository;
+        this.complaintTriageQueue = complaintTriageQueue;
+        this.complaintCounters = complaintCounters;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransactionTemplate.setReadOnly(true);
+        
+        long[] defaultMinutes = {2880, 1440, 480, 120};
+        for (Priority priority : Priority.values()) {
+            String key = "mess.escalation.deadline-minutes." + priority.name().toLowerCase();
+            long minutes = environment.getProperty(key, Long.class, defaultMinutes[priority.ordinal()]);
+            if (minutes <= 0) {
+                throw new IllegalArgumentException(key + " must be positive");
+            }
+            deadlines.put(priority, Duration.ofMinutes(minutes));
+        }
+        for (String category : environment.getProperty("mess.escalation.fast-track-categories",
+                String[].class, new String[] {"FOOD_QUALITY", "HYGIENE"})) {
+            if (!category.isBlank()) {
+                fastTrackCategories.add(ComplaintCategory.valueOf(category.trim()));
+            }
+        }
+        
+        long tickMs = environment.getProperty("mess.escalation.tick-ms", Long.class, 1000L);
+        int wheelSize = environment.getProperty("mess.escalation.wheel-size", Integer.class, 4096);
+        this.wheel = new HashedTimingWheel<>(tickMs, TimeUnit.MILLISECONDS, wheelSize, this::escalate,
+                "complaint-escalation");
+        log.info("Complaint escalation deadlines {}, halved for {}", deadlines, fastTrackCategories);
+    }
+    
+    @PostConstruct
+    void start() {
+        wheel.start();
+    }
+    
+    @PreDestroy
+    void stop() throws InterruptedException {
+        wheel.stop();
+    }
+    
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        List<ComplaintEscalationKey> keys = readOnlyTransactionTemplate.execute(
+                status -> complaintRepository.findEscalationKeys());
+        
+        // Overdue complaints fire on the next tick and are escalated in one batch
+        for (ComplaintEscalationKey key : keys) {
+            schedule(key.getId(), key.getPriority(), key.getCategory(),
+                    key.getLastEscalatedAt() != null ? key.getLastEscalatedAt() : key.getCreatedAt());
+        }
+        log.info("Complaint escalation wheel rebuilt with {} waiting complaints", keys.size());
+    }
+    
+    /**
+     * Starts or restarts the deadline of a waiting complaint, measured from the given time
+     */
+    public void schedule(Long id, Priority priority, ComplaintCategory category, LocalDateTime since) {
+        Duration deadline = deadlineFor(priority, category);
+        long delayMs = Duration.between(LocalDateTime.now(), since.plus(deadline)).toMillis();
+        timeouts.compute(id, (key, previous) -> {
+            if (previous != null) {
+                previous.cancel();
+            }
+            return wheel.schedule(id, delayMs, TimeUnit.MILLISECONDS);
+        });
+    }
+    
+    /**
+     * Drops the deadline of a complaint that has left SUBMITTED
+     */
+    public void cancel(Long id) {
+        HashedTimingWheel.Timeout<Long> timeout = timeouts.remove(id);
+        if (timeout != null) {
+            timeout.cancel();
+        }
+    }
+    
+    public Map<String, Long> getStatistics() {
+        Map<String, Long> stats = new LinkedHashMap<>();
+        stats.put("scheduled", (long) timeouts.size());
+        stats.put("escalated", escalated.get());
+        stats.put("breached", breached.get());
+        stats.put("failedBatches", failedBatches.get());
+        return stats;
+    }
+    
+    // Helper methods
+    private Duration deadlineFor(Priority priority, ComplaintCategory category) {
+        Duration deadline = deadlines.get(priority != null ? priority : Priority.MEDIUM);
+        return fastTrackCategories.contains(category) ? deadline.dividedBy(2) : deadline;
+    }
+    
+    // Runs on the wheel thread with every deadline that expired on one tick
+    void escalate(List<Long> dueIds) {
+        for (Long id : dueIds) {
+            timeouts.computeIfPresent(id, (key, timeout) -> timeout.isExpired() ? null : timeout);
+        }
+        
+        for (int start = 0; start < dueIds.size(); start += BATCH_SIZE) {
+            List<Long> batch = dueIds.subList(start, Math.min(start + BATCH_SIZE, dueIds.size()));
+            try {
+                BatchResult result = transactionTemplate.execute(status -> applyBatch(batch));
+                escalated.addAndGet(result.raised.size());
+                breached.addAndGet(result.breached);
+                
+                LocalDateTime now = LocalDateTime.now();
+                for (ComplaintEscalationKey key : result.raised) {
+                    Priority next = nextPriority(key.getPriority());
+                    complaintTriageQueue.reprioritize(key.getId(), next);
+                    complaintCounters.recordReprioritized(ComplaintStatus.SUBMITTED, key.getPriority(), next,
+                            key.getCategory());
+                    schedule(key.getId(), next, key.getCategory(), now);
+                }
+            } catch (RuntimeException e) {
+                failedBatches.incrementAndGet();
+                log.error("Escalating {} complaints failed, retrying in {} ms: {}", batch.size(), RETRY_DELAY_MS, e.getMessage());
+                for (Long id : batch) {
+                    timeouts.computeIfAbsent(id, key -> wheel.schedule(id, RETRY_DELAY_MS, TimeUnit.MILLISECONDS));
+                }
+            }
+        }
+    }
+    
+    /**
+     * Applies one update per current priority level to the complaints still waiting
+     * 
+     * @return the complaints whose priority was raised, with their previous priority,
+     *         and the number of urgent complaints marked as breached
+     */
+    private BatchResult applyBatch(List<Long> ids) {
+        LocalDateTime now = LocalDateTime.now();
+        
+        // Locked until commit, so the guarded updates below change exactly these rows
+        Map<Priority, List<ComplaintEscalationKey>> byPriority = new EnumMap<>(Priority.class);
+        for (ComplaintEscalationKey key : complaintRepository.findEscalationKeysByIdIn(ids)) {
+            byPriority.computeIfAbsent(key.getPriority(), priority -> new ArrayList<>()).add(key);
+        }
+        
+        BatchResult result = new BatchResult();
+        byPriority.forEach((priority, keys) -> {
+            List<Long> levelIds = keys.stream().map(ComplaintEscalationKey::getId).collect(Collectors.toList());
+            int changed;
+            if (priority == Priority.URGENT) {
+                changed = complaintRepository.markSlaBreached(levelIds, now);
+                result.breached += changed;
+                log.warn("{} urgent complaints breached their deadline", changed);
+            } else {
+                changed = complaintRepository.escalatePriority(levelIds, priority, nextPriority(priority), now);
+                result.raised.addAll(keys);
+                log.info("Escalated {} complaints from {} to {}", changed, priority, nextPriority(priority));
+            }
+            // Only possible if the database did not hold the row locks; the batch is retried
+            if (changed != keys.size()) {
+                throw new OptimisticLockingFailureException("Escalation of " + priority + " complaints changed "
+                        + changed + " of " + keys.size() + " locked rows");
+            }
+        });
+        return result;
+    }
+    
+    private static Priority nextPriority(Priority priority) {
+        return Priority.values()[Math.min(priority.ordinal() + 1, Priority.URGENT.ordinal())];
+    }
+    
+    private static final class BatchResult {
+        
+        private final List<ComplaintEscalationKey> raised = new ArrayList<>();
+        private int breached;
+    }
+}
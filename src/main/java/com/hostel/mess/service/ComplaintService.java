@@ -1,19 +1,51 @@
 package com.hostel.mess.service;
 
+import com.hostel.mess.dto.ComplaintBulkStatusRequest;
+import com.hostel.mess.dto.ComplaintBulkStatusResult;
+import com.hostel.mess.dto.ComplaintClusterDto;
+import com.hostel.mess.dto.ComplaintClusterResolveRequest;
 import com.hostel.mess.dto.ComplaintDto;
+import com.hostel.mess.dto.CursorPage;
+import com.hostel.mess.dto.ExportFormat;
+import com.hostel.mess.dto.ExportRange;
+import com.hostel.mess.dto.PageCursor;
 import com.hostel.mess.model.Complaint;
 import com.hostel.mess.model.Student;
 import com.hostel.mess.model.ComplaintStatus;
+import com.hostel.mess.model.ComplaintCategory;
+import com.hostel.mess.model.Priority;
 import com.hostel.mess.repository.ComplaintRepository;
+import com.hostel.mess.repository.ComplaintRow;
+import com.hostel.mess.repository.ComplaintStatusKey;
 import com.hostel.mess.repository.StudentRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.io.OutputStream;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * Service class for Complaint operations
@@ -25,8 +57,36 @@ import java.util.stream.Collectors;
 @Transactional
 public class ComplaintService {
     
+    private static final List<RowExporter.Column<ComplaintRow>> EXPORT_COLUMNS = List.of(
+            RowExporter.Column.of("id", ComplaintRow::getId),
+            RowExporter.Column.of("studentId", ComplaintRow::getStudentId),
+            RowExporter.Column.of("studentName", ComplaintRow::getStudentName),
+            RowExporter.Column.of("title", ComplaintRow::getTitle),
+            RowExporter.Column.of("description", ComplaintRow::getDescription),
+            RowExporter.Column.of("category", ComplaintRow::getCategory),
+            RowExporter.Column.of("status", ComplaintRow::getStatus),
+            RowExporter.Column.of("priority", ComplaintRow::getPriority),
+            RowExporter.Column.of("resolutionNotes", ComplaintRow::getResolutionNotes),
+            RowExporter.Column.of("resolvedBy", ComplaintRow::getResolvedBy),
+            RowExporter.Column.of("submittedAt", ComplaintRow::getCreatedAt),
+            RowExporter.Column.of("lastUpdated", ComplaintRow::getUpdatedAt),
+            RowExporter.Column.of("lastEscalatedAt", ComplaintRow::getLastEscalatedAt),
+            RowExporter.Column.of("slaBreachedAt", ComplaintRow::getSlaBreachedAt));
+    
+    private static final int MAX_BULK_UPDATE = 1000;
+    
     private final ComplaintRepository complaintRepository;
     private final StudentRepository studentRepository;
+    private final RowExporter rowExporter;
+    private final KeywordAnalyticsService keywordAnalyticsService;
+    private final ComplaintTriageQueue complaintTriageQueue;
+    private final ComplaintEscalationService complaintEscalationService;
+    private final ComplaintCounters complaintCounters;
+    private final ComplaintSimilarityIndex complaintSimilarityIndex;
+    private final PlatformTransactionManager transactionManager;
+    
+    @Value("${mess.complaints.update-max-attempts:3}")
+    private int updateMaxAttempts;
     
     public ComplaintDto submitComplaint(ComplaintDto complaintDto) {
         log.info("Submitting complaint from student ID: {}", complaintDto.getStudentId());
@@ -42,13 +102,24 @@ public class ComplaintService {
         Complaint complaint = convertToEntity(complaintDto, student);
         Complaint savedComplaint = complaintRepository.save(complaint);
         
+        TransactionCallbacks.afterCommit(() -> {
+            complaintTriageQueue.upsert(savedComplaint.getId(), savedComplaint.getPriority(), savedComplaint.getCreatedAt());
+            complaintCounters.recordSubmitted(savedComplaint.getStatus(), savedComplaint.getPriority(),
+                    savedComplaint.getCategory());
+            complaintEscalationService.schedule(savedComplaint.getId(), savedComplaint.getPriority(),
+                    savedComplaint.getCategory(), savedComplaint.getCreatedAt());
+            complaintSimilarityIndex.add(savedComplaint.getId(), savedComplaint.getTitle(), savedComplaint.getDescription());
+            keywordAnalyticsService.recordComplaint(
+                    savedComplaint.getCategory(), savedComplaint.getDescription(), savedComplaint.getCreatedAt());
+        });
+        
         log.info("Complaint submitted successfully with ID: {}", savedComplaint.getId());
         return convertToDto(savedComplaint);
     }
     
     @Transactional(readOnly = true)
     public ComplaintDto getComplaintById(Long id) {
-        Complaint complaint = complaintRepository.findById(id)
+        ComplaintRow complaint = complaintRepository.findRowById(id)
                 .orElseThrow(() -> new IllegalArgumentException("Complaint not found"));
         
         return convertToDto(complaint);
@@ -56,13 +127,11 @@ public class ComplaintService {
     
     @Transactional(readOnly = true)
     public List<ComplaintDto> getComplaintsByStudent(Long studentId) {
-        Student student = studentRepository.findById(studentId)
-                .orElseThrow(() -> new IllegalArgumentException("Student not found"));
+        if (!studentRepository.existsById(studentId)) {
+            throw new IllegalArgumentException("Student not found");
+        }
         
-        return complaintRepository.findByStudentOrderByCreatedAtDesc(student)
-                .stream()
-                .map(this::convertToDto)
-                .collect(Collectors.toList());
+        return convertRowsToDtos(complaintRepository.findRowsByStudentId(studentId));
     }
     
     @Transactional(readOnly = true)
@@ -70,61 +139,388 @@ public class ComplaintService {
         List<ComplaintStatus> openStatuses = Arrays.asList(
                 ComplaintStatus.SUBMITTED, ComplaintStatus.IN_PROGRESS);
         
-        return complaintRepository.findByStatusInOrderByPriorityDescCreatedAtAsc(openStatuses)
-                .stream()
-                .map(this::convertToDto)
-                .collect(Collectors.toList());
+        return convertRowsToDtos(complaintRepository.findRowsByStatusIn(openStatuses));
     }
     
+    /**
+     * Returns the next open complaints to handle: highest priority first, then oldest
+     */
     @Transactional(readOnly = true)
-    public List<ComplaintDto> getAllComplaints() {
-        return complaintRepository.findAll()
+    public List<ComplaintDto> getNextComplaints(Integer limit) {
+        int size = CursorPage.resolvePageSize(limit);
+        
+        if (!complaintTriageQueue.isReady()) {
+            List<ComplaintRow> open = complaintRepository.findRowsByStatusIn(
+                    Arrays.asList(ComplaintStatus.SUBMITTED, ComplaintStatus.IN_PROGRESS));
+            return convertRowsToDtos(open.subList(0, Math.min(size, open.size())));
+        }
+        
+        List<Long> ids = complaintTriageQueue.next(size);
+        if (ids.isEmpty()) {
+            return Collections.emptyList();
+        }
+        
+        Map<Long, ComplaintRow> rows = complaintRepository.findRowsByIdIn(ids)
                 .stream()
+                .collect(Collectors.toMap(ComplaintRow::getId, Function.identity()));
+        return ids.stream()
+                .map(rows::get)
+                .filter(Objects::nonNull)
                 .map(this::convertToDto)
                 .collect(Collectors.toList());
     }
     
-    public ComplaintDto updateComplaintStatus(Long id, ComplaintStatus status, String notes, String resolvedBy) {
+    @Transactional(readOnly = true)
+    public CursorPage<ComplaintDto> getAllComplaints(String cursor, Integer size) {
+        int pageSize = CursorPage.resolvePageSize(size);
+        PageRequest limit = PageRequest.of(0, pageSize + 1);
+        
+        List<ComplaintRow> complaints;
+        if (cursor == null) {
+            complaints = complaintRepository.findLatest(limit);
+        } else {
+            PageCursor position = PageCursor.decode(cursor);
+            complaints = complaintRepository.findLatestBefore(position.sortKeyAsDateTime(), position.getId(), limit);
+        }
+        
+        return CursorPage.fromRows(complaints, pageSize, this::convertRowsToDtos,
+                complaint -> PageCursor.of(complaint.getCreatedAt(), complaint.getId()));
+    }
+    
+    /**
+     * Applies a status transition under the complaint's optimistic lock
+     * 
+     * With an expected version the update fails fast if the complaint has changed since
+     * the caller read it. Without one, a conflicting concurrent update is retried in a new
+     * transaction against the fresh state, so the transition is re-validated rather than
+     * overwriting the other update; after the last attempt the conflict is rethrown.
+     * 
+     * @throws OptimisticLockingFailureException if the update conflicts with another one
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public ComplaintDto updateComplaintStatus(Long id, ComplaintStatus status, String notes, String resolvedBy,
+                                              Long expectedVersion) {
         log.info("Updating complaint ID: {} to status: {}", id, status);
         
-        Complaint complaint = complaintRepository.findById(id)
-                .orElseThrow(() -> new IllegalArgumentException("Complaint not found"));
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return transactionTemplate.execute(
+                        tx -> applyStatusUpdate(id, status, notes, resolvedBy, expectedVersion));
+            } catch (OptimisticLockingFailureException e) {
+                if (expectedVersion != null || attempt >= updateMaxAttempts) {
+                    log.warn("Conflicting update on complaint ID: {} after {} attempts", id, attempt);
+                    throw e;
+                }
+                log.debug("Retrying conflicting update on complaint ID: {} (attempt {})", id, attempt);
+                backOff(attempt, e);
+            }
+        }
+    }
+    
+    /**
+     * Moves many complaints to one status with one guarded update per source status
+     * 
+     * Each complaint is checked against the ComplaintStatus transition table; complaints
+     * that are missing or cannot make the transition are reported per id instead of failing
+     * the request. The complaints stay locked from that check until commit, so concurrent
+     * transitions wait for this one and then see its result.
+     */
+    public ComplaintBulkStatusResult bulkUpdateStatus(ComplaintBulkStatusRequest request) {
+        ComplaintStatus target = request.getStatus();
+        List<Long> ids = resolveBulkIds(request);
+        log.info("Bulk updating {} complaints to status: {}", ids.size(), target);
+        if (ids.isEmpty()) {
+            return ComplaintBulkStatusResult.builder()
+                    .status(target)
+                    .outcomes(Collections.emptyList())
+                    .build();
+        }
         
-        // Apply state transitions based on business rules
-        switch (status) {
-            case IN_PROGRESS:
-                complaint.markInProgress();
-                break;
-            case RESOLVED:
-                if (!complaint.canBeResolved()) {
-                    throw new IllegalStateException("Complaint cannot be resolved in current state");
+        // Locked until commit: concurrent transitions on these complaints wait for this one
+        Map<Long, ComplaintStatusKey> current = complaintRepository.findStatusKeysByIdIn(ids)
+                .stream()
+                .collect(Collectors.toMap(ComplaintStatusKey::getId, Function.identity()));
+        
+        Map<ComplaintStatus, List<Long>> bySource = new EnumMap<>(ComplaintStatus.class);
+        for (ComplaintStatusKey key : current.values()) {
+            if (key.getStatus().canTransitionTo(target)) {
+                bySource.computeIfAbsent(key.getStatus(), status -> new ArrayList<>()).add(key.getId());
+            }
+        }
+        
+        LocalDateTime now = LocalDateTime.now();
+        boolean decision = target == ComplaintStatus.RESOLVED || target == ComplaintStatus.REJECTED;
+        bySource.forEach((source, sourceIds) -> {
+            int updated = decision
+                    ? complaintRepository.transitionStatusWithDecision(sourceIds, source, target,
+                            request.getNotes(), request.getResolvedBy(), now)
+                    : complaintRepository.transitionStatus(sourceIds, source, target, now);
+            
+            // Only possible if the database did not hold the row locks; roll back rather than guess
+            if (updated != sourceIds.size()) {
+                throw new OptimisticLockingFailureException("Bulk transition from " + source + " changed "
+                        + updated + " of " + sourceIds.size() + " locked complaints");
+            }
+        });
+        
+        List<ComplaintBulkStatusResult.Item> outcomes = new ArrayList<>(ids.size());
+        List<ComplaintStatusKey> updated = new ArrayList<>();
+        for (Long id : ids) {
+            ComplaintStatusKey key = current.get(id);
+            ComplaintBulkStatusResult.Outcome outcome;
+            if (key == null) {
+                outcome = ComplaintBulkStatusResult.Outcome.NOT_FOUND;
+            } else if (!key.getStatus().canTransitionTo(target)) {
+                outcome = ComplaintBulkStatusResult.Outcome.INVALID_TRANSITION;
+            } else {
+                outcome = ComplaintBulkStatusResult.Outcome.UPDATED;
+                updated.add(key);
+            }
+            outcomes.add(ComplaintBulkStatusResult.Item.builder()
+                    .id(id)
+                    .outcome(outcome)
+                    .previousStatus(key != null ? key.getStatus() : null)
+                    .build());
+        }
+        
+        TransactionCallbacks.afterCommit(() -> {
+            for (ComplaintStatusKey key : updated) {
+                complaintCounters.recordTransition(key.getStatus(), target, key.getPriority(), key.getCategory());
+                complaintEscalationService.cancel(key.getId());
+                if (target.isOpen()) {
+                    complaintTriageQueue.upsert(key.getId(), key.getPriority(), key.getCreatedAt());
+                } else {
+                    complaintTriageQueue.remove(key.getId());
+                    complaintSimilarityIndex.remove(key.getId());
                 }
-                complaint.resolve(notes, resolvedBy);
-                break;
-            case CLOSED:
-                complaint.close();
-                break;
-            default:
-                throw new IllegalArgumentException("Invalid status transition");
+            }
+        });
+        
+        log.info("Bulk moved {} of {} complaints to status: {}", updated.size(), ids.size(), target);
+        return ComplaintBulkStatusResult.builder()
+                .status(target)
+                .requested(ids.size())
+                .updated(updated.size())
+                .outcomes(outcomes)
+                .build();
+    }
+    
+    /**
+     * Returns the open complaints in the cluster of near-duplicates the complaint belongs to
+     * The index holds only open complaints, so the limit applies to open ones
+     */
+    @Transactional(readOnly = true)
+    public ComplaintClusterDto getComplaintCluster(Long id) {
+        if (!complaintRepository.existsById(id)) {
+            throw new IllegalArgumentException("Complaint not found");
         }
         
-        Complaint updatedComplaint = complaintRepository.save(complaint);
+        // Rows closed since the index was updated are dropped here
+        List<ComplaintRow> open = complaintRepository.findRowsByIdIn(complaintSimilarityIndex.clusterOf(id, MAX_BULK_UPDATE))
+                .stream()
+                .filter(row -> row.getStatus().isOpen())
+                .sorted(Comparator.comparing(ComplaintRow::getCreatedAt).thenComparing(ComplaintRow::getId))
+                .collect(Collectors.toList());
         
-        log.info("Complaint status updated successfully for ID: {}", updatedComplaint.getId());
-        return convertToDto(updatedComplaint);
+        return ComplaintClusterDto.builder()
+                .complaintId(id)
+                .clusterSize(complaintSimilarityIndex.clusterSize(id))
+                .openComplaints(convertRowsToDtos(open))
+                .build();
+    }
+    
+    /**
+     * Resolves the complaints a warden reviewed in the complaint's cluster with one bulk update
+     * 
+     * Only the requested ids that are still open in the same cluster are resolved; the rest,
+     * such as complaints resolved meanwhile or never in the cluster, are reported as
+     * NOT_IN_CLUSTER and left alone. Complaints that joined the cluster after the warden
+     * looked at it are not touched unless requested.
+     */
+    public ComplaintBulkStatusResult resolveCluster(Long id, ComplaintClusterResolveRequest request) {
+        if (!complaintRepository.existsById(id)) {
+            throw new IllegalArgumentException("Complaint not found");
+        }
+        
+        List<Long> requested = new ArrayList<>(new LinkedHashSet<>(request.getIds()));
+        List<Long> members = complaintSimilarityIndex.sameCluster(id, requested);
+        log.info("Resolving {} of {} reviewed complaints clustered with complaint ID: {}",
+                members.size(), requested.size(), id);
+        
+        Map<Long, ComplaintBulkStatusResult.Item> resolved = new HashMap<>();
+        int updated = 0;
+        if (!members.isEmpty()) {
+            ComplaintBulkStatusResult result = bulkUpdateStatus(ComplaintBulkStatusRequest.builder()
+                    .status(ComplaintStatus.RESOLVED)
+                    .ids(members)
+                    .notes(request.getNotes())
+                    .resolvedBy(request.getResolvedBy())
+                    .build());
+            result.getOutcomes().forEach(item -> resolved.put(item.getId(), item));
+            updated = result.getUpdated();
+        }
+        
+        List<ComplaintBulkStatusResult.Item> outcomes = new ArrayList<>(requested.size());
+        for (Long requestedId : requested) {
+            outcomes.add(resolved.getOrDefault(requestedId, ComplaintBulkStatusResult.Item.builder()
+                    .id(requestedId)
+                    .outcome(ComplaintBulkStatusResult.Outcome.NOT_IN_CLUSTER)
+                    .build()));
+        }
+        return ComplaintBulkStatusResult.builder()
+                .status(ComplaintStatus.RESOLVED)
+                .requested(requested.size())
+                .updated(updated)
+                .outcomes(outcomes)
+                .build();
+    }
+    
+    public Map<String, Long> getClusterStatistics() {
+        return complaintSimilarityIndex.getStatistics();
     }
     
     @Transactional(readOnly = true)
     public Long getPendingComplaintsCount() {
+        if (complaintCounters.isReady()) {
+            return complaintCounters.count(List.of(ComplaintStatus.SUBMITTED), null);
+        }
         return complaintRepository.countPendingComplaints();
     }
     
     @Transactional(readOnly = true)
     public Long getUrgentComplaintsCount() {
+        if (complaintCounters.isReady()) {
+            return complaintCounters.count(List.of(ComplaintStatus.SUBMITTED, ComplaintStatus.IN_PROGRESS), Priority.URGENT);
+        }
         return complaintRepository.countUrgentOpenComplaints();
     }
     
+    /**
+     * Complaint counts for every status, priority and category, read from the live counters
+     */
+    @Transactional(readOnly = true)
+    public Map<ComplaintStatus, Map<Priority, Map<ComplaintCategory, Long>>> getCountMatrix() {
+        if (!complaintCounters.isReady()) {
+            complaintCounters.reconcile();
+        }
+        return complaintCounters.getMatrix();
+    }
+    
+    /**
+     * Streams matching complaints to the output in submission order without
+     * loading the result set or any entities into memory
+     * 
+     * @return the number of rows written
+     */
+    @Transactional(readOnly = true)
+    public long exportComplaints(ExportRange range, ComplaintStatus status, ComplaintCategory category,
+                                 Priority priority, ExportFormat format, OutputStream out) {
+        try (Stream<ComplaintRow> rows = complaintRepository.streamForExport(range.getStart(), range.getEndExclusive(),
+                status, category, priority)) {
+            long exported = rowExporter.write(rows, EXPORT_COLUMNS, format, out);
+            log.info("Exported {} complaint rows as {}", exported, format);
+            return exported;
+        }
+    }
+    
     // Helper methods
+    private ComplaintDto applyStatusUpdate(Long id, ComplaintStatus status, String notes, String resolvedBy,
+                                           Long expectedVersion) {
+        Complaint complaint = complaintRepository.findById(id)
+                .orElseThrow(() -> new IllegalArgumentException("Complaint not found"));
+        
+        if (expectedVersion != null && !expectedVersion.equals(complaint.getVersion())) {
+            throw new OptimisticLockingFailureException("Complaint " + id + " is at version "
+                    + complaint.getVersion() + ", expected " + expectedVersion);
+        }
+        
+        // Apply state transitions based on business rules
+        ComplaintStatus previousStatus = complaint.getStatus();
+        complaint.transitionTo(status, notes, resolvedBy);
+        
+        Complaint updatedComplaint = complaintRepository.saveAndFlush(complaint);
+        
+        TransactionCallbacks.afterCommit(() -> {
+            complaintCounters.recordTransition(previousStatus, updatedComplaint.getStatus(),
+                    updatedComplaint.getPriority(), updatedComplaint.getCategory());
+            // Escalation only applies while a complaint waits in SUBMITTED
+            complaintEscalationService.cancel(updatedComplaint.getId());
+            if (updatedComplaint.isOpen()) {
+                complaintTriageQueue.upsert(updatedComplaint.getId(), updatedComplaint.getPriority(),
+                        updatedComplaint.getCreatedAt());
+            } else {
+                complaintTriageQueue.remove(updatedComplaint.getId());
+                complaintSimilarityIndex.remove(updatedComplaint.getId());
+            }
+        });
+        
+        log.info("Complaint status updated successfully for ID: {}", updatedComplaint.getId());
+        return convertToDto(updatedComplaint);
+    }
+    
+    private List<Long> resolveBulkIds(ComplaintBulkStatusRequest request) {
+        boolean byIds = request.getIds() != null && !request.getIds().isEmpty();
+        if (byIds && request.getCurrentStatus() != null) {
+            throw new IllegalArgumentException("Select complaints either by ids or by currentStatus, not both");
+        }
+        if (byIds) {
+            return new ArrayList<>(new LinkedHashSet<>(request.getIds()));
+        }
+        if (request.getCurrentStatus() == null) {
+            throw new IllegalArgumentException("Either ids or currentStatus is required");
+        }
+        
+        LocalDate from = request.getUpdatedFrom();
+        LocalDate to = request.getUpdatedTo();
+        if (from != null && to != null && to.isBefore(from)) {
+            throw new IllegalArgumentException("Update range ends before it starts");
+        }
+        List<Long> ids = complaintRepository.findIdsByStatusAndUpdatedAt(request.getCurrentStatus(),
+                from != null ? from.atStartOfDay() : null,
+                to != null ? to.plusDays(1).atStartOfDay() : null,
+                PageRequest.of(0, MAX_BULK_UPDATE + 1));
+        if (ids.size() > MAX_BULK_UPDATE) {
+            throw new IllegalArgumentException("More than " + MAX_BULK_UPDATE + " complaints match; narrow the date range");
+        }
+        return ids;
+    }
+    
+    private void backOff(int attempt, OptimisticLockingFailureException conflict) {
+        try {
+            Thread.sleep(ThreadLocalRandom.current().nextLong(5, 20) * attempt);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw conflict;
+        }
+    }
+    
+    private List<ComplaintDto> convertRowsToDtos(List<ComplaintRow> rows) {
+        return rows.stream()
+                .map(this::convertToDto)
+                .collect(Collectors.toList());
+    }
+    
+    private ComplaintDto convertToDto(ComplaintRow row) {
+        return ComplaintDto.builder()
+                .id(row.getId())
+                .studentId(row.getStudentId())
+                .title(row.getTitle())
+                .description(row.getDescription())
+                .category(row.getCategory())
+                .status(row.getStatus())
+                .priority(row.getPriority())
+                .resolutionNotes(row.getResolutionNotes())
+                .resolvedBy(row.getResolvedBy())
+                .studentName(row.getStudentName())
+                .submittedAt(row.getCreatedAt())
+                .lastUpdated(row.getUpdatedAt())
+                .lastEscalatedAt(row.getLastEscalatedAt())
+                .slaBreachedAt(row.getSlaBreachedAt())
+                .version(row.getVersion())
+                .build();
+    }
+    
     private ComplaintDto convertToDto(Complaint complaint) {
         return ComplaintDto.builder()
                 .id(complaint.getId())
@@ -139,6 +535,9 @@ public class ComplaintService {
                 .studentName(complaint.getStudent().getName())
                 .submittedAt(complaint.getCreatedAt())
                 .lastUpdated(complaint.getUpdatedAt())
+                .lastEscalatedAt(complaint.getLastEscalatedAt())
+                .slaBreachedAt(complaint.getSlaBreachedAt())
+                .version(complaint.getVersion())
                 .build();
     }
     
@@ -0,0 +1,315 @@
+package com.hostel.mess.service;
+
+import com.hostel.mess.repository.ComplaintRepository;
+import com.hostel.mess.repository.ComplaintRow;
+import com.hostel.mess.service.support.MinHasher;
+import com.hostel.mess.service.support.TextTokenizer;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Clusters near-duplicate complaints by title and description text
+ * 
+ * Each complaint gets a MinHash signature, split into bands for locality-sensitive
+ * hashing: complaints sharing any band bucket are candidates, and candidates whose
+ * estimated similarity reaches the threshold are joined in a union-find. Members of a
+ * cluster form a doubly linked circular list, so merging and removing are O(1) and listing
+ * walks only the cluster. Only open complaints are indexed: they are added after commit,
+ * removed once they are resolved, closed or rejected, and the index is rebuilt from the
+ * open complaints once the application is ready.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ComplaintSimilarityIndex {
+    
+    private static final int BANDS = 8;
+    private static final int ROWS_PER_BAND = 4;
+    private static final int INITIAL_CAPACITY = 1024;
+    // A full bucket is already one cluster, so later members are compared but not stored
+    private static final int MAX_BUCKET_SIZE = 256;
+    // Slot of a complaint that has left the index; its id is never indexed again
+    private static final int REMOVED = -1;
+    
+    private final ComplaintRepository complaintRepository;
+    
+    @Value("${mess.complaints.similarity.threshold:0.6}")
+    private double threshold;
+    
+    private final MinHasher minHasher = new MinHasher(BANDS * ROWS_PER_BAND);
+    
+    // Complaints are numbered densely in insertion order; all arrays below are indexed by that number
+    private final Map<Long, Integer> slots = new HashMap<>();
+    private long[] ids = new long[INITIAL_CAPACITY];
+    private int[][] signatures = new int[INITIAL_CAPACITY][];
+    private int[] parent = new int[INITIAL_CAPACITY];
+    private int[] clusterSizes = new int[INITIAL_CAPACITY];
+    private int[] nextMember = new int[INITIAL_CAPACITY];
+    private int[] previousMember = new int[INITIAL_CAPACITY];
+    private int size;
+    private int indexed;
+    
+    // One bucket map per band: band hash to the slots sharing it
+    private final List<Map<Long, int[]>> buckets = newBuckets();
+    
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        // Adds are idempotent, so complaints submitted during the rebuild are not indexed twice
+        try (Stream<ComplaintRow> rows = complaintRepository.streamForExport(null, null, null, null, null)) {
+            rows.filter(row -> row.getStatus().isOpen())
+                    .forEach(row -> add(row.getId(), row.getTitle(), row.getDescription()));
+        }
+        log.info("Complaint similarity index rebuilt with {} open complaints", indexed);
+    }
+    
+    /**
+     * Indexes a complaint and joins it to the cluster of any near-duplicate
+     */
+    public void add(Long id, String title, String description) {
+        String text = (title != null ? title : "") + " " + (description != null ? description : "");
+        int[] signature = minHasher.signature(MinHasher.shingles(TextTokenizer.tokenize(text)));
+        
+        synchronized (this) {
+            if (slots.containsKey(id)) {
+                return;
+            }
+            int slot = newSlot(id, signature);
+            if (signature == null) {
+                return;
+            }
+            
+            for (int band = 0; band < BANDS; band++) {
+                long key = bandKey(signature, band);
+                int[] bucket = buckets.get(band).get(key);
+                if (bucket != null) {
+                    for (int candidate : bucket) {
+                        if (find(candidate) != find(slot)
+                                && MinHasher.similarity(signature, signatures[candidate]) >= threshold) {
+                            union(slot, candidate);
+                        }
+                    }
+                }
+                if (bucket == null || bucket.length < MAX_BUCKET_SIZE) {
+                    buckets.get(band).put(key, append(bucket, slot));
+                }
+            }
+        }
+    }
+    
+    /**
+     * Drops a complaint that is no longer open, so its cluster lists and counts only open
+     * complaints and new complaints are no longer matched against it
+     */
+    public synchronized void remove(Long id) {
+        Integer slot = slots.put(id, REMOVED);
+        if (slot == null || slot == REMOVED) {
+            return;
+        }
+        indexed--;
+        
+        int previous = previousMember[slot];
+        int next = nextMember[slot];
+        nextMember[previous] = next;
+        previousMember[next] = previous;
+        nextMember[slot] = slot;
+        previousMember[slot] = slot;
+        // The slot stays in the union-find tree, so members linked through it remain one cluster
+        clusterSizes[find(slot)]--;
+        
+        int[] signature = signatures[slot];
+        if (signature != null) {
+            for (int band = 0; band < BANDS; band++) {
+                long key = bandKey(signature, band);
+                int[] bucket = without(buckets.get(band).get(key), slot);
+                if (bucket == null) {
+                    buckets.get(band).remove(key);
+                } else {
+                    buckets.get(band).put(key, bucket);
+                }
+            }
+            signatures[slot] = null;
+        }
+    }
+    
+    /**
+     * Returns up to limit open complaint ids in the same cluster, including the complaint
+     * itself, or nothing if the complaint is not open
+     */
+    public synchronized List<Long> clusterOf(Long id, int limit) {
+        Integer slot = slots.get(id);
+        if (slot == null || slot == REMOVED) {
+            return List.of();
+        }
+        
+        List<Long> members = new ArrayList<>(Math.min(limit, clusterSizes[find(slot)]));
+        int member = slot;
+        do {
+            members.add(ids[member]);
+            member = nextMember[member];
+        } while (member != slot && members.size() < limit);
+        return members;
+    }
+    
+    /**
+     * Number of open complaints in the cluster, or 0 if the complaint is not open
+     */
+    public synchronized int clusterSize(Long id) {
+        Integer slot = slots.get(id);
+        return slot != null && slot != REMOVED ? clusterSizes[find(slot)] : 0;
+    }
+    
+    /**
+     * Returns the candidates that are open and in the same cluster as the complaint, in their given order
+     */
+    public synchronized List<Long> sameCluster(Long id, Collection<Long> candidates) {
+        Integer slot = slots.get(id);
+        if (slot == null || slot == REMOVED) {
+            return List.of();
+        }
+        
+        int root = find(slot);
+        List<Long> members = new ArrayList<>();
+        for (Long candidate : candidates) {
+            Integer candidateSlot = slots.get(candidate);
+            if (candidateSlot != null && candidateSlot != REMOVED && find(candidateSlot) == root) {
+                members.add(candidate);
+            }
+        }
+        return members;
+    }
+    
+    public synchronized Map<String, Long> getStatistics() {
+        long clusters = 0;
+        long clustered = 0;
+        for (int slot = 0; slot < size; slot++) {
+            if (parent[slot] == slot && clusterSizes[slot] > 1) {
+                clusters++;
+                clustered += clusterSizes[slot];
+            }
+        }
+        Map<String, Long> stats = new LinkedHashMap<>();
+        stats.put("indexed", (long) indexed);
+        stats.put("clusters", clusters);
+        stats.put("clusteredComplaints", clustered);
+        return stats;
+    }
+    
+    // Helper methods
+    private int newSlot(Long id, int[] signature) {
+        if (size == ids.length) {
+            int capacity = ids.length * 2;
+            ids = Arrays.copyOf(ids, capacity);
+            signatures = Arrays.copyOf(signatures, capacity);
+            parent = Arrays.copyOf(parent, capacity);
+            clusterSizes = Arrays.copyOf(clusterSizes, capacity);
+            nextMember = Arrays.copyOf(nextMember, capacity);
+            previousMember = Arrays.copyOf(previousMember, capacity);
+        }
+        int slot = size++;
+        ids[slot] = id;
+        signatures[slot] = signature;
+        parent[slot] = slot;
+        clusterSizes[slot] = 1;
+        nextMember[slot] = slot;
+        previousMember[slot] = slot;
+        slots.put(id, slot);
+        indexed++;
+        return slot;
+    }
+    
+    private int find(int slot) {
+        int root = slot;
+        while (parent[root] != root) {
+            root = parent[root];
+        }
+        while (parent[slot] != root) {
+            int next = parent[slot];
+            parent[slot] = root;
+            slot = next;
+        }
+        return root;
+    }
+    
+    private void union(int a, int b) {
+        int rootA = find(a);
+        int rootB = find(b);
+        if (rootA == rootB) {
+            return;
+        }
+        if (clusterSizes[rootA] < clusterSizes[rootB]) {
+            int swap = rootA;
+            rootA = rootB;
+            rootB = swap;
+        }
+        parent[rootB] = rootA;
+        clusterSizes[rootA] += clusterSizes[rootB];
+        
+        // Swapping successors splices the two member cycles into one
+        int nextA = nextMember[a];
+        int nextB = nextMember[b];
+        nextMember[a] = nextB;
+        previousMember[nextB] = a;
+        nextMember[b] = nextA;
+        previousMember[nextA] = b;
+    }
+    
+    private static long bandKey(int[] signature, int band) {
+        long key = band;
+        for (int row = band * ROWS_PER_BAND; row < (band + 1) * ROWS_PER_BAND; row++) {
+            key = key * 0x100000001b3L ^ signature[row];
+        }
+        return key;
+    }
+    
+    private static List<Map<Long, int[]>> newBuckets() {
+        List<Map<Long, int[]>> buckets = new ArrayList<>(BANDS);
+        for (int band = 0; band < BANDS; band++) {
+            buckets.add(new HashMap<>());
+        }
+        return buckets;
+    }
+    
+    private static int[] append(int[] bucket, int slot) {
+        if (bucket == null) {
+            return new int[] {slot};
+        }
+        int[] grown = Arrays.copyOf(bucket, bucket.length + 1);
+        grown[bucket.length] = slot;
+        return grown;
+    }
+    
+    // Full buckets never stored later members, so the slot may be absent
+    private static int[] without(int[] bucket, int slot) {
+        if (bucket == null) {
+            return null;
+        }
+        for (int i = 0; i < bucket.length; i++) {
+            if (bucket[i] == slot) {
+                if (bucket.length == 1) {
+                    return null;
+                }
+                int[] shrunk = Arrays.copyOf(bucket, bucket.length - 1);
+                if (i < shrunk.length) {
+                    shrunk[i] = bucket[bucket.length - 1];
+                }
+                return shrunk;
+            }
+        }
+        return bucket;
+    }
+}
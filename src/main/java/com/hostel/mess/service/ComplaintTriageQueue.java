@@ -0,0 +1,129 @@
+package com.hostel.mess.service;
+
+import com.hostel.mess.model.Priority;
+import com.hostel.mess.repository.ComplaintRepository;
+import com.hostel.mess.repository.ComplaintTriageKey;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NavigableSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+/**
+ * In-memory index of open complaints in handling order: highest priority first, then oldest
+ * 
+ * Inserts, transitions and removals are O(log n) on a skip list, and "next N" reads only
+ * the head of it. Writers keep it in step after commit; it is loaded from the database
+ * once the application is ready and reports itself not ready until then.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ComplaintTriageQueue {
+    
+    private static final Comparator<Entry> HANDLING_ORDER = Comparator
+            .comparing((Entry entry) -> entry.priority, Comparator.reverseOrder())
+            .thenComparing(entry -> entry.createdAt)
+            .thenComparing(entry -> entry.id);
+    
+    private final ComplaintRepository complaintRepository;
+    
+    private final NavigableSet<Entry> ordered = new ConcurrentSkipListSet<>(HANDLING_ORDER);
+    private final ConcurrentMap<Long, Entry> byId = new ConcurrentHashMap<>();
+    
+    private volatile boolean ready;
+    
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        List<ComplaintTriageKey> keys = complaintRepository.findOpenTriageKeys();
+        
+        // Upserts are idempotent, so submissions racing with the rebuild are not lost
+        for (ComplaintTriageKey key : keys) {
+            upsert(key.getId(), key.getPriority(), key.getCreatedAt());
+        }
+        ready = true;
+        log.info("Complaint triage queue rebuilt with {} open complaints", keys.size());
+    }
+    
+    /**
+     * Adds an open complaint or moves it to its new position
+     */
+    public void upsert(Long id, Priority priority, LocalDateTime createdAt) {
+        Entry entry = new Entry(id, priority != null ? priority : Priority.MEDIUM, createdAt);
+        byId.compute(id, (key, previous) -> {
+            if (previous != null) {
+                ordered.remove(previous);
+            }
+            ordered.add(entry);
+            return entry;
+        });
+    }
+    
+    /**
+     * Moves a complaint that is still queued to a new priority; a complaint removed
+     * by a concurrent transition is not brought back
+     */
+    public void reprioritize(Long id, Priority priority) {
+        byId.computeIfPresent(id, (key, previous) -> {
+            Entry entry = new Entry(id, priority, previous.createdAt);
+            ordered.remove(previous);
+            ordered.add(entry);
+            return entry;
+        });
+    }
+    
+    /**
+     * Drops a complaint that is no longer open
+     */
+    public void remove(Long id) {
+        byId.computeIfPresent(id, (key, previous) -> {
+            ordered.remove(previous);
+            return null;
+        });
+    }
+    
+    /**
+     * Returns the ids of the next complaints to handle, in handling order
+     */
+    public List<Long> next(int limit) {
+        List<Long> ids = new ArrayList<>(Math.min(limit, byId.size()));
+        Iterator<Entry> iterator = ordered.iterator();
+        while (ids.size() < limit && iterator.hasNext()) {
+            ids.add(iterator.next().id);
+        }
+        return ids;
+    }
+    
+    public boolean isReady() {
+        return ready;
+    }
+    
+    public int size() {
+        return byId.size();
+    }
+    
+    private static final class Entry {
+        
+        private final Long id;
+        private final Priority priority;
+        private final LocalDateTime createdAt;
+        
+        private Entry(Long id, Priority priority, LocalDateTime createdAt) {
+            this.id = id;
+            this.priority = priority;
+            this.createdAt = createdAt;
+        }
+    }
+}
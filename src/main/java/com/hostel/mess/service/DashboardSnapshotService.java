@@ -0,0 +1,168 @@
+package com.hostel.mess.service;
+
+import com.hostel.mess.dto.MenuDto;
+import com.hostel.mess.repository.SentimentCounts;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Precomputed dashboard overview served off the request path
+ * 
+ * A scheduled refresh fans the menu, feedback and complaint queries out in parallel
+ * and publishes an immutable snapshot. Reads are a pointer load; a snapshot older than
+ * the refresh interval is still served while a single background refresh replaces it.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class DashboardSnapshotService {
+    
+    private static final int FAN_OUT_THREADS = 4;
+    
+    private final MenuService menuService;
+    private final FeedbackService feedbackService;
+    private final ComplaintService complaintService;
+    
+    @Value("${mess.dashboard.refresh-interval-ms:15000}")
+    private long refreshIntervalMs;
+    
+    private final AtomicReference<Snapshot> current = new AtomicReference<>();
+    private final AtomicBoolean refreshing = new AtomicBoolean();
+    
+    private final ExecutorService executor = Executors.newFixedThreadPool(FAN_OUT_THREADS,
+            daemonThreads("dashboard-snapshot-"));
+    
+    // Background refreshes wait on the fan-out pool, so they must not run on one of its threads
+    private final ExecutorService refresher = Executors.newSingleThreadExecutor(daemonThreads("dashboard-refresh-"));
+    
+    @PreDestroy
+    void stop() {
+        refresher.shutdownNow();
+        executor.shutdownNow();
+    }
+    
+    /**
+     * Returns the latest overview together with its age in milliseconds
+     * Only the very first read computes the snapshot on the calling thread.
+     */
+    public Map<String, Object> getOverview() {
+        Snapshot snapshot = current.get();
+        if (snapshot == null) {
+            snapshot = computeInitialSnapshot();
+        } else if (snapshot.ageMs() > refreshIntervalMs) {
+            refreshInBackground();
+        }
+        
+        Map<String, Object> overview = new LinkedHashMap<>(snapshot.overview);
+        overview.put("snapshotAgeMs", snapshot.ageMs());
+        return overview;
+    }
+    
+    @Scheduled(fixedDelayString = "${mess.dashboard.refresh-interval-ms:15000}",
+               initialDelayString = "${mess.dashboard.refresh-interval-ms:15000}")
+    public void scheduledRefresh() {
+        if (refreshing.compareAndSet(false, true)) {
+            try {
+                refresh();
+            } finally {
+                refreshing.set(false);
+            }
+        }
+    }
+    
+    private synchronized Snapshot computeInitialSnapshot() {
+        Snapshot snapshot = current.get();
+        return snapshot != null ? snapshot : refresh();
+    }
+    
+    private void refreshInBackground() {
+        if (refreshing.compareAndSet(false, true)) {
+            refresher.execute(() -> {
+                try {
+                    refresh();
+                } catch (RuntimeException e) {
+                    // The previous snapshot stays in place until a refresh succeeds
+                    log.error("Dashboard snapshot refresh failed: {}", e.getMessage());
+                } finally {
+                    refreshing.set(false);
+                }
+            });
+        }
+    }
+    
+    private Snapshot refresh() {
+        long start = System.nanoTime();
+        
+        CompletableFuture<List<MenuDto>> todaysMenus =
+                CompletableFuture.supplyAsync(menuService::getTodaysMenus, executor);
+        CompletableFuture<SentimentCounts> sentiment =
+                CompletableFuture.supplyAsync(feedbackService::getSentimentCounts, executor);
+        CompletableFuture<Long> pendingComplaints =
+                CompletableFuture.supplyAsync(complaintService::getPendingComplaintsCount, executor);
+        CompletableFuture<Long> urgentComplaints =
+                CompletableFuture.supplyAsync(complaintService::getUrgentComplaintsCount, executor);
+        
+        try {
+            CompletableFuture.allOf(todaysMenus, sentiment, pendingComplaints, urgentComplaints).join();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException cause ? cause : e;
+        }
+        
+        Map<String, Object> overview = new LinkedHashMap<>();
+        overview.put("todaysMenus", todaysMenus.join());
+        overview.put("positiveFeedbackCount", sentiment.join().getPositiveCount());
+        overview.put("negativeFeedbackCount", sentiment.join().getNegativeCount());
+        overview.put("pendingComplaints", pendingComplaints.join());
+        overview.put("urgentComplaints", urgentComplaints.join());
+        overview.put("systemStatus", "operational");
+        overview.put("lastUpdated", LocalDateTime.now());
+        
+        Snapshot snapshot = new Snapshot(Collections.unmodifiableMap(overview), System.nanoTime());
+        current.set(snapshot);
+        log.debug("Dashboard snapshot refreshed in {} ms", TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        return snapshot;
+    }
+    
+    private static ThreadFactory daemonThreads(String namePrefix) {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, namePrefix + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+    
+    private static final class Snapshot {
+        
+        private final Map<String, Object> overview;
+        private final long computedAtNanos;
+        
+        private Snapshot(Map<String, Object> overview, long computedAtNanos) {
+            this.overview = overview;
+            this.computedAtNanos = computedAtNanos;
+        }
+        
+        private long ageMs() {
+            return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - computedAtNanos);
+        }
+    }
+}
@@ -0,0 +1,642 @@
+package com.hostel.mess.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hostel.mess.dto.FeedbackDto;
+import com.hostel.mess.repository.MenuRepository;
+import com.hostel.mess.repository.StudentRepository;
+import com.hostel.mess.model.Student;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Write-behind ingestion of feedback for the post-meal rush
+ *
+ * Submissions are validated against cached student and menu state and handed to a
+ * journal writer thread, which appends everything waiting to the current journal
+ * segment, fsyncs once for the whole group and only then queues the entries and
+ * releases the waiting requests. A submission is acknowledged only once it is durable;
+ * if the journal write fails it is rejected and never reaches the queue.
+ *
+ * A single flusher thread drains the bounded queue into batched inserts. A batch that
+ * keeps failing is retried a bounded number of times, then inserted row by row, and
+ * rows that still fail are appended to a dead-letter file. Segments roll over by size,
+ * or as soon as everything in them is flushed, and are deleted once flushed. Segments
+ * left behind are replayed on startup, so accepted feedback is delivered at least once;
+ * FeedbackService.persistFeedbackBatch skips rows that were already stored.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class FeedbackIngestionService {
+    
+    private static final long MAX_RETRY_BACKOFF_MS = 5000;
+    private static final int MAX_CACHED_ENTRIES = 20000;
+    
+    private final FeedbackService feedbackService;
+    private final StudentRepository studentRepository;
+    private final MenuRepository menuRepository;
+    private final ObjectMapper objectMapper;
+    private final FeedbackMembershipIndex feedbackMembershipIndex;
+    
+    @Value("${mess.feedback.ingestion.queue-capacity:5000}")
+    private int queueCapacity;
+    
+    @Value("${mess.feedback.ingestion.batch-size:200}")
+    private int batchSize;
+    
+    @Value("${mess.feedback.ingestion.flush-interval-ms:250}")
+    private long flushIntervalMs;
+    
+    @Value("${mess.feedback.ingestion.flush-max-attempts:5}")
+    private int flushMaxAttempts;
+    
+    @Value("${mess.feedback.ingestion.journal-path:data/feedback-ingestion.journal}")
+    private String journalPath;
+    
+    @Value("${mess.feedback.ingestion.journal-segment-bytes:8388608}")
+    private long journalSegmentBytes;
+    
+    private BlockingQueue<QueuedFeedback> queue;
+    // Queue slots are reserved before journaling, so a durable entry always fits
+    private Semaphore queueSlots;
+    private Thread flusher;
+    private Thread journalWriter;
+    private volatile boolean running;
+    
+    // Hands submissions to the journal writer; guarded by journalLock
+    private final Object journalLock = new Object();
+    private List<JournalWrite> pendingWrites = new ArrayList<>();
+    private boolean journalOpen;
+    
+    // Only touched by the journal writer thread
+    private Path journalDirectory;
+    private String journalFileName;
+    private FileChannel segment;
+    private long segmentId;
+    private long segmentBytes;
+    private long segmentLastSequence;
+    private long nextSequence = 1;
+    
+    // Closed segments of this run by id, with the sequence of their last entry
+    private final ConcurrentNavigableMap<Long, Long> closedSegments = new ConcurrentSkipListMap<>();
+    // Segments below this id predate this run and are only removed by a successful replay
+    private long firstSegmentId;
+    // Highest sequence persisted or dead-lettered; entries are flushed in sequence order
+    private volatile long flushedSequence;
+    
+    private final Map<Long, Boolean> activeStudents = new ConcurrentHashMap<>();
+    private final Map<Long, Boolean> knownMenus = new ConcurrentHashMap<>();
+    
+    private final AtomicLong accepted = new AtomicLong();
+    private final AtomicLong rejectedInvalid = new AtomicLong();
+    private final AtomicLong rejectedQueueFull = new AtomicLong();
+    private final AtomicLong rejectedJournalFailure = new AtomicLong();
+    private final AtomicLong journalGroupCommits = new AtomicLong();
+    private final AtomicLong persisted = new AtomicLong();
+    private final AtomicLong skippedAtFlush = new AtomicLong();
+    private final AtomicLong deadLettered = new AtomicLong();
+    private final AtomicLong flushedBatches = new AtomicLong();
+    private final AtomicLong flushFailures = new AtomicLong();
+    private final AtomicLong lastFlushLatencyMs = new AtomicLong();
+    private final AtomicLong maxFlushLatencyMs = new AtomicLong();
+    private final AtomicLong totalFlushLatencyMs = new AtomicLong();
+    
+    @PostConstruct
+    void start() throws IOException {
+        queue = new ArrayBlockingQueue<>(queueCapacity);
+        queueSlots = new Semaphore(queueCapacity);
+        
+        Path path = Paths.get(journalPath).toAbsolutePath();
+        journalDirectory = path.getParent() != null ? path.getParent() : Paths.get("").toAbsolutePath();
+        journalFileName = path.getFileName().toString();
+        Files.createDirectories(journalDirectory);
+        
+        firstSegmentId = replayJournal() + 1;
+        openSegment(firstSegmentId);
+        journalOpen = true;
+        
+        running = true;
+        journalWriter = new Thread(this::runJournalWriter, "feedback-journal-writer");
+        journalWriter.setDaemon(true);
+        journalWriter.start();
+        flusher = new Thread(this::runFlusher, "feedback-ingestion-flusher");
+        flusher.setDaemon(true);
+        flusher.start();
+        log.info("Feedback ingestion started with queue capacity {} and batch size {}", queueCapacity, batchSize);
+    }
+    
+    @PreDestroy
+    void stop() throws InterruptedException, IOException {
+        synchronized (journalLock) {
+            journalOpen = false;
+            journalLock.notifyAll();
+        }
+        if (journalWriter != null) {
+            journalWriter.join(TimeUnit.SECONDS.toMillis(30));
+        }
+        
+        running = false;
+        if (flusher != null) {
+            flusher.interrupt();
+            flusher.join(TimeUnit.SECONDS.toMillis(30));
+        }
+        if (segment != null) {
+            segment.close();
+            if (flushedSequence >= segmentLastSequence) {
+                Files.deleteIfExists(segmentPath(segmentId));
+            }
+        }
+        deleteFlushedSegments();
+    }
+    
+    /**
+     * Validates a submission, journals it durably and enqueues it without touching the feedbacks table
+     *
+     * @throws IllegalArgumentException if the student or menu is unknown or inactive
+     * @throws RejectedExecutionException if the queue is full or the journal cannot be written,
+     *                                    and the client should retry later
+     */
+    public void submit(FeedbackDto feedbackDto) {
+        if (!isActiveStudent(feedbackDto.getStudentId())) {
+            rejectedInvalid.incrementAndGet();
+            throw new IllegalArgumentException("Student not found or not active");
+        }
+        if (!isKnownMenu(feedbackDto.getMenuId())) {
+            rejectedInvalid.incrementAndGet();
+            throw new IllegalArgumentException("Menu not found");
+        }
+        if (feedbackMembershipIndex.isKnownDuplicate(feedbackDto.getStudentId(), feedbackDto.getMenuId())) {
+            rejectedInvalid.incrementAndGet();
+            throw new IllegalArgumentException("Student has already provided feedback for this menu");
+        }
+        
+        if (!queueSlots.tryAcquire()) {
+            rejectedQueueFull.incrementAndGet();
+            throw new RejectedExecutionException("Feedback ingestion queue is full");
+        }
+        
+        JournalWrite write;
+        try {
+            write = new JournalWrite(feedbackDto, journalLine(feedbackDto));
+        } catch (JsonProcessingException e) {
+            queueSlots.release();
+            throw new IllegalArgumentException("Feedback cannot be serialized", e);
+        }
+        
+        synchronized (journalLock) {
+            if (!journalOpen) {
+                queueSlots.release();
+                throw new RejectedExecutionException("Feedback ingestion is shutting down");
+            }
+            pendingWrites.add(write);
+            journalLock.notifyAll();
+        }
+        
+        // The writer completes every write it takes, so this never waits past one group commit
+        try {
+            write.durable.join();
+        } catch (CompletionException e) {
+            queueSlots.release();
+            rejectedJournalFailure.incrementAndGet();
+            throw new RejectedExecutionException("Feedback journal is unavailable", e.getCause());
+        }
+        accepted.incrementAndGet();
+    }
+    
+    public Map<String, Object> getStatistics() {
+        long batches = flushedBatches.get();
+        long groups = journalGroupCommits.get();
+        
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("queueDepth", queue.size());
+        stats.put("queueCapacity", queueCapacity);
+        stats.put("accepted", accepted.get());
+        stats.put("rejectedInvalid", rejectedInvalid.get());
+        stats.put("rejectedQueueFull", rejectedQueueFull.get());
+        stats.put("rejectedJournalFailure", rejectedJournalFailure.get());
+        stats.put("journalGroupCommits", groups);
+        stats.put("avgJournalGroupSize", groups > 0 ? (double) accepted.get() / groups : 0.0);
+        stats.put("journalSegments", closedSegments.size() + 1);
+        stats.put("persisted", persisted.get());
+        stats.put("skippedAtFlush", skippedAtFlush.get());
+        stats.put("deadLettered", deadLettered.get());
+        stats.put("flushedBatches", batches);
+        stats.put("flushFailures", flushFailures.get());
+        stats.put("duplicatesRejectedInMemory", feedbackMembershipIndex.getRejectedDuplicates());
+        stats.put("lastFlushLatencyMs", lastFlushLatencyMs.get());
+        stats.put("maxFlushLatencyMs", maxFlushLatencyMs.get());
+        stats.put("avgFlushLatencyMs", batches > 0 ? (double) totalFlushLatencyMs.get() / batches : 0.0);
+        return stats;
+    }
+    
+    /**
+     * Periodically forgets cached student and menu state so deactivations are picked up;
+     * the flush re-validates every row against the database regardless
+     */
+    @Scheduled(fixedDelayString = "${mess.feedback.ingestion.validation-cache-ttl-ms:300000}")
+    public void expireValidationCache() {
+        activeStudents.clear();
+        knownMenus.clear();
+    }
+    
+    // Helper methods
+    private boolean isActiveStudent(Long studentId) {
+        if (studentId == null) {
+            return false;
+        }
+        Boolean active = activeStudents.get(studentId);
+        if (active == null) {
+            active = studentRepository.findById(studentId)
+                    .map(Student::canSubmitFeedback)
+                    .orElse(false);
+            cache(activeStudents, studentId, active);
+        }
+        return active;
+    }
+    
+    private boolean isKnownMenu(Long menuId) {
+        if (menuId == null) {
+            return false;
+        }
+        Boolean known = knownMenus.get(menuId);
+        if (known == null) {
+            known = menuRepository.existsById(menuId);
+            cache(knownMenus, menuId, known);
+        }
+        return known;
+    }
+    
+    private void cache(Map<Long, Boolean> cache, Long key, Boolean value) {
+        if (cache.size() >= MAX_CACHED_ENTRIES) {
+            cache.clear();
+        }
+        cache.put(key, value);
+    }
+    
+    private byte[] journalLine(FeedbackDto feedbackDto) throws JsonProcessingException {
+        return (objectMapper.writeValueAsString(feedbackDto) + "\n").getBytes(StandardCharsets.UTF_8);
+    }
+    
+    private void runJournalWriter() {
+        while (true) {
+            List<JournalWrite> group;
+            synchronized (journalLock) {
+                while (pendingWrites.isEmpty() && journalOpen) {
+                    try {
+                        journalLock.wait();
+                    } catch (InterruptedException e) {
+                        // Only stop() ends the writer, after closing the journal to new submissions
+                    }
+                }
+                if (pendingWrites.isEmpty()) {
+                    return;
+                }
+                group = pendingWrites;
+                pendingWrites = new ArrayList<>();
+            }
+            commitGroup(group);
+        }
+    }
+    
+    /**
+     * Appends a group of submissions with a single fsync, then queues them in journal order
+     */
+    private void commitGroup(List<JournalWrite> group) {
+        long groupStart = segmentBytes;
+        try {
+            if (segmentBytes >= journalSegmentBytes || (segmentBytes > 0 && flushedSequence >= segmentLastSequence)) {
+                rollSegment();
+                groupStart = 0;
+            }
+            
+            ByteBuffer[] buffers = new ByteBuffer[group.size()];
+            long groupBytes = 0;
+            for (int i = 0; i < group.size(); i++) {
+                buffers[i] = ByteBuffer.wrap(group.get(i).line);
+                groupBytes += group.get(i).line.length;
+            }
+            long written = 0;
+            while (written < groupBytes) {
+                written += segment.write(buffers);
+            }
+            segment.force(false);
+            segmentBytes += groupBytes;
+        } catch (IOException | RuntimeException e) {
+            log.error("Failed to journal {} feedback submissions: {}", group.size(), e.toString());
+            discardPartialGroup(groupStart);
+            IOException failure = e instanceof IOException ? (IOException) e : new IOException(e);
+            group.forEach(write -> write.durable.completeExceptionally(failure));
+            return;
+        }
+        
+        journalGroupCommits.incrementAndGet();
+        for (JournalWrite write : group) {
+            segmentLastSequence = nextSequence++;
+            queue.add(new QueuedFeedback(write.feedback, segmentLastSequence));
+            write.durable.complete(null);
+        }
+    }
+    
+    // Rejected submissions must not be replayed, so cut the segment back to the last durable group
+    private void discardPartialGroup(long groupStart) {
+        try {
+            segment.truncate(groupStart);
+            segment.position(groupStart);
+            segmentBytes = groupStart;
+        } catch (IOException | RuntimeException e) {
+            log.error("Failed to discard partial journal write, starting a new segment: {}", e.toString());
+            try {
+                rollSegment();
+            } catch (IOException rollFailure) {
+                log.error("Failed to start a new journal segment: {}", rollFailure.getMessage());
+            }
+        }
+    }
+    
+    private void rollSegment() throws IOException {
+        long previous = segmentId;
+        if (segment != null) {
+            try {
+                segment.close();
+            } catch (IOException e) {
+                log.warn("Failed to close journal segment {}: {}", previous, e.getMessage());
+            }
+        }
+        closedSegments.put(previous, segmentLastSequence);
+        openSegment(previous + 1);
+        deleteFlushedSegments();
+    }
+    
+    private void openSegment(long id) throws IOException {
+        segment = FileChannel.open(segmentPath(id), StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+        segmentId = id;
+        segmentBytes = 0;
+    }
+    
+    private void deleteFlushedSegments() {
+        long flushed = flushedSequence;
+        for (Map.Entry<Long, Long> closed : closedSegments.entrySet()) {
+            if (closed.getValue() > flushed) {
+                break;
+            }
+            try {
+                Files.deleteIfExists(segmentPath(closed.getKey()));
+                closedSegments.remove(closed.getKey());
+            } catch (IOException e) {
+                log.warn("Failed to delete flushed journal segment {}: {}", closed.getKey(), e.getMessage());
+                break;
+            }
+        }
+    }
+    
+    private Path segmentPath(long id) {
+        return journalDirectory.resolve(String.format("%s.%06d", journalFileName, id));
+    }
+    
+    private void runFlusher() {
+        while (running || !queue.isEmpty()) {
+            QueuedFeedback first;
+            try {
+                first = queue.poll(flushIntervalMs, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                // Shutdown requested; drain whatever is left without blocking
+                first = queue.poll();
+                if (first == null) {
+                    break;
+                }
+            }
+            if (first == null) {
+                continue;
+            }
+            
+            List<QueuedFeedback> batch = new ArrayList<>(batchSize);
+            batch.add(first);
+            queue.drainTo(batch, batchSize - 1);
+            queueSlots.release(batch.size());
+            
+            if (!flush(batch)) {
+                // Left in the journal for replay on the next start
+                log.error("Stopping feedback flusher with {} queued submissions pending replay", queue.size());
+                return;
+            }
+            
+            flushedSequence = batch.get(batch.size() - 1).sequence;
+            deleteFlushedSegments();
+        }
+    }
+    
+    /**
+     * Persists a batch with bounded retries, then falls back to one row at a time,
+     * dead-lettering rows that still fail
+     *
+     * @return false only when shutdown interrupted the attempts and the batch is left for replay
+     */
+    private boolean flush(List<QueuedFeedback> batch) {
+        List<FeedbackDto> feedback = new ArrayList<>(batch.size());
+        batch.forEach(queued -> feedback.add(queued.feedback));
+        
+        long backoffMs = 100;
+        for (int attempt = 1; attempt <= flushMaxAttempts; attempt++) {
+            if (persist(feedback)) {
+                return true;
+            }
+            if (!running) {
+                return false;
+            }
+            if (attempt < flushMaxAttempts) {
+                try {
+                    Thread.sleep(backoffMs);
+                } catch (InterruptedException interrupted) {
+                    return false;
+                }
+                backoffMs = Math.min(backoffMs * 2, MAX_RETRY_BACKOFF_MS);
+            }
+        }
+        
+        log.warn("Batch of {} feedback submissions failed {} times, inserting row by row", batch.size(), flushMaxAttempts);
+        List<FeedbackDto> failed = new ArrayList<>();
+        for (FeedbackDto row : feedback) {
+            if (!persist(Collections.singletonList(row))) {
+                failed.add(row);
+            }
+        }
+        if (!failed.isEmpty()) {
+            deadLetter(failed);
+        }
+        return true;
+    }
+    
+    private boolean persist(List<FeedbackDto> feedback) {
+        long startedAt = System.nanoTime();
+        try {
+            int inserted = feedbackService.persistFeedbackBatch(feedback);
+            recordFlush(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt));
+            persisted.addAndGet(inserted);
+            skippedAtFlush.addAndGet(feedback.size() - inserted);
+            return true;
+        } catch (RuntimeException e) {
+            flushFailures.incrementAndGet();
+            log.error("Failed to flush {} queued feedback submissions: {}", feedback.size(), e.getMessage());
+            return false;
+        }
+    }
+    
+    private void deadLetter(List<FeedbackDto> failed) {
+        Path path = journalDirectory.resolve(journalFileName + ".dead-letter");
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.APPEND)) {
+            for (FeedbackDto row : failed) {
+                ByteBuffer buffer = ByteBuffer.wrap(journalLine(row));
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+            }
+            channel.force(false);
+            deadLettered.addAndGet(failed.size());
+            log.error("Wrote {} unpersistable feedback submissions to {}", failed.size(), path);
+        } catch (IOException e) {
+            // Last resort: the rows are still recoverable from the log
+            log.error("Failed to dead-letter feedback submissions {}: {}", failed, e.getMessage());
+        }
+    }
+    
+    private void recordFlush(long latencyMs) {
+        flushedBatches.incrementAndGet();
+        lastFlushLatencyMs.set(latencyMs);
+        totalFlushLatencyMs.addAndGet(latencyMs);
+        maxFlushLatencyMs.accumulateAndGet(latencyMs, Math::max);
+    }
+    
+    /**
+     * Persists the segments left by an earlier run and deletes them once stored.
+     * A failed replay is logged and the segments are kept for the next start.
+     *
+     * @return the highest segment id found, so this run's segments never overwrite them
+     */
+    private long replayJournal() throws IOException {
+        Pattern segmentName = Pattern.compile(Pattern.quote(journalFileName) + "\\.(\\d+)");
+        TreeMap<Long, Path> segments = new TreeMap<>();
+        try (Stream<Path> files = Files.list(journalDirectory)) {
+            files.forEach(file -> {
+                Matcher matcher = segmentName.matcher(file.getFileName().toString());
+                if (matcher.matches()) {
+                    segments.put(Long.parseLong(matcher.group(1)), file);
+                }
+            });
+        }
+        
+        // Journal written before segmenting, replayed first
+        List<Path> files = new ArrayList<>();
+        Path legacy = journalDirectory.resolve(journalFileName);
+        if (Files.exists(legacy)) {
+            files.add(legacy);
+        }
+        files.addAll(segments.values());
+        long lastSegmentId = segments.isEmpty() ? 0 : segments.lastKey();
+        
+        if (files.isEmpty()) {
+            return lastSegmentId;
+        }
+        
+        try {
+            int replayed = 0;
+            int inserted = 0;
+            for (Path file : files) {
+                List<FeedbackDto> pending = readJournal(file);
+                for (int from = 0; from < pending.size(); from += batchSize) {
+                    inserted += feedbackService.persistFeedbackBatch(
+                            pending.subList(from, Math.min(from + batchSize, pending.size())));
+                }
+                replayed += pending.size();
+            }
+            for (Path file : files) {
+                Files.deleteIfExists(file);
+            }
+            log.info("Journal replay of {} submissions from {} files inserted {} feedback rows",
+                    replayed, files.size(), inserted);
+        } catch (IOException | RuntimeException e) {
+            log.error("Feedback journal replay failed, keeping {} files for the next start: {}",
+                    files.size(), e.getMessage());
+        }
+        return lastSegmentId;
+    }
+    
+    private List<FeedbackDto> readJournal(Path file) throws IOException {
+        List<FeedbackDto> pending = new ArrayList<>();
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                try {
+                    pending.add(objectMapper.readValue(line, FeedbackDto.class));
+                } catch (IOException e) {
+                    // A torn final line from a crash mid-write
+                    log.warn("Skipping unreadable feedback journal entry in {}", file.getFileName());
+                }
+            }
+        }
+        return pending;
+    }
+    
+    private static final class JournalWrite {
+        
+        private final FeedbackDto feedback;
+        private final byte[] line;
+        private final CompletableFuture<Void> durable = new CompletableFuture<>();
+        
+        private JournalWrite(FeedbackDto feedback, byte[] line) {
+            this.feedback = feedback;
+            this.line = line;
+        }
+    }
+    
+    private static final class QueuedFeedback {
+        
+        private final FeedbackDto feedback;
+        private final long sequence;
+        
+        private QueuedFeedback(FeedbackDto feedback, long sequence) {
+            this.feedback = feedback;
+            this.sequence = sequence;
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.hostel.mess.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-memory record of which students have given feedback on which menus
+ * One bitset per menu, indexed by student id, so a duplicate check is a single bit test
+ * 
+ * Only committed submissions are recorded, so a set bit is always a true duplicate.
+ * A clear bit proves nothing (e.g. after a restart); the unique constraint on
+ * (student_id, menu_id) remains the authority.
+ */
+@Component
+public class FeedbackMembershipIndex {
+    
+    private final Map<Long, BitSet> studentsByMenu = new ConcurrentHashMap<>();
+    private final AtomicLong rejectedDuplicates = new AtomicLong();
+    
+    @Value("${mess.feedback.membership.max-menus:1024}")
+    private int maxMenus;
+    
+    public boolean isKnownDuplicate(Long studentId, Long menuId) {
+        if (studentId == null || menuId == null || studentId > Integer.MAX_VALUE) {
+            return false;
+        }
+        
+        BitSet students = studentsByMenu.get(menuId);
+        if (students == null) {
+            return false;
+        }
+        
+        boolean duplicate;
+        synchronized (students) {
+            duplicate = students.get(studentId.intValue());
+        }
+        if (duplicate) {
+            rejectedDuplicates.incrementAndGet();
+        }
+        return duplicate;
+    }
+    
+    /**
+     * Records a submission; call only once it is committed
+     */
+    public void markSubmitted(Long studentId, Long menuId) {
+        if (studentId == null || menuId == null || studentId > Integer.MAX_VALUE) {
+            return;
+        }
+        
+        BitSet students = studentsByMenu.computeIfAbsent(menuId, id -> new BitSet());
+        synchronized (students) {
+            students.set(studentId.intValue());
+        }
+        
+        if (studentsByMenu.size() > maxMenus) {
+            evictOldestMenu();
+        }
+    }
+    
+    public long getRejectedDuplicates() {
+        return rejectedDuplicates.get();
+    }
+    
+    // Sequence-generated ids grow over time, so the smallest id is the oldest menu
+    private void evictOldestMenu() {
+        if (studentsByMenu.isEmpty()) {
+            return;
+        }
+        studentsByMenu.remove(Collections.min(studentsByMenu.keySet()));
+    }
+}
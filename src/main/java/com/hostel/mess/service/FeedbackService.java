@@ -1,19 +1,41 @@
 package com.hostel.mess.service;
 
+import com.hostel.mess.dto.CursorPage;
+import com.hostel.mess.dto.ExportFormat;
+import com.hostel.mess.dto.ExportRange;
 import com.hostel.mess.dto.FeedbackDto;
+import com.hostel.mess.dto.PageCursor;
+import com.hostel.mess.dto.RatingHistogramDto;
+import com.hostel.mess.dto.RatingTrendPoint;
 import com.hostel.mess.model.Feedback;
+import com.hostel.mess.model.FeedbackType;
+import com.hostel.mess.model.MealType;
+import com.hostel.mess.model.RollupLevel;
 import com.hostel.mess.model.Student;
 import com.hostel.mess.model.Menu;
 import com.hostel.mess.repository.FeedbackRepository;
+import com.hostel.mess.repository.FeedbackRow;
+import com.hostel.mess.repository.SentimentCounts;
 import com.hostel.mess.repository.StudentRepository;
 import com.hostel.mess.repository.MenuRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.OutputStream;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * Service class for Feedback operations
@@ -25,14 +47,38 @@ import java.util.stream.Collectors;
 @Transactional
 public class FeedbackService {
     
+    private static final List<RowExporter.Column<FeedbackRow>> EXPORT_COLUMNS = List.of(
+            RowExporter.Column.of("id", FeedbackRow::getId),
+            RowExporter.Column.of("studentId", FeedbackRow::getStudentId),
+            RowExporter.Column.of("studentName", FeedbackRow::getStudentName),
+            RowExporter.Column.of("menuId", FeedbackRow::getMenuId),
+            RowExporter.Column.of("menuDate", FeedbackRow::getMenuDate),
+            RowExporter.Column.of("mealType", FeedbackRow::getMealType),
+            RowExporter.Column.of("rating", FeedbackRow::getRating),
+            RowExporter.Column.of("feedbackType", FeedbackRow::getFeedbackType),
+            RowExporter.Column.of("comments", FeedbackRow::getComments),
+            RowExporter.Column.of("submittedAt", FeedbackRow::getCreatedAt));
+    
     private final FeedbackRepository feedbackRepository;
     private final StudentRepository studentRepository;
     private final MenuRepository menuRepository;
+    private final MenuCache menuCache;
+    private final RatingAggregateService ratingAggregateService;
+    private final RatingRollupService ratingRollupService;
+    private final KeywordAnalyticsService keywordAnalyticsService;
+    private final LiveRatingMonitor liveRatingMonitor;
+    private final FeedbackMembershipIndex feedbackMembershipIndex;
+    private final RowExporter rowExporter;
     
     public FeedbackDto submitFeedback(FeedbackDto feedbackDto) {
         log.info("Submitting feedback from student ID: {} for menu ID: {}", 
                 feedbackDto.getStudentId(), feedbackDto.getMenuId());
         
+        // Reject obvious duplicates before any database access
+        if (feedbackMembershipIndex.isKnownDuplicate(feedbackDto.getStudentId(), feedbackDto.getMenuId())) {
+            throw new IllegalArgumentException("Student has already provided feedback for this menu");
+        }
+        
         // Validate student
         Student student = studentRepository.findById(feedbackDto.getStudentId())
                 .orElseThrow(() -> new IllegalArgumentException("Student not found"));
@@ -45,68 +91,264 @@ public class FeedbackService {
         Menu menu = menuRepository.findById(feedbackDto.getMenuId())
                 .orElseThrow(() -> new IllegalArgumentException("Menu not found"));
         
-        // Check for duplicate feedback
-        List<Feedback> existingFeedback = feedbackRepository.findByStudentAndMenu(student, menu);
-        if (!existingFeedback.isEmpty()) {
-            throw new IllegalArgumentException("Student has already provided feedback for this menu");
-        }
-        
         Feedback feedback = convertToEntity(feedbackDto, student, menu);
         feedback.validateRating(); // Business validation
         
-        Feedback savedFeedback = feedbackRepository.save(feedback);
+        // The unique (student_id, menu_id) constraint settles concurrent duplicates
+        Feedback savedFeedback;
+        try {
+            savedFeedback = feedbackRepository.saveAndFlush(feedback);
+        } catch (DataIntegrityViolationException e) {
+            if (isDuplicateFeedback(e)) {
+                throw new IllegalArgumentException("Student has already provided feedback for this menu");
+            }
+            throw e;
+        }
+        
+        TransactionCallbacks.afterCommit(() -> {
+            feedbackMembershipIndex.markSubmitted(student.getId(), menu.getId());
+            keywordAnalyticsService.recordFeedback(menu.getId(), menu.getMealType(),
+                    savedFeedback.getComments(), savedFeedback.getCreatedAt());
+            liveRatingMonitor.record(menu.getMenuDate(), menu.getMealType(),
+                    savedFeedback.getRating(), savedFeedback.isNegative());
+        });
+        ratingAggregateService.recordFeedback(menu.getId(), savedFeedback.getFeedbackType(), savedFeedback.getRating());
+        ratingRollupService.recordRatings(menu.getMenuDate(), menu.getMealType(),
+                savedFeedback.getFeedbackType(), savedFeedback.getRating(), 1);
+        menuCache.ratingsChanged(menu.getMenuDate());
         
         log.info("Feedback submitted successfully with ID: {}", savedFeedback.getId());
         return convertToDto(savedFeedback);
     }
     
+    /**
+     * Persists a batch of already acknowledged feedback in one transaction.
+     * Students, menus and existing submissions are each resolved with one query,
+     * and rows that are invalid or already stored are skipped, so a batch that is
+     * replayed after a crash is applied at most once.
+     * 
+     * @return the number of feedback rows inserted
+     */
+    public int persistFeedbackBatch(List<FeedbackDto> batch) {
+        Set<Long> studentIds = batch.stream().map(FeedbackDto::getStudentId)
+                .filter(Objects::nonNull).collect(Collectors.toSet());
+        Set<Long> menuIds = batch.stream().map(FeedbackDto::getMenuId)
+                .filter(Objects::nonNull).collect(Collectors.toSet());
+        
+        if (studentIds.isEmpty() || menuIds.isEmpty()) {
+            return 0;
+        }
+        
+        Map<Long, Student> students = studentRepository.findAllById(studentIds)
+                .stream()
+                .collect(Collectors.toMap(Student::getId, Function.identity()));
+        Map<Long, Menu> menus = menuRepository.findAllById(menuIds)
+                .stream()
+                .collect(Collectors.toMap(Menu::getId, Function.identity()));
+        Set<String> submitted = feedbackRepository.findStudentMenuPairs(studentIds, menuIds)
+                .stream()
+                .map(pair -> pair.getStudentId() + ":" + pair.getMenuId())
+                .collect(Collectors.toCollection(HashSet::new));
+        
+        List<Feedback> accepted = new ArrayList<>();
+        for (FeedbackDto dto : batch) {
+            Student student = students.get(dto.getStudentId());
+            Menu menu = menus.get(dto.getMenuId());
+            
+            if (student == null || !student.canSubmitFeedback() || menu == null || dto.getRating() == null) {
+                log.warn("Skipping invalid queued feedback from student ID: {} for menu ID: {}",
+                        dto.getStudentId(), dto.getMenuId());
+                continue;
+            }
+            
+            // Covers both stored duplicates and duplicates within the batch
+            String key = student.getId() + ":" + menu.getId();
+            if (submitted.contains(key)) {
+                continue;
+            }
+            
+            // Only an accepted row claims the pair, so a later valid row for it still goes in
+            Feedback feedback = convertToEntity(dto, student, menu);
+            if (!feedback.isValidRating()) {
+                continue;
+            }
+            submitted.add(key);
+            accepted.add(feedback);
+        }
+        
+        feedbackRepository.saveAll(accepted);
+        
+        // Everything in the set is now stored: pre-existing rows plus this batch
+        TransactionCallbacks.afterCommit(() -> {
+            submitted.forEach(key -> {
+                String[] ids = key.split(":");
+                feedbackMembershipIndex.markSubmitted(Long.valueOf(ids[0]), Long.valueOf(ids[1]));
+            });
+            accepted.forEach(feedback -> {
+                Menu menu = feedback.getMenu();
+                keywordAnalyticsService.recordFeedback(menu.getId(), menu.getMealType(),
+                        feedback.getComments(), feedback.getCreatedAt());
+                liveRatingMonitor.record(menu.getMenuDate(), menu.getMealType(),
+                        feedback.getRating(), feedback.isNegative());
+            });
+        });
+        
+        // One aggregate update per distinct (menu, type, rating) instead of per row
+        accepted.stream()
+                .collect(Collectors.groupingBy(
+                        feedback -> feedback.getMenu().getId() + ":" + feedback.getFeedbackType() + ":" + feedback.getRating(),
+                        Collectors.toList()))
+                .values()
+                .forEach(group -> {
+                    Feedback sample = group.get(0);
+                    ratingAggregateService.recordRatings(sample.getMenu().getId(), sample.getFeedbackType(),
+                            sample.getRating(), group.size());
+                    ratingRollupService.recordRatings(sample.getMenu().getMenuDate(), sample.getMenu().getMealType(),
+                            sample.getFeedbackType(), sample.getRating(), group.size());
+                });
+        
+        accepted.stream()
+                .map(feedback -> feedback.getMenu().getMenuDate())
+                .distinct()
+                .forEach(menuCache::ratingsChanged);
+        
+        return accepted.size();
+    }
+    
     @Transactional(readOnly = true)
     public List<FeedbackDto> getFeedbackForMenu(Long menuId) {
-        Menu menu = menuRepository.findById(menuId)
-                .orElseThrow(() -> new IllegalArgumentException("Menu not found"));
+        if (!menuRepository.existsById(menuId)) {
+            throw new IllegalArgumentException("Menu not found");
+        }
         
-        return feedbackRepository.findByMenuOrderByCreatedAtDesc(menu)
-                .stream()
-                .map(this::convertToDto)
-                .collect(Collectors.toList());
+        return convertRowsToDtos(feedbackRepository.findRowsByMenuId(menuId));
     }
     
     @Transactional(readOnly = true)
     public List<FeedbackDto> getFeedbackByStudent(Long studentId) {
-        Student student = studentRepository.findById(studentId)
-                .orElseThrow(() -> new IllegalArgumentException("Student not found"));
+        if (!studentRepository.existsById(studentId)) {
+            throw new IllegalArgumentException("Student not found");
+        }
         
-        return feedbackRepository.findByStudent(student)
-                .stream()
-                .map(this::convertToDto)
-                .collect(Collectors.toList());
+        return convertRowsToDtos(feedbackRepository.findRowsByStudentId(studentId));
     }
     
     @Transactional(readOnly = true)
     public Double getAverageRatingForMenu(Long menuId) {
-        Menu menu = menuRepository.findById(menuId)
+        if (!menuRepository.existsById(menuId)) {
+            throw new IllegalArgumentException("Menu not found");
+        }
+        
+        return ratingAggregateService.getAverageRatingForMenu(menuId);
+    }
+    
+    @Transactional(readOnly = true)
+    public RatingHistogramDto getRatingHistogram(Long menuId) {
+        return ratingAggregateService.getHistogram(menuId)
                 .orElseThrow(() -> new IllegalArgumentException("Menu not found"));
+    }
+    
+    public int rebuildRatingAggregates() {
+        int rebuilt = ratingAggregateService.rebuildAll();
+        menuCache.invalidateAll();
+        return rebuilt;
+    }
+    
+    public int rebuildRatingRollups() {
+        return ratingRollupService.rebuildAll();
+    }
+    
+    @Transactional(readOnly = true)
+    public List<RatingTrendPoint> getRatingTrend(RollupLevel level, LocalDate from, LocalDate to,
+                                                 MealType mealType, FeedbackType feedbackType) {
+        return ratingRollupService.getTrend(level, from, to, mealType, feedbackType);
+    }
+    
+    @Transactional(readOnly = true)
+    public CursorPage<FeedbackDto> getNegativeFeedback(String cursor, Integer size) {
+        int pageSize = CursorPage.resolvePageSize(size);
+        PageRequest limit = PageRequest.of(0, pageSize + 1);
         
-        return feedbackRepository.getAverageRatingForMenu(menu);
+        List<FeedbackRow> feedbacks;
+        if (cursor == null) {
+            feedbacks = feedbackRepository.findNegativeFeedback(limit);
+        } else {
+            PageCursor position = PageCursor.decode(cursor);
+            feedbacks = feedbackRepository.findNegativeFeedbackBefore(
+                    position.sortKeyAsDateTime(), position.getId(), limit);
+        }
+        
+        return CursorPage.fromRows(feedbacks, pageSize, this::convertRowsToDtos,
+                feedback -> PageCursor.of(feedback.getCreatedAt(), feedback.getId()));
     }
     
     @Transactional(readOnly = true)
-    public List<FeedbackDto> getNegativeFeedback() {
-        return feedbackRepository.findNegativeFeedback()
-                .stream()
-                .map(this::convertToDto)
-                .collect(Collectors.toList());
+    public CursorPage<FeedbackDto> getPositiveFeedback(String cursor, Integer size) {
+        int pageSize = CursorPage.resolvePageSize(size);
+        PageRequest limit = PageRequest.of(0, pageSize + 1);
+        
+        List<FeedbackRow> feedbacks;
+        if (cursor == null) {
+            feedbacks = feedbackRepository.findPositiveFeedback(limit);
+        } else {
+            PageCursor position = PageCursor.decode(cursor);
+            feedbacks = feedbackRepository.findPositiveFeedbackBefore(
+                    position.sortKeyAsDateTime(), position.getId(), limit);
+        }
+        
+        return CursorPage.fromRows(feedbacks, pageSize, this::convertRowsToDtos,
+                feedback -> PageCursor.of(feedback.getCreatedAt(), feedback.getId()));
     }
     
     @Transactional(readOnly = true)
-    public List<FeedbackDto> getPositiveFeedback() {
-        return feedbackRepository.findPositiveFeedback()
-                .stream()
+    public SentimentCounts getSentimentCounts() {
+        return ratingAggregateService.getSentimentCounts();
+    }
+    
+    /**
+     * Streams matching feedback to the output in submission order without
+     * loading the result set or any entities into memory
+     * 
+     * @return the number of rows written
+     */
+    @Transactional(readOnly = true)
+    public long exportFeedback(ExportRange range, Long menuId, FeedbackType feedbackType,
+                               Integer minRating, Integer maxRating,
+                               ExportFormat format, OutputStream out) {
+        try (Stream<FeedbackRow> rows = feedbackRepository.streamForExport(range.getStart(), range.getEndExclusive(),
+                menuId, feedbackType, minRating, maxRating)) {
+            long exported = rowExporter.write(rows, EXPORT_COLUMNS, format, out);
+            log.info("Exported {} feedback rows as {}", exported, format);
+            return exported;
+        }
+    }
+    
+    // Helper methods
+    private boolean isDuplicateFeedback(DataIntegrityViolationException e) {
+        String message = e.getMostSpecificCause().getMessage();
+        return message != null && message.toLowerCase().contains(Feedback.STUDENT_MENU_CONSTRAINT);
+    }
+    
+    private List<FeedbackDto> convertRowsToDtos(List<FeedbackRow> rows) {
+        return rows.stream()
                 .map(this::convertToDto)
                 .collect(Collectors.toList());
     }
     
-    // Helper methods
+    private FeedbackDto convertToDto(FeedbackRow row) {
+        return FeedbackDto.builder()
+                .id(row.getId())
+                .studentId(row.getStudentId())
+                .menuId(row.getMenuId())
+                .rating(row.getRating())
+                .comments(row.getComments())
+                .feedbackType(row.getFeedbackType())
+                .studentName(row.getStudentName())
+                .menuDescription(String.format("%s - %s", row.getMenuDate(), row.getMealType()))
+                .submittedAt(row.getCreatedAt())
+                .build();
+    }
+    
     private FeedbackDto convertToDto(Feedback feedback) {
         return FeedbackDto.builder()
                 .id(feedback.getId())
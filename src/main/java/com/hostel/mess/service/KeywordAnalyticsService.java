@@ -0,0 +1,283 @@
+package com.hostel.mess.service;
+
+import com.hostel.mess.dto.KeywordReportDto;
+import com.hostel.mess.model.ComplaintCategory;
+import com.hostel.mess.model.MealType;
+import com.hostel.mess.repository.ComplaintRepository;
+import com.hostel.mess.repository.ComplaintRow;
+import com.hostel.mess.repository.FeedbackRepository;
+import com.hostel.mess.repository.FeedbackRow;
+import com.hostel.mess.service.support.TextTokenizer;
+import com.hostel.mess.service.support.WeeklyHeavyHitters;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * Streaming keyword analytics over feedback comments and complaint descriptions
+ * 
+ * Submit paths only offer the raw text to a bounded queue; a single worker thread
+ * tokenizes it and feeds weekly heavy-hitter sketches per menu, MealType and
+ * ComplaintCategory. When the queue is full the text is dropped and counted rather
+ * than slowing the submission down. On startup the current and previous week are
+ * replayed from the database, since the sketches only live in memory.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class KeywordAnalyticsService {
+    
+    private static final int SKETCH_DEPTH = 4;
+    private static final int MAX_REPORT_KEYWORDS = 50;
+    
+    private final FeedbackRepository feedbackRepository;
+    private final ComplaintRepository complaintRepository;
+    private final PlatformTransactionManager transactionManager;
+    
+    @Value("${mess.analytics.keywords.queue-capacity:10000}")
+    private int queueCapacity;
+    
+    @Value("${mess.analytics.keywords.top-k:50}")
+    private int topK;
+    
+    @Value("${mess.analytics.keywords.sketch-width:1024}")
+    private int sketchWidth;
+    
+    @Value("${mess.analytics.keywords.max-menus:256}")
+    private int maxMenus;
+    
+    private BlockingQueue<TextEvent> queue;
+    private Thread worker;
+    private volatile boolean running;
+    
+    private final ConcurrentMap<Long, WeeklyHeavyHitters> byMenu = new ConcurrentHashMap<>();
+    private final Map<MealType, WeeklyHeavyHitters> byMealType = new EnumMap<>(MealType.class);
+    private final Map<ComplaintCategory, WeeklyHeavyHitters> byCategory = new EnumMap<>(ComplaintCategory.class);
+    
+    private final AtomicLong accepted = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private final AtomicLong processed = new AtomicLong();
+    private final AtomicLong replayed = new AtomicLong();
+    
+    @PostConstruct
+    void init() {
+        queue = new ArrayBlockingQueue<>(queueCapacity);
+        
+        // Filled once before the worker starts and only read afterwards
+        for (MealType mealType : MealType.values()) {
+            byMealType.put(mealType, newSketches());
+        }
+        for (ComplaintCategory category : ComplaintCategory.values()) {
+            byCategory.put(category, newSketches());
+        }
+    }
+    
+    // Started once sample data is seeded so the replay sees it; earlier submissions wait in the queue
+    @EventListener(ApplicationReadyEvent.class)
+    void startWorker() {
+        running = true;
+        worker = new Thread(this::runWorker, "keyword-analytics");
+        worker.setDaemon(true);
+        worker.start();
+    }
+    
+    @PreDestroy
+    void stop() throws InterruptedException {
+        running = false;
+        if (worker != null) {
+            worker.interrupt();
+            worker.join(TimeUnit.SECONDS.toMillis(5));
+        }
+    }
+    
+    public void recordFeedback(Long menuId, MealType mealType, String comments, LocalDateTime submittedAt) {
+        offer(new TextEvent(menuId, mealType, null, comments, submittedAt));
+    }
+    
+    public void recordComplaint(ComplaintCategory category, String description, LocalDateTime submittedAt) {
+        offer(new TextEvent(null, null, category, description, submittedAt));
+    }
+    
+    public KeywordReportDto getMenuKeywords(Long menuId, boolean previousWeek, int limit) {
+        return report("menu", String.valueOf(menuId), byMenu.get(menuId), previousWeek, limit);
+    }
+    
+    public KeywordReportDto getMealTypeKeywords(MealType mealType, boolean previousWeek, int limit) {
+        return report("mealType", mealType.name(), byMealType.get(mealType), previousWeek, limit);
+    }
+    
+    public KeywordReportDto getCategoryKeywords(ComplaintCategory category, boolean previousWeek, int limit) {
+        return report("category", category.name(), byCategory.get(category), previousWeek, limit);
+    }
+    
+    public Map<String, Long> getStatistics() {
+        Map<String, Long> stats = new LinkedHashMap<>();
+        stats.put("accepted", accepted.get());
+        stats.put("dropped", dropped.get());
+        stats.put("processed", processed.get());
+        stats.put("replayed", replayed.get());
+        stats.put("queueDepth", (long) queue.size());
+        stats.put("trackedMenus", (long) byMenu.size());
+        return stats;
+    }
+    
+    // Helper methods
+    private void offer(TextEvent event) {
+        if (event.text == null || event.text.isBlank()) {
+            return;
+        }
+        if (queue.offer(event)) {
+            accepted.incrementAndGet();
+        } else {
+            dropped.incrementAndGet();
+        }
+    }
+    
+    private void runWorker() {
+        try {
+            replayRecentWeeks();
+        } catch (RuntimeException e) {
+            log.error("Keyword analytics replay failed: {}", e.getMessage());
+        }
+        
+        while (running) {
+            try {
+                process(queue.take());
+                processed.incrementAndGet();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                log.warn("Skipping text that could not be analysed: {}", e.getMessage());
+            }
+        }
+    }
+    
+    private void replayRecentWeeks() {
+        LocalDateTime from = WeeklyHeavyHitters.weekOf(LocalDate.now()).minusWeeks(1).atStartOfDay();
+        LocalDateTime to = LocalDateTime.now();
+        
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        readOnly.executeWithoutResult(status -> {
+            try (Stream<FeedbackRow> rows = feedbackRepository.streamForExport(from, to, null, null, null, null)) {
+                rows.filter(row -> row.getComments() != null).forEach(row -> {
+                    process(new TextEvent(row.getMenuId(), row.getMealType(), null, row.getComments(), row.getCreatedAt()));
+                    replayed.incrementAndGet();
+                });
+            }
+            try (Stream<ComplaintRow> rows = complaintRepository.streamForExport(from, to, null, null, null)) {
+                rows.forEach(row -> {
+                    process(new TextEvent(null, null, row.getCategory(), row.getDescription(), row.getCreatedAt()));
+                    replayed.incrementAndGet();
+                });
+            }
+        });
+        log.info("Keyword analytics replayed {} texts since {}", replayed.get(), from.toLocalDate());
+    }
+    
+    private void process(TextEvent event) {
+        List<String> keywords = TextTokenizer.tokenize(event.text);
+        if (keywords.isEmpty()) {
+            return;
+        }
+        LocalDate date = event.submittedAt != null ? event.submittedAt.toLocalDate() : LocalDate.now();
+        
+        if (event.menuId != null) {
+            menuSketches(event.menuId).addAll(date, keywords);
+        }
+        if (event.mealType != null) {
+            byMealType.get(event.mealType).addAll(date, keywords);
+        }
+        if (event.category != null) {
+            byCategory.get(event.category).addAll(date, keywords);
+        }
+    }
+    
+    private WeeklyHeavyHitters menuSketches(Long menuId) {
+        WeeklyHeavyHitters sketches = byMenu.get(menuId);
+        if (sketches != null) {
+            return sketches;
+        }
+        
+        // Menu ids grow over time, so the oldest menu is the one to forget
+        while (byMenu.size() >= maxMenus) {
+            Long oldest = Collections.min(byMenu.keySet());
+            byMenu.remove(oldest);
+        }
+        return byMenu.computeIfAbsent(menuId, id -> newSketches());
+    }
+    
+    private WeeklyHeavyHitters newSketches() {
+        return new WeeklyHeavyHitters(topK, SKETCH_DEPTH, sketchWidth);
+    }
+    
+    private KeywordReportDto report(String scope, String key, WeeklyHeavyHitters sketches,
+                                    boolean previousWeek, int limit) {
+        LocalDate week = WeeklyHeavyHitters.weekOf(LocalDate.now());
+        if (previousWeek) {
+            week = week.minusWeeks(1);
+        }
+        
+        List<KeywordReportDto.KeywordCount> keywords = new ArrayList<>();
+        long total = 0;
+        if (sketches != null) {
+            int resolvedLimit = Math.max(1, Math.min(limit, Math.min(topK, MAX_REPORT_KEYWORDS)));
+            sketches.top(week, resolvedLimit).forEach((keyword, count) -> keywords.add(
+                    KeywordReportDto.KeywordCount.builder()
+                            .keyword(keyword)
+                            .estimatedCount(count)
+                            .build()));
+            total = sketches.getTotalCount(week);
+        }
+        
+        return KeywordReportDto.builder()
+                .scope(scope)
+                .key(key)
+                .weekStart(week)
+                .totalKeywords(total)
+                .keywords(keywords)
+                .build();
+    }
+    
+    private static final class TextEvent {
+        
+        private final Long menuId;
+        private final MealType mealType;
+        private final ComplaintCategory category;
+        private final String text;
+        private final LocalDateTime submittedAt;
+        
+        private TextEvent(Long menuId, MealType mealType, ComplaintCategory category,
+                          String text, LocalDateTime submittedAt) {
+            this.menuId = menuId;
+            this.mealType = mealType;
+            this.category = category;
+            this.text = text;
+            this.submittedAt = submittedAt;
+        }
+    }
+}
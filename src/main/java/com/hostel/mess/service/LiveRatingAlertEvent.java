@@ -0,0 +1,29 @@
+package com.hostel.mess.service;
+
+import com.hostel.mess.model.MealType;
+import lombok.Getter;
+import org.springframework.context.ApplicationEvent;
+
+/**
+ * Published when the share of negative feedback for a meal in the live window
+ * crosses the configured threshold
+ */
+@Getter
+public class LiveRatingAlertEvent extends ApplicationEvent {
+    
+    private final MealType mealType;
+    private final long feedbackCount;
+    private final double negativeShare;
+    private final Double averageRating;
+    private final int windowMinutes;
+    
+    public LiveRatingAlertEvent(Object source, MealType mealType, long feedbackCount, double negativeShare,
+                                Double averageRating, int windowMinutes) {
+        super(source);
+        this.mealType = mealType;
+        this.feedbackCount = feedbackCount;
+        this.negativeShare = negativeShare;
+        this.averageRating = averageRating;
+        this.windowMinutes = windowMinutes;
+    }
+}
@@ -0,0 +1,118 @@
+package com.hostel.mess.service;
+
+import com.hostel.mess.dto.LiveRatingSnapshot;
+import com.hostel.mess.model.MealType;
+import com.hostel.mess.service.support.SlidingWindowRatings;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Live rating window per MealType over feedback for today's menus
+ * 
+ * Recording is lock-free. An alert event is published once when the negative share
+ * of a meal crosses the threshold, and re-armed when it falls back below it.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class LiveRatingMonitor {
+    
+    private final ApplicationEventPublisher eventPublisher;
+    
+    @Value("${mess.live.window-minutes:15}")
+    private int windowMinutes;
+    
+    @Value("${mess.live.negative-share-threshold:0.4}")
+    private double negativeShareThreshold;
+    
+    // Too few ratings make the share meaningless
+    @Value("${mess.live.min-feedback:10}")
+    private long minFeedback;
+    
+    private final Map<MealType, MealWindow> windows = new EnumMap<>(MealType.class);
+    
+    @PostConstruct
+    void init() {
+        // Filled once here and only read afterwards
+        for (MealType mealType : MealType.values()) {
+            windows.put(mealType, new MealWindow(new SlidingWindowRatings(windowMinutes)));
+        }
+    }
+    
+    public void record(LocalDate menuDate, MealType mealType, int rating, boolean negative) {
+        if (!LocalDate.now().equals(menuDate)) {
+            return;
+        }
+        
+        long minute = currentMinute();
+        MealWindow window = windows.get(mealType);
+        window.ratings.record(minute, rating, negative);
+        
+        SlidingWindowRatings.Totals totals = window.ratings.totals(minute);
+        boolean breached = totals.getCount() >= minFeedback
+                && totals.getNegativeShare() >= negativeShareThreshold;
+        
+        if (breached && window.alerting.compareAndSet(false, true)) {
+            window.lastAlertAt.set(LocalDateTime.now());
+            eventPublisher.publishEvent(new LiveRatingAlertEvent(this, mealType, totals.getCount(),
+                    totals.getNegativeShare(), totals.getAverageRating(), windowMinutes));
+        } else if (!breached && window.alerting.get()) {
+            window.alerting.compareAndSet(true, false);
+        }
+    }
+    
+    public List<LiveRatingSnapshot> getSnapshots() {
+        long minute = currentMinute();
+        List<LiveRatingSnapshot> snapshots = new ArrayList<>();
+        windows.forEach((mealType, window) -> {
+            SlidingWindowRatings.Totals totals = window.ratings.totals(minute);
+            snapshots.add(LiveRatingSnapshot.builder()
+                    .mealType(mealType)
+                    .windowMinutes(windowMinutes)
+                    .feedbackCount(totals.getCount())
+                    .averageRating(totals.getAverageRating())
+                    .negativeShare(totals.getNegativeShare())
+                    .alerting(window.alerting.get())
+                    .lastAlertAt(window.lastAlertAt.get())
+                    .build());
+        });
+        return snapshots;
+    }
+    
+    @EventListener
+    public void logAlert(LiveRatingAlertEvent event) {
+        log.warn("{} is going badly: {}% negative across {} ratings in the last {} minutes (average {})",
+                event.getMealType(), Math.round(event.getNegativeShare() * 100), event.getFeedbackCount(),
+                event.getWindowMinutes(), event.getAverageRating());
+    }
+    
+    private long currentMinute() {
+        return TimeUnit.MILLISECONDS.toMinutes(System.currentTimeMillis());
+    }
+    
+    private static final class MealWindow {
+        
+        private final SlidingWindowRatings ratings;
+        private final AtomicBoolean alerting = new AtomicBoolean();
+        private final AtomicReference<LocalDateTime> lastAlertAt = new AtomicReference<>();
+        
+        private MealWindow(SlidingWindowRatings ratings) {
+            this.ratings = ratings;
+        }
+    }
+}
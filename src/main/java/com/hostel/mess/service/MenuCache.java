@@ -0,0 +1,212 @@
+package com.hostel.mess.service;
+
+import com.hostel.mess.dto.MenuDto;
+import com.hostel.mess.dto.ResourceVersion;
+import com.hostel.mess.model.MealType;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.util.DigestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * In-memory cache of assembled active menus, keyed by date and MealType
+ * Absorbs the polling load on today's menu; invalidated on every menu write
+ * 
+ * Only the menu structure is cached. Rating statistics change with every feedback
+ * submission, so callers attach them to each read instead. Every caller receives
+ * its own copy of the cached DTOs.
+ * 
+ * The cache also keeps a change counter per date, bumped after commit by menu writes
+ * and rating changes, so conditional GETs are answered without touching the database.
+ */
+@Component
+@Slf4j
+public class MenuCache {
+    
+    private final ConcurrentMap<LocalDate, Map<MealType, MenuDto>> menusByDate = new ConcurrentHashMap<>();
+    
+    // Bumped on every invalidation so a load racing with a write is not stored
+    private final AtomicLong generation = new AtomicLong();
+    
+    // Change counters behind the menu ETags; only dates written since the last roll-over have an entry
+    private final ConcurrentNavigableMap<LocalDate, DateVersion> versions = new ConcurrentSkipListMap<>();
+    // Covers every date; bumped by invalidateAll and the midnight roll-over
+    private final AtomicLong globalVersion = new AtomicLong();
+    private volatile long globalModifiedAt = System.currentTimeMillis();
+    // Counters restart from zero, so tags issued before a restart must never match again
+    private final String instanceTag = Long.toHexString(System.currentTimeMillis());
+    
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+    
+    public List<MenuDto> getMenusForDate(LocalDate date, Function<LocalDate, List<MenuDto>> loader) {
+        List<MenuDto> menus = new ArrayList<>();
+        for (MenuDto menu : getOrLoad(date, loader).values()) {
+            menus.add(copyOf(menu));
+        }
+        return menus;
+    }
+    
+    public Optional<MenuDto> getMenu(LocalDate date, MealType mealType, Function<LocalDate, List<MenuDto>> loader) {
+        return Optional.ofNullable(getOrLoad(date, loader).get(mealType)).map(MenuCache::copyOf);
+    }
+    
+    /**
+     * Drops the cached menus for a date once the current transaction commits
+     */
+    public void invalidate(LocalDate date) {
+        TransactionCallbacks.afterCommit(() -> {
+            generation.incrementAndGet();
+            bumpVersion(date);
+            if (menusByDate.remove(date) != null) {
+                evictions.incrementAndGet();
+                log.debug("Evicted cached menus for date: {}", date);
+            }
+        });
+    }
+    
+    public void invalidateAll() {
+        TransactionCallbacks.afterCommit(() -> {
+            generation.incrementAndGet();
+            bumpGlobalVersion();
+            int size = menusByDate.size();
+            menusByDate.clear();
+            evictions.addAndGet(size);
+        });
+    }
+    
+    /**
+     * Records that rating statistics for a date changed once the current transaction commits.
+     * The cached structure stays valid; only the date's version moves.
+     */
+    public void ratingsChanged(LocalDate date) {
+        TransactionCallbacks.afterCommit(() -> bumpVersion(date));
+    }
+    
+    /**
+     * Computes HTTP validators for the menus in a date range from the in-memory change counters
+     * 
+     * @param mealType optional meal type, part of the tag so the single-menu and day listings differ
+     */
+    public ResourceVersion getVersion(LocalDate startDate, LocalDate endDate, MealType mealType) {
+        StringBuilder fingerprint = new StringBuilder()
+                .append(instanceTag).append('|').append(globalVersion.get())
+                .append('|').append(startDate).append('|').append(endDate).append('|').append(mealType);
+        long lastModified = globalModifiedAt;
+        
+        for (Map.Entry<LocalDate, DateVersion> entry : versions.subMap(startDate, true, endDate, true).entrySet()) {
+            fingerprint.append('|').append(entry.getKey()).append('=').append(entry.getValue().version);
+            lastModified = Math.max(lastModified, entry.getValue().modifiedAt);
+        }
+        
+        return ResourceVersion.builder()
+                .etag("\"" + DigestUtils.md5DigestAsHex(fingerprint.toString().getBytes(StandardCharsets.UTF_8)) + "\"")
+                .lastModified(lastModified)
+                .build();
+    }
+    
+    /**
+     * Rolls the cache over at midnight by dropping every date before today
+     */
+    @Scheduled(cron = "0 0 0 * * *")
+    public void rollOver() {
+        LocalDate today = LocalDate.now();
+        menusByDate.keySet().removeIf(date -> {
+            if (date.isBefore(today)) {
+                evictions.incrementAndGet();
+                return true;
+            }
+            return false;
+        });
+        
+        // Dropping past counters would let old tags match again, so every tag moves instead
+        versions.headMap(today).clear();
+        bumpGlobalVersion();
+        log.info("Menu cache rolled over to {}", today);
+    }
+    
+    public Map<String, Long> getStatistics() {
+        Map<String, Long> stats = new LinkedHashMap<>();
+        stats.put("hits", hits.get());
+        stats.put("misses", misses.get());
+        stats.put("evictions", evictions.get());
+        stats.put("cachedDates", (long) menusByDate.size());
+        stats.put("versionedDates", (long) versions.size());
+        return stats;
+    }
+    
+    private Map<MealType, MenuDto> getOrLoad(LocalDate date, Function<LocalDate, List<MenuDto>> loader) {
+        Map<MealType, MenuDto> cached = menusByDate.get(date);
+        if (cached != null) {
+            hits.incrementAndGet();
+            return cached;
+        }
+        
+        misses.incrementAndGet();
+        long loadGeneration = generation.get();
+        
+        Map<MealType, MenuDto> loaded = new EnumMap<>(MealType.class);
+        for (MenuDto menu : loader.apply(date)) {
+            loaded.put(menu.getMealType(), copyOf(menu));
+        }
+        Map<MealType, MenuDto> entry = Collections.unmodifiableMap(loaded);
+        
+        if (generation.get() == loadGeneration) {
+            menusByDate.putIfAbsent(date, entry);
+
+            // An invalidation may have slipped in between the check and the put
+            if (generation.get() != loadGeneration) {
+                menusByDate.remove(date, entry);
+            }
+        }
+        return entry;
+    }
+    
+    private void bumpVersion(LocalDate date) {
+        long now = System.currentTimeMillis();
+        versions.compute(date, (key, previous) -> new DateVersion(previous != null ? previous.version + 1 : 1, now));
+    }
+    
+    private void bumpGlobalVersion() {
+        globalModifiedAt = System.currentTimeMillis();
+        globalVersion.incrementAndGet();
+    }
+    
+    // Entries never leave the cache, so callers cannot mutate what other callers see
+    private static MenuDto copyOf(MenuDto menu) {
+        return menu.toBuilder()
+                .menuItems(menu.getMenuItems() != null
+                        ? menu.getMenuItems().stream().map(item -> item.toBuilder().build()).collect(Collectors.toList())
+                        : null)
+                .build();
+    }
+    
+    private static final class DateVersion {
+        
+        private final long version;
+        private final long modifiedAt;
+        
+        private DateVersion(long version, long modifiedAt) {
+            this.version = version;
+            this.modifiedAt = modifiedAt;
+        }
+    }
+}
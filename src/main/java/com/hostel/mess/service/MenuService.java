@@ -1,20 +1,39 @@
 package com.hostel.mess.service;
 
+import com.hostel.mess.dto.CursorPage;
 import com.hostel.mess.dto.MenuDto;
+import com.hostel.mess.dto.MenuImportRequest;
+import com.hostel.mess.dto.MenuImportResult;
 import com.hostel.mess.dto.MenuItemDto;
+import com.hostel.mess.dto.PageCursor;
+import com.hostel.mess.dto.ResourceVersion;
 import com.hostel.mess.model.Menu;
 import com.hostel.mess.model.MenuItem;
 import com.hostel.mess.model.MealType;
 import com.hostel.mess.repository.MenuRepository;
-import com.hostel.mess.repository.FeedbackRepository;
+import com.hostel.mess.repository.MenuRatingStats;
+import com.hostel.mess.repository.MenuSlot;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 /**
@@ -28,7 +47,15 @@ import java.util.stream.Collectors;
 public class MenuService {
     
     private final MenuRepository menuRepository;
-    private final FeedbackRepository feedbackRepository;
+    private final MenuCache menuCache;
+    private final RatingAggregateService ratingAggregateService;
+    private final AggregateRowCreator aggregateRowCreator;
+    private final EntityManager entityManager;
+    private final Validator validator;
+    
+    // Matches hibernate.jdbc.batch_size so each flush is sent as full JDBC batches
+    @Value("${mess.menu.import.flush-size:50}")
+    private int importFlushSize;
     
     public MenuDto createMenu(MenuDto menuDto) {
         log.info("Creating menu for date: {} and meal type: {}", 
@@ -46,42 +73,135 @@ public class MenuService {
         
         Menu menu = convertToEntity(menuDto);
         Menu savedMenu = menuRepository.save(menu);
+        aggregateRowCreator.createForMenus(Collections.singletonList(savedMenu));
+        menuCache.invalidate(savedMenu.getMenuDate());
         
         log.info("Menu created successfully with ID: {}", savedMenu.getId());
         return convertToDto(savedMenu);
     }
     
+    /**
+     * Imports a whole menu schedule in one transaction. Rows are validated
+     * individually, duplicates are checked with a single range query, and
+     * accepted menus with their items are persisted in flushed chunks so
+     * Hibernate can send them as JDBC batches.
+     */
+    public MenuImportResult importMenus(MenuImportRequest request) {
+        List<MenuDto> rows = request.getMenus();
+        log.info("Importing menu schedule with {} rows", rows.size());
+        
+        Set<String> existingSlots = findExistingSlots(rows);
+        Set<String> importedSlots = new HashSet<>();
+        List<MenuImportResult.RowError> errors = new ArrayList<>();
+        List<Menu> accepted = new ArrayList<>();
+        
+        for (int index = 0; index < rows.size(); index++) {
+            MenuDto row = rows.get(index);
+            String error = validateImportRow(row);
+            
+            if (error == null) {
+                String slot = slotKey(row.getMenuDate(), row.getMealType());
+                if (existingSlots.contains(slot)) {
+                    error = String.format("Menu already exists for %s - %s", row.getMenuDate(), row.getMealType());
+                } else if (!importedSlots.add(slot)) {
+                    error = String.format("Duplicate menu in import for %s - %s", row.getMenuDate(), row.getMealType());
+                }
+            }
+            
+            if (error != null) {
+                errors.add(MenuImportResult.RowError.builder()
+                        .index(index)
+                        .menuDate(row != null ? row.getMenuDate() : null)
+                        .mealType(row != null ? row.getMealType() : null)
+                        .message(error)
+                        .build());
+            } else {
+                accepted.add(convertToEntity(row));
+            }
+        }
+        
+        int itemsImported = 0;
+        List<Menu> chunk = new ArrayList<>(importFlushSize);
+        for (Menu menu : accepted) {
+            itemsImported += menu.getMenuItems().size();
+            chunk.add(menu);
+            if (chunk.size() >= importFlushSize) {
+                persistImportChunk(chunk);
+            }
+        }
+        persistImportChunk(chunk);
+        
+        if (!accepted.isEmpty()) {
+            menuCache.invalidateAll();
+        }
+        
+        log.info("Menu import completed: {} imported, {} rejected", accepted.size(), errors.size());
+        return MenuImportResult.builder()
+                .requested(rows.size())
+                .imported(accepted.size())
+                .itemsImported(itemsImported)
+                .errors(errors)
+                .build();
+    }
+    
     @Transactional(readOnly = true)
     public List<MenuDto> getTodaysMenus() {
         log.info("Fetching today's menus");
-        return menuRepository.findTodaysMenus()
-                .stream()
-                .map(this::convertToDtoWithStats)
-                .collect(Collectors.toList());
+        return attachStats(menuCache.getMenusForDate(LocalDate.now(), this::loadActiveMenusForDate));
     }
     
     @Transactional(readOnly = true)
     public List<MenuDto> getMenusForDate(LocalDate date) {
         log.info("Fetching menus for date: {}", date);
-        return menuRepository.findByMenuDate(date)
-                .stream()
-                .map(this::convertToDtoWithStats)
-                .collect(Collectors.toList());
+        return convertToDtosWithStats(menuRepository.findByMenuDate(date));
     }
     
     @Transactional(readOnly = true)
     public Optional<MenuDto> getMenuByDateAndMealType(LocalDate date, MealType mealType) {
-        return menuRepository.findByMenuDateAndMealTypeAndIsActiveTrue(date, mealType)
-                .map(this::convertToDtoWithStats);
+        return menuCache.getMenu(date, mealType, this::loadActiveMenusForDate)
+                .map(menu -> attachStats(Collections.singletonList(menu)).get(0));
+    }
+    
+    /**
+     * Computes HTTP validators for the menus in a date range from the cache's
+     * per-date change counters, without a database round-trip
+     * 
+     * @param mealType optional meal type restricting the lookup to one menu per day
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public ResourceVersion getMenuVersion(LocalDate startDate, LocalDate endDate, MealType mealType) {
+        return menuCache.getVersion(startDate, endDate, mealType);
+    }
+    
+    public Map<String, Long> getCacheStatistics() {
+        return menuCache.getStatistics();
     }
     
     @Transactional(readOnly = true)
-    public List<MenuDto> getUpcomingMenus() {
+    public CursorPage<MenuDto> getUpcomingMenus(String cursor, Integer size) {
         log.info("Fetching upcoming menus");
-        return menuRepository.findUpcomingMenus()
+        int pageSize = CursorPage.resolvePageSize(size);
+        PageRequest limit = PageRequest.of(0, pageSize + 1);
+        
+        List<Long> menuIds;
+        if (cursor == null) {
+            menuIds = menuRepository.findUpcomingMenuIds(limit);
+        } else {
+            PageCursor position = PageCursor.decode(cursor);
+            menuIds = menuRepository.findUpcomingMenuIdsAfter(position.sortKeyAsDate(), position.getId(), limit);
+        }
+        
+        // Second query loads the page with its items; restore the keyset order
+        Map<Long, Menu> menusById = menuRepository.findByIdIn(menuIds)
                 .stream()
-                .map(this::convertToDto)
+                .collect(Collectors.toMap(Menu::getId, Function.identity()));
+        List<Menu> menus = menuIds.stream()
+                .map(menusById::get)
+                .filter(Objects::nonNull)
                 .collect(Collectors.toList());
+        
+        return CursorPage.fromRows(menus, pageSize, this::convertToDtosWithStats,
+                menu -> PageCursor.of(menu.getMenuDate(), menu.getId()));
     }
     
     @Transactional(readOnly = true)
@@ -89,13 +209,67 @@ public class MenuService {
         LocalDate endDate = startDate.plusDays(6);
         log.info("Fetching menus for week: {} to {}", startDate, endDate);
         
-        return menuRepository.findMenusForDateRange(startDate, endDate)
+        return convertToDtosWithStats(menuRepository.findMenusForDateRange(startDate, endDate));
+    }
+    
+    // Helper methods
+    private Set<String> findExistingSlots(List<MenuDto> rows) {
+        List<LocalDate> dates = rows.stream()
+                .filter(Objects::nonNull)
+                .map(MenuDto::getMenuDate)
+                .filter(Objects::nonNull)
+                .sorted()
+                .collect(Collectors.toList());
+        
+        if (dates.isEmpty()) {
+            return Collections.emptySet();
+        }
+        
+        return menuRepository.findActiveSlotsForDateRange(dates.get(0), dates.get(dates.size() - 1))
+                .stream()
+                .map(slot -> slotKey(slot.getMenuDate(), slot.getMealType()))
+                .collect(Collectors.toSet());
+    }
+    
+    private String slotKey(LocalDate date, MealType mealType) {
+        return date + "|" + mealType.name();
+    }
+    
+    private String validateImportRow(MenuDto row) {
+        if (row == null) {
+            return "Menu row is required";
+        }
+        
+        Set<ConstraintViolation<MenuDto>> violations = validator.validate(row);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        
+        return violations.stream()
+                .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                .sorted()
+                .collect(Collectors.joining("; "));
+    }
+    
+    private void persistImportChunk(List<Menu> chunk) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        
+        aggregateRowCreator.createForMenus(menuRepository.saveAll(chunk));
+        entityManager.flush();
+        entityManager.clear();
+        chunk.clear();
+    }
+    
+    // Cache loader: structure only, statistics are attached on every read
+    private List<MenuDto> loadActiveMenusForDate(LocalDate date) {
+        return menuRepository.findByMenuDateAndIsActiveTrue(date)
                 .stream()
                 .map(this::convertToDto)
                 .collect(Collectors.toList());
     }
     
-    // Helper methods
     private MenuDto convertToDto(Menu menu) {
         return MenuDto.builder()
                 .id(menu.getId())
@@ -107,17 +281,37 @@ public class MenuService {
                 .build();
     }
     
-    private MenuDto convertToDtoWithStats(Menu menu) {
-        MenuDto dto = convertToDto(menu);
+    private List<MenuDto> convertToDtosWithStats(List<Menu> menus) {
+        return attachStats(menus.stream()
+                .map(this::convertToDto)
+                .collect(Collectors.toList()));
+    }
+    
+    /**
+     * Attaches rating statistics read from the per-menu aggregates in one query,
+     * so the query count does not grow with the list size
+     */
+    private List<MenuDto> attachStats(List<MenuDto> menus) {
+        if (menus.isEmpty()) {
+            return menus;
+        }
         
-        // Add statistics
-        Double averageRating = feedbackRepository.getAverageRatingForMenu(menu);
-        Long totalFeedbacks = feedbackRepository.countFeedbackForMenu(menu);
+        List<Long> menuIds = menus.stream()
+                .map(MenuDto::getId)
+                .collect(Collectors.toList());
         
-        dto.setAverageRating(averageRating);
-        dto.setTotalFeedbacks(totalFeedbacks);
+        Map<Long, MenuRatingStats> statsByMenuId = ratingAggregateService.getRatingStatsForMenus(menuIds)
+                .stream()
+                .collect(Collectors.toMap(MenuRatingStats::getMenuId, Function.identity()));
         
-        return dto;
+        for (MenuDto menu : menus) {
+            MenuRatingStats stats = statsByMenuId.get(menu.getId());
+            
+            // Menus without feedback have no row in the grouped result
+            menu.setAverageRating(stats != null ? stats.getAverageRating() : null);
+            menu.setTotalFeedbacks(stats != null ? stats.getTotalFeedbacks() : 0L);
+        }
+        return menus;
     }
     
     private List<MenuItemDto> convertMenuItemsToDto(List<MenuItem> menuItems) {
@@ -140,11 +334,27 @@ public class MenuService {
     }
     
     private Menu convertToEntity(MenuDto dto) {
-        return Menu.builder()
+        Menu menu = Menu.builder()
                 .menuDate(dto.getMenuDate())
                 .mealType(dto.getMealType())
                 .specialNotes(dto.getSpecialNotes())
                 .isActive(dto.getIsActive() != null ? dto.getIsActive() : true)
                 .build();
+        
+        if (dto.getMenuItems() != null) {
+            dto.getMenuItems().forEach(item -> menu.addMenuItem(convertMenuItemToEntity(item)));
+        }
+        
+        return menu;
+    }
+    
+    private MenuItem convertMenuItemToEntity(MenuItemDto dto) {
+        return MenuItem.builder()
+                .itemName(dto.getItemName())
+                .description(dto.getDescription())
+                .isVegetarian(dto.getIsVegetarian() != null ? dto.getIsVegetarian() : true)
+                .isAvailable(dto.getIsAvailable() != null ? dto.getIsAvailable() : true)
+                .price(dto.getPrice())
+                .build();
     }
 }
@@ -0,0 +1,153 @@
+package com.hostel.mess.service;
+
+import com.hostel.mess.dto.RatingHistogramDto;
+import com.hostel.mess.model.FeedbackType;
+import com.hostel.mess.model.MenuRatingAggregate;
+import com.hostel.mess.model.RatingTally;
+import com.hostel.mess.repository.MenuRatingAggregateRepository;
+import com.hostel.mess.repository.MenuRatingStats;
+import com.hostel.mess.repository.MenuRepository;
+import com.hostel.mess.repository.FeedbackRepository;
+import com.hostel.mess.repository.RatingBreakdown;
+import com.hostel.mess.repository.SentimentCounts;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Service class maintaining per-menu rating aggregates
+ * Updated in the same transaction as each feedback insert so reads are O(1)
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional
+public class RatingAggregateService {
+    
+    private final MenuRatingAggregateRepository menuRatingAggregateRepository;
+    private final FeedbackRepository feedbackRepository;
+    private final MenuRepository menuRepository;
+    private final AggregateRowCreator aggregateRowCreator;
+    
+    public void recordFeedback(Long menuId, FeedbackType feedbackType, int rating) {
+        recordRatings(menuId, feedbackType, rating, 1);
+    }
+    
+    /**
+     * Adds count ratings of the same value to the (menu, FeedbackType) aggregate,
+     * creating the row in the same transaction if the menu has none yet
+     */
+    public void recordRatings(Long menuId, FeedbackType feedbackType, int rating, long count) {
+        FeedbackType type = feedbackType != null ? feedbackType : FeedbackType.GENERAL;
+        
+        if (menuRatingAggregateRepository.increment(menuId, type, rating, count, LocalDateTime.now()) > 0) {
+            return;
+        }
+        
+        // Rows are created with their menu; this covers menus saved before that or rebuilt away
+        aggregateRowCreator.createMenuAggregate(menuId, type);
+        
+        if (menuRatingAggregateRepository.increment(menuId, type, rating, count, LocalDateTime.now()) == 0) {
+            throw new IllegalStateException("Unable to update rating aggregate for menu " + menuId);
+        }
+    }
+    
+    @Transactional(readOnly = true)
+    public List<MenuRatingStats> getRatingStatsForMenus(Collection<Long> menuIds) {
+        if (menuIds.isEmpty()) {
+            return Collections.emptyList();
+        }
+        return menuRatingAggregateRepository.getRatingStatsForMenus(menuIds);
+    }
+    
+    @Transactional(readOnly = true)
+    public Double getAverageRatingForMenu(Long menuId) {
+        return getRatingStatsForMenus(Collections.singletonList(menuId))
+                .stream()
+                .findFirst()
+                .map(MenuRatingStats::getAverageRating)
+                .orElse(null);
+    }
+    
+    @Transactional(readOnly = true)
+    public SentimentCounts getSentimentCounts() {
+        return menuRatingAggregateRepository.getSentimentCounts();
+    }
+    
+    @Transactional(readOnly = true)
+    public Optional<RatingHistogramDto> getHistogram(Long menuId) {
+        if (!menuRepository.existsById(menuId)) {
+            return Optional.empty();
+        }
+        
+        RatingTally total = new RatingTally();
+        Map<FeedbackType, RatingHistogramDto.TypeStats> byType = new EnumMap<>(FeedbackType.class);
+        
+        for (MenuRatingAggregate aggregate : menuRatingAggregateRepository.findByMenuId(menuId)) {
+            RatingTally tally = aggregate.getTally();
+            if (tally.getFeedbackCount() == 0) {
+                continue;
+            }
+            total.merge(tally);
+            byType.put(aggregate.getFeedbackType(), RatingHistogramDto.TypeStats.builder()
+                    .totalFeedbacks(tally.getFeedbackCount())
+                    .averageRating(tally.getAverageRating())
+                    .starCounts(tally.getHistogram())
+                    .build());
+        }
+        
+        return Optional.of(RatingHistogramDto.builder()
+                .menuId(menuId)
+                .totalFeedbacks(total.getFeedbackCount())
+                .averageRating(total.getAverageRating())
+                .starCounts(total.getHistogram())
+                .byFeedbackType(byType)
+                .build());
+    }
+    
+    /**
+     * Recomputes every aggregate from the raw feedback rows to repair drift.
+     * Intended for quiet periods: submissions racing with a rebuild may be counted twice.
+     */
+    public int rebuildAll() {
+        log.info("Rebuilding menu rating aggregates from feedback rows");
+        
+        Map<Long, Map<FeedbackType, RatingTally>> tallies = new HashMap<>();
+        for (RatingBreakdown row : feedbackRepository.getRatingBreakdown()) {
+            tallies.computeIfAbsent(row.getMenuId(), id -> new EnumMap<>(FeedbackType.class))
+                    .computeIfAbsent(row.getFeedbackType() != null ? row.getFeedbackType() : FeedbackType.GENERAL,
+                            type -> new RatingTally())
+                    .record(row.getRating(), row.getFeedbackCount());
+        }
+        
+        menuRatingAggregateRepository.deleteAllAggregates();
+        
+        // Menus without feedback get empty rows too, so later submissions only update
+        List<MenuRatingAggregate> aggregates = new ArrayList<>();
+        for (Long menuId : menuRepository.findAllIds()) {
+            Map<FeedbackType, RatingTally> byType = tallies.getOrDefault(menuId, Collections.emptyMap());
+            for (FeedbackType feedbackType : FeedbackType.values()) {
+                aggregates.add(MenuRatingAggregate.builder()
+                        .menu(menuRepository.getReferenceById(menuId))
+                        .feedbackType(feedbackType)
+                        .tally(byType.getOrDefault(feedbackType, new RatingTally()))
+                        .build());
+            }
+        }
+        menuRatingAggregateRepository.saveAll(aggregates);
+        
+        log.info("Rebuilt {} menu rating aggregates", aggregates.size());
+        return aggregates.size();
+    }
+}
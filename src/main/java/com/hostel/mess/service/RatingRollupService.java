@@ -0,0 +1,323 @@
+package com.hostel.mess.service;
+
+import com.hostel.mess.dto.RatingTrendPoint;
+import com.hostel.mess.model.FeedbackType;
+import com.hostel.mess.model.MealType;
+import com.hostel.mess.model.RatingRollup;
+import com.hostel.mess.model.RatingRollupWatermark;
+import com.hostel.mess.model.RatingTally;
+import com.hostel.mess.model.RollupLevel;
+import com.hostel.mess.repository.DailyRatingBreakdown;
+import com.hostel.mess.repository.FeedbackRepository;
+import com.hostel.mess.repository.MenuRepository;
+import com.hostel.mess.repository.MenuSlot;
+import com.hostel.mess.repository.RatingRollupRepository;
+import com.hostel.mess.repository.RatingRollupWatermarkRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+
+/**
+ * Service class maintaining time-bucketed rating rollups by menu date, MealType and FeedbackType
+ * 
+ * Daily buckets are incremented with each submission. Compaction folds closed days into
+ * weekly and monthly buckets and stores the day it compacted up to; trend queries read
+ * compacted buckets before that point and fold daily buckets after it. Compaction recomputes
+ * a recent window on every run, so late feedback for older menus is picked up there, and
+ * reaches back to the stored watermark when runs were missed.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional
+public class RatingRollupService {
+    
+    private static final int MAX_TREND_BUCKETS = 400;
+    
+    private final RatingRollupRepository ratingRollupRepository;
+    private final RatingRollupWatermarkRepository ratingRollupWatermarkRepository;
+    private final FeedbackRepository feedbackRepository;
+    private final MenuRepository menuRepository;
+    private final AggregateRowCreator aggregateRowCreator;
+    
+    @Value("${mess.rollups.compaction-lookback-days:35}")
+    private int compactionLookbackDays;
+    
+    @Value("${mess.rollups.daily-retention-days:400}")
+    private int dailyRetentionDays;
+    
+    // Days before this date are folded into the weekly and monthly buckets; null until the first compaction
+    private volatile LocalDate compactedThrough;
+    
+    // Submissions can arrive before the startup compaction, so late ones must already see the stored watermark
+    @PostConstruct
+    void loadWatermark() {
+        compactedThrough = ratingRollupWatermarkRepository.findFirstByOrderByIdAsc()
+                .map(RatingRollupWatermark::getCompactedThrough)
+                .orElse(null);
+    }
+    
+    /**
+     * Adds count ratings of the same value to the daily bucket of the menu date
+     */
+    public void recordRatings(LocalDate menuDate, MealType mealType, FeedbackType feedbackType, int rating, long count) {
+        FeedbackType type = feedbackType != null ? feedbackType : FeedbackType.GENERAL;
+        increment(RollupLevel.DAY, menuDate, mealType, type, rating, count);
+        
+        // Late feedback for a day that is already compacted goes into the coarser buckets as well
+        LocalDate watermark = compactedThrough;
+        if (watermark != null && menuDate.isBefore(watermark)) {
+            increment(RollupLevel.WEEK, RollupLevel.WEEK.bucketStart(menuDate), mealType, type, rating, count);
+            increment(RollupLevel.MONTH, RollupLevel.MONTH.bucketStart(menuDate), mealType, type, rating, count);
+        }
+    }
+    
+    /**
+     * Returns one point per bucket between the dates (inclusive), totalled over the
+     * matching meal and feedback types; a null filter matches every type
+     */
+    @Transactional(readOnly = true)
+    public List<RatingTrendPoint> getTrend(RollupLevel level, LocalDate from, LocalDate to,
+                                           MealType mealType, FeedbackType feedbackType) {
+        if (to.isBefore(from)) {
+            throw new IllegalArgumentException("Trend range ends before it starts");
+        }
+        
+        LocalDate start = level.bucketStart(from);
+        LocalDate end = level.nextBucketStart(level.bucketStart(to));
+        
+        Map<LocalDate, RatingTally> buckets = new TreeMap<>();
+        for (LocalDate bucket = start; bucket.isBefore(end); bucket = level.nextBucketStart(bucket)) {
+            if (buckets.size() == MAX_TREND_BUCKETS) {
+                throw new IllegalArgumentException("Trend range exceeds " + MAX_TREND_BUCKETS + " buckets");
+            }
+            buckets.put(bucket, new RatingTally());
+        }
+        
+        // Buckets wholly before the watermark are complete; later ones are folded from days
+        LocalDate watermark = compactedThrough;
+        LocalDate dailyFrom = start;
+        if (level != RollupLevel.DAY && watermark != null) {
+            LocalDate boundary = level.bucketStart(watermark);
+            LocalDate compactedEnd = boundary.isBefore(end) ? boundary : end;
+            
+            if (start.isBefore(compactedEnd)) {
+                for (RatingRollup rollup : ratingRollupRepository.findBuckets(level, start, compactedEnd, mealType, feedbackType)) {
+                    buckets.get(rollup.getBucketStart()).merge(rollup.getTally());
+                }
+            }
+            dailyFrom = compactedEnd;
+        }
+        
+        if (dailyFrom.isBefore(end)) {
+            for (RatingRollup rollup : ratingRollupRepository.findBuckets(RollupLevel.DAY, dailyFrom, end, mealType, feedbackType)) {
+                buckets.get(level.bucketStart(rollup.getBucketStart())).merge(rollup.getTally());
+            }
+        }
+        
+        List<RatingTrendPoint> trend = new ArrayList<>(buckets.size());
+        buckets.forEach((bucketStart, tally) -> trend.add(RatingTrendPoint.builder()
+                .level(level)
+                .bucketStart(bucketStart)
+                .totalFeedbacks(tally.getFeedbackCount())
+                .averageRating(tally.getAverageRating())
+                .starCounts(tally.getHistogram())
+                .build()));
+        return trend;
+    }
+    
+    /**
+     * Folds closed days into weekly and monthly buckets, recomputing the recent lookback
+     * window and any days since the stored watermark, then drops daily buckets past their retention
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${mess.rollups.compaction-cron:0 15 * * * *}")
+    public void compact() {
+        LocalDate today = LocalDate.now();
+        LocalDate from = today.minusDays(compactionLookbackDays);
+        
+        // Without a watermark nothing has been folded yet, so every daily bucket is compacted
+        LocalDate unfolded = ratingRollupWatermarkRepository.findFirstByOrderByIdAsc()
+                .map(RatingRollupWatermark::getCompactedThrough)
+                .orElseGet(() -> ratingRollupRepository.findEarliestBucketStart(RollupLevel.DAY));
+        if (unfolded != null && unfolded.isBefore(from)) {
+            from = unfolded;
+        }
+        
+        int compacted = compactRange(from, today);
+        pruneDailyBuckets(today);
+        
+        saveWatermark(today);
+        log.info("Compacted {} weekly and monthly rating rollups from {} through {}", compacted, from, today);
+    }
+    
+    /**
+     * Recomputes every bucket from the raw feedback rows to repair drift.
+     * Intended for quiet periods, like the per-menu aggregate rebuild.
+     * 
+     * @return the number of daily buckets written
+     */
+    public int rebuildAll() {
+        log.info("Rebuilding rating rollups from feedback rows");
+        
+        // Every menu slot gets its daily buckets, with or without feedback, so later submissions only update
+        Map<BucketKey, RatingTally> days = new HashMap<>();
+        for (MenuSlot slot : menuRepository.findAllSlots()) {
+            for (FeedbackType type : FeedbackType.values()) {
+                days.put(new BucketKey(slot.getMenuDate(), slot.getMealType(), type), new RatingTally());
+            }
+        }
+        for (DailyRatingBreakdown row : feedbackRepository.getDailyRatingBreakdown()) {
+            FeedbackType type = row.getFeedbackType() != null ? row.getFeedbackType() : FeedbackType.GENERAL;
+            days.computeIfAbsent(new BucketKey(row.getMenuDate(), row.getMealType(), type), key -> new RatingTally())
+                    .record(row.getRating(), row.getFeedbackCount());
+        }
+        
+        ratingRollupRepository.deleteAllRollups();
+        ratingRollupRepository.saveAll(toRollups(RollupLevel.DAY, days));
+        
+        LocalDate today = LocalDate.now();
+        LocalDate earliest = days.keySet().stream()
+                .map(BucketKey::getBucketStart)
+                .min(LocalDate::compareTo)
+                .orElse(today);
+        compactRange(earliest, today);
+        pruneDailyBuckets(today);
+        
+        saveWatermark(today);
+        log.info("Rebuilt {} daily rating rollups", days.size());
+        return days.size();
+    }
+    
+    // Helper methods
+    private void increment(RollupLevel level, LocalDate bucketStart, MealType mealType, FeedbackType feedbackType,
+                           int rating, long count) {
+        if (ratingRollupRepository.increment(level, bucketStart, mealType, feedbackType, rating, count, LocalDateTime.now()) > 0) {
+            return;
+        }
+        
+        // Daily buckets are created with their menu; this covers pruned days and late weekly or monthly totals
+        aggregateRowCreator.createRollup(level, bucketStart, mealType, feedbackType);
+        
+        if (ratingRollupRepository.increment(level, bucketStart, mealType, feedbackType, rating, count, LocalDateTime.now()) == 0) {
+            throw new IllegalStateException("Unable to update rating rollup for " + bucketStart);
+        }
+    }
+    
+    /**
+     * Replaces the weekly and monthly buckets covering days from the given date up to
+     * the exclusive end with sums of the daily buckets
+     */
+    private int compactRange(LocalDate from, LocalDate toExclusive) {
+        LocalDate weekFrom = RollupLevel.WEEK.bucketStart(from);
+        LocalDate monthFrom = RollupLevel.MONTH.bucketStart(from);
+        LocalDate readFrom = weekFrom.isBefore(monthFrom) ? weekFrom : monthFrom;
+        
+        Map<BucketKey, RatingTally> weeks = new HashMap<>();
+        Map<BucketKey, RatingTally> months = new HashMap<>();
+        for (RatingRollup day : ratingRollupRepository.findBuckets(RollupLevel.DAY, readFrom, toExclusive, null, null)) {
+            LocalDate date = day.getBucketStart();
+            if (!date.isBefore(weekFrom)) {
+                weeks.computeIfAbsent(new BucketKey(RollupLevel.WEEK.bucketStart(date), day.getMealType(), day.getFeedbackType()),
+                        key -> new RatingTally()).merge(day.getTally());
+            }
+            if (!date.isBefore(monthFrom)) {
+                months.computeIfAbsent(new BucketKey(RollupLevel.MONTH.bucketStart(date), day.getMealType(), day.getFeedbackType()),
+                        key -> new RatingTally()).merge(day.getTally());
+            }
+        }
+        
+        ratingRollupRepository.deleteFrom(RollupLevel.WEEK, weekFrom);
+        ratingRollupRepository.deleteFrom(RollupLevel.MONTH, monthFrom);
+        ratingRollupRepository.saveAll(toRollups(RollupLevel.WEEK, weeks));
+        ratingRollupRepository.saveAll(toRollups(RollupLevel.MONTH, months));
+        return weeks.size() + months.size();
+    }
+    
+    private void saveWatermark(LocalDate today) {
+        RatingRollupWatermark watermark = ratingRollupWatermarkRepository.findFirstByOrderByIdAsc()
+                .orElseGet(RatingRollupWatermark::new);
+        watermark.setCompactedThrough(today);
+        ratingRollupWatermarkRepository.save(watermark);
+        
+        TransactionCallbacks.afterCommit(() -> compactedThrough = today);
+    }
+    
+    private void pruneDailyBuckets(LocalDate today) {
+        // Keep every day the next compaction may still recompute, including its whole first month and week
+        int retentionDays = Math.max(dailyRetentionDays, compactionLookbackDays + 38);
+        int pruned = ratingRollupRepository.deleteBefore(RollupLevel.DAY, today.minusDays(retentionDays));
+        if (pruned > 0) {
+            log.info("Pruned {} daily rating rollups older than {} days", pruned, retentionDays);
+        }
+    }
+    
+    private List<RatingRollup> toRollups(RollupLevel level, Map<BucketKey, RatingTally> tallies) {
+        List<RatingRollup> rollups = new ArrayList<>(tallies.size());
+        tallies.forEach((key, tally) -> rollups.add(RatingRollup.builder()
+                .level(level)
+                .bucketStart(key.getBucketStart())
+                .mealType(key.getMealType())
+                .feedbackType(key.getFeedbackType())
+                .tally(tally)
+                .build()));
+        return rollups;
+    }
+    
+    private static final class BucketKey {
+        
+        private final LocalDate bucketStart;
+        private final MealType mealType;
+        private final FeedbackType feedbackType;
+        
+        private BucketKey(LocalDate bucketStart, MealType mealType, FeedbackType feedbackType) {
+            this.bucketStart = bucketStart;
+            this.mealType = mealType;
+            this.feedbackType = feedbackType;
+        }
+        
+        private LocalDate getBucketStart() {
+            return bucketStart;
+        }
+        
+        private MealType getMealType() {
+            return mealType;
+        }
+        
+        private FeedbackType getFeedbackType() {
+            return feedbackType;
+        }
+        
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof BucketKey)) {
+                return false;
+            }
+            BucketKey other = (BucketKey) o;
+            return bucketStart.equals(other.bucketStart) && mealType == other.mealType && feedbackType == other.feedbackType;
+        }
+        
+        @Override
+        public int hashCode() {
+            return Objects.hash(bucketStart, mealType, feedbackType);
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package com.hostel.mess.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hostel.mess.dto.ExportFormat;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Writes a stream of rows as CSV or NDJSON directly to an output stream
+ * Rows are written and dropped one at a time, so memory does not grow with the export size
+ */
+@Component
+@RequiredArgsConstructor
+public class RowExporter {
+    
+    // Flush periodically so the client starts receiving data early
+    private static final int FLUSH_EVERY_ROWS = 1000;
+    
+    // Leading characters that make Excel, Sheets and LibreOffice evaluate a cell
+    private static final String FORMULA_PREFIXES = "=+-@\t\r";
+    
+    private final ObjectMapper objectMapper;
+    
+    /**
+     * @return the number of rows written
+     */
+    public <T> long write(Stream<T> rows, List<Column<T>> columns, ExportFormat format, OutputStream out) {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        long count = 0;
+        
+        try {
+            if (format == ExportFormat.CSV) {
+                writeCsvLine(writer, columns.stream().map(Column::getName).iterator());
+            }
+            
+            Iterator<T> iterator = rows.iterator();
+            while (iterator.hasNext()) {
+                T row = iterator.next();
+                if (format == ExportFormat.CSV) {
+                    writeCsvLine(writer, columns.stream().map(column -> column.valueOf(row)).iterator());
+                } else {
+                    writeJsonLine(writer, columns, row);
+                }
+                
+                if (++count % FLUSH_EVERY_ROWS == 0) {
+                    writer.flush();
+                }
+            }
+            writer.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return count;
+    }
+    
+    private void writeCsvLine(Writer writer, Iterator<?> values) throws IOException {
+        boolean first = true;
+        while (values.hasNext()) {
+            if (!first) {
+                writer.write(',');
+            }
+            writer.write(escapeCsv(values.next()));
+            first = false;
+        }
+        writer.write("\r\n");
+    }
+    
+    private <T> void writeJsonLine(Writer writer, List<Column<T>> columns, T row) throws IOException {
+        Map<String, Object> values = new LinkedHashMap<>();
+        for (Column<T> column : columns) {
+            values.put(column.getName(), column.valueOf(row));
+        }
+        writer.write(objectMapper.writeValueAsString(values));
+        writer.write('\n');
+    }
+    
+    /**
+     * Quotes cells that need it, and prefixes text a spreadsheet would run as a formula
+     * with an apostrophe so student-supplied comments open as plain text
+     */
+    private String escapeCsv(Object value) {
+        if (value == null) {
+            return "";
+        }
+        String text = value.toString();
+        boolean formula = !(value instanceof Number) && !text.isEmpty()
+                && FORMULA_PREFIXES.indexOf(text.charAt(0)) >= 0;
+        if (!formula && text.indexOf(',') < 0 && text.indexOf('"') < 0
+                && text.indexOf('\n') < 0 && text.indexOf('\r') < 0) {
+            return text;
+        }
+        return '"' + (formula ? "'" : "") + text.replace("\"", "\"\"") + '"';
+    }
+    
+    /**
+     * A named export column and how to read it from a row
+     */
+    public static final class Column<T> {
+        
+        private final String name;
+        private final Function<T, ?> accessor;
+        
+        private Column(String name, Function<T, ?> accessor) {
+            this.name = name;
+            this.accessor = accessor;
+        }
+        
+        public static <T> Column<T> of(String name, Function<T, ?> accessor) {
+            return new Column<>(name, accessor);
+        }
+        
+        public String getName() {
+            return name;
+        }
+        
+        Object valueOf(T row) {
+            return accessor.apply(row);
+        }
+    }
+}
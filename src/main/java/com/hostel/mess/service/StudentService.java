@@ -1,10 +1,13 @@
 package com.hostel.mess.service;
 
+import com.hostel.mess.dto.CursorPage;
+import com.hostel.mess.dto.PageCursor;
 import com.hostel.mess.dto.StudentDto;
 import com.hostel.mess.model.Student;
 import com.hostel.mess.repository.StudentRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -54,11 +57,20 @@ public class StudentService {
     }
     
     @Transactional(readOnly = true)
-    public List<StudentDto> getAllActiveStudents() {
-        return studentRepository.findByIsActiveTrue()
-                .stream()
-                .map(this::convertToDto)
-                .collect(Collectors.toList());
+    public CursorPage<StudentDto> getAllActiveStudents(String cursor, Integer size) {
+        int pageSize = CursorPage.resolvePageSize(size);
+        PageRequest limit = PageRequest.of(0, pageSize + 1);
+        
+        List<Student> students;
+        if (cursor == null) {
+            students = studentRepository.findActiveStudents(limit);
+        } else {
+            PageCursor position = PageCursor.decode(cursor);
+            students = studentRepository.findActiveStudentsAfter(position.sortKeyAsDateTime(), position.getId(), limit);
+        }
+        
+        return CursorPage.fromRows(students, pageSize, this::convertToDtos,
+                student -> PageCursor.of(student.getCreatedAt(), student.getId()));
     }
     
     public StudentDto updateStudent(Long id, StudentDto studentDto) {
@@ -92,6 +104,12 @@ public class StudentService {
     }
     
     // Helper methods demonstrating encapsulation
+    private List<StudentDto> convertToDtos(List<Student> students) {
+        return students.stream()
+                .map(this::convertToDto)
+                .collect(Collectors.toList());
+    }
+    
     private StudentDto convertToDto(Student student) {
         return StudentDto.builder()
                 .id(student.getId())
@@ -0,0 +1,167 @@
+package com.hostel.mess.service;
+
+import com.hostel.mess.service.support.TokenBucket;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.env.Environment;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Per-student token buckets in front of the submission endpoints
+ * 
+ * Checked by the controllers before any service or repository call. Buckets that have
+ * refilled completely are evicted by a periodic sweep, since a full bucket behaves like
+ * a new one. Each endpoint tracks at most max-students buckets; a new student arriving
+ * at the cap triggers an early sweep, and is rejected if every tracked bucket is still
+ * in use, so flooding the map with ids never switches limiting off.
+ */
+@Component
+@Slf4j
+public class SubmissionRateLimiter {
+    
+    // Bounds the full sweeps new students can trigger while the map is at capacity
+    private static final long CAPACITY_SWEEP_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(1);
+    
+    public enum Endpoint {
+        FEEDBACK("feedback", 5, 5),
+        FEEDBACK_ASYNC("feedback-async", 10, 10),
+        COMPLAINT("complaint", 3, 3);
+        
+        private final String propertyKey;
+        private final long defaultCapacity;
+        private final long defaultRefillPerMinute;
+        
+        Endpoint(String propertyKey, long defaultCapacity, long defaultRefillPerMinute) {
+            this.propertyKey = propertyKey;
+            this.defaultCapacity = defaultCapacity;
+            this.defaultRefillPerMinute = defaultRefillPerMinute;
+        }
+    }
+    
+    private final Map<Endpoint, Limit> limits = new EnumMap<>(Endpoint.class);
+    private final int maxStudents;
+    
+    public SubmissionRateLimiter(Environment environment) {
+        this.maxStudents = environment.getProperty("mess.rate-limit.max-students", Integer.class, 10000);
+        
+        for (Endpoint endpoint : Endpoint.values()) {
+            String prefix = "mess.rate-limit." + endpoint.propertyKey;
+            long capacity = environment.getProperty(prefix + ".capacity", Long.class, endpoint.defaultCapacity);
+            long refillPerMinute = environment.getProperty(prefix + ".refill-per-minute", Long.class,
+                    endpoint.defaultRefillPerMinute);
+            if (capacity > 0 && refillPerMinute <= 0) {
+                throw new IllegalArgumentException(prefix + ".refill-per-minute must be positive");
+            }
+            limits.put(endpoint, new Limit(capacity, refillPerMinute));
+            log.info("Rate limit for {}: burst {}, {} per minute", endpoint, capacity, refillPerMinute);
+        }
+    }
+    
+    /**
+     * Takes a token for the student on the endpoint
+     * 
+     * @return 0 if the request may proceed, otherwise the seconds to wait before retrying
+     */
+    public long acquire(Endpoint endpoint, Long studentId) {
+        Limit limit = limits.get(endpoint);
+        if (studentId == null || limit.capacity <= 0) {
+            return 0;
+        }
+        
+        long now = System.nanoTime();
+        TokenBucket bucket = limit.buckets.get(studentId);
+        if (bucket == null) {
+            if (limit.buckets.size() >= maxStudents && !makeRoom(limit, now)) {
+                limit.rejectedAtCapacity.incrementAndGet();
+                return limit.secondsPerToken;
+            }
+            bucket = limit.buckets.computeIfAbsent(studentId, id -> new TokenBucket(limit.capacity, limit.tokensPerNano, now));
+        }
+        
+        long waitNanos = bucket.tryConsume(now);
+        if (waitNanos == 0) {
+            limit.allowed.incrementAndGet();
+            return 0;
+        }
+        limit.rejected.incrementAndGet();
+        return Math.max(1, (long) Math.ceil(waitNanos / (double) TimeUnit.SECONDS.toNanos(1)));
+    }
+    
+    @Scheduled(fixedDelayString = "${mess.rate-limit.sweep-interval-ms:60000}")
+    public void evictIdleBuckets() {
+        long now = System.nanoTime();
+        int evicted = 0;
+        for (Limit limit : limits.values()) {
+            evicted += evictFull(limit, now);
+        }
+        if (evicted > 0) {
+            log.debug("Evicted {} idle rate limit buckets", evicted);
+        }
+    }
+    
+    public Map<String, Map<String, Long>> getStatistics() {
+        Map<String, Map<String, Long>> stats = new LinkedHashMap<>();
+        limits.forEach((endpoint, limit) -> {
+            Map<String, Long> endpointStats = new LinkedHashMap<>();
+            endpointStats.put("capacity", limit.capacity);
+            endpointStats.put("refillPerMinute", limit.refillPerMinute);
+            endpointStats.put("allowed", limit.allowed.get());
+            endpointStats.put("rejected", limit.rejected.get());
+            endpointStats.put("rejectedAtCapacity", limit.rejectedAtCapacity.get());
+            endpointStats.put("trackedStudents", (long) limit.buckets.size());
+            stats.put(endpoint.propertyKey, endpointStats);
+        });
+        return stats;
+    }
+    
+    // Helper methods
+    /**
+     * Sweeps idle buckets early when a new student arrives at capacity, at most once per interval
+     * 
+     * @return true if there is room for another bucket
+     */
+    private boolean makeRoom(Limit limit, long now) {
+        long lastSweep = limit.lastCapacitySweepNanos.get();
+        if (now - lastSweep >= CAPACITY_SWEEP_INTERVAL_NANOS
+                && limit.lastCapacitySweepNanos.compareAndSet(lastSweep, now)) {
+            int evicted = evictFull(limit, now);
+            log.debug("Rate limit buckets at capacity, evicted {} idle buckets", evicted);
+        }
+        return limit.buckets.size() < maxStudents;
+    }
+    
+    private static int evictFull(Limit limit, long now) {
+        int before = limit.buckets.size();
+        limit.buckets.values().removeIf(bucket -> bucket.isFull(now));
+        return before - limit.buckets.size();
+    }
+    
+    private static final class Limit {
+        
+        private final long capacity;
+        private final long refillPerMinute;
+        private final double tokensPerNano;
+        private final ConcurrentMap<Long, TokenBucket> buckets = new ConcurrentHashMap<>();
+        private final AtomicLong allowed = new AtomicLong();
+        private final AtomicLong rejected = new AtomicLong();
+        private final AtomicLong rejectedAtCapacity = new AtomicLong();
+        private final AtomicLong lastCapacitySweepNanos = new AtomicLong(System.nanoTime() - CAPACITY_SWEEP_INTERVAL_NANOS);
+        // Retry-After for students rejected at capacity: long enough for a tracked bucket to gain a token
+        private final long secondsPerToken;
+        
+        private Limit(long capacity, long refillPerMinute) {
+            this.capacity = capacity;
+            this.refillPerMinute = refillPerMinute;
+            this.tokensPerNano = (double) refillPerMinute / TimeUnit.MINUTES.toNanos(1);
+            this.secondsPerToken = refillPerMinute > 0 ? Math.max(1, (long) Math.ceil(60.0 / refillPerMinute)) : 1;
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.hostel.mess.service.support;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Fixed-size frequency sketch over strings
+ * Estimates never undercount; overcounting is bounded by the total count divided by the width.
+ * Not thread-safe.
+ */
+public class CountMinSketch {
+    
+    private final int depth;
+    private final int width;
+    private final int[][] counters;
+    private long totalCount;
+    
+    public CountMinSketch(int depth, int width) {
+        if (depth < 1 || width < 1) {
+            throw new IllegalArgumentException("Sketch depth and width must be positive");
+        }
+        this.depth = depth;
+        this.width = width;
+        this.counters = new int[depth][width];
+    }
+    
+    /**
+     * Adds one occurrence and returns the new estimate
+     */
+    public long add(String item) {
+        long hash = hash(item);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        
+        long estimate = Long.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            int column = Math.floorMod(h1 + row * h2, width);
+            if (counters[row][column] < Integer.MAX_VALUE) {
+                counters[row][column]++;
+            }
+            estimate = Math.min(estimate, counters[row][column]);
+        }
+        totalCount++;
+        return estimate;
+    }
+    
+    public long estimate(String item) {
+        long hash = hash(item);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        
+        long estimate = Long.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            estimate = Math.min(estimate, counters[row][Math.floorMod(h1 + row * h2, width)]);
+        }
+        return estimate;
+    }
+    
+    public long getTotalCount() {
+        return totalCount;
+    }
+    
+    // 64-bit FNV-1a; the two halves drive double hashing across the rows
+    private static long hash(String item) {
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : item.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b;
+            hash *= 0x100000001b3L;
+        }
+        return hash ^ (hash >>> 29);
+    }
+}
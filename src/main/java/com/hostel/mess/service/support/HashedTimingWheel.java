@@ -0,0 +1,221 @@
+package com.hostel.mess.service.support;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Hashed timing wheel for large numbers of coarse deadlines
+ * 
+ * Scheduling and cancelling are O(1): callers only enqueue, and a single worker thread
+ * moves new timeouts into their slot, unlinks cancelled ones and expires a slot per tick.
+ * Deadlines further out than one rotation wait in their slot for the remaining rounds.
+ * All payloads expiring on the same tick are handed to the handler as one batch.
+ */
+@Slf4j
+public class HashedTimingWheel<T> {
+    
+    private static final int INIT = 0;
+    private static final int CANCELLED = 1;
+    private static final int EXPIRED = 2;
+    
+    private final long tickNanos;
+    private final Slot<T>[] wheel;
+    private final Consumer<List<T>> expiredHandler;
+    private final Thread worker;
+    
+    private final Queue<Timeout<T>> pending = new ConcurrentLinkedQueue<>();
+    private final Queue<Timeout<T>> cancelled = new ConcurrentLinkedQueue<>();
+    
+    private final long startNanos = System.nanoTime();
+    private volatile boolean running;
+    private long tick;
+    
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public HashedTimingWheel(long tickDuration, TimeUnit unit, int wheelSize,
+                             Consumer<List<T>> expiredHandler, String threadName) {
+        if (tickDuration <= 0 || wheelSize <= 0) {
+            throw new IllegalArgumentException("Tick duration and wheel size must be positive");
+        }
+        this.tickNanos = unit.toNanos(tickDuration);
+        this.wheel = new Slot[wheelSize];
+        for (int i = 0; i < wheelSize; i++) {
+            wheel[i] = new Slot<>();
+        }
+        this.expiredHandler = expiredHandler;
+        this.worker = new Thread(this::run, threadName);
+        this.worker.setDaemon(true);
+    }
+    
+    public void start() {
+        running = true;
+        worker.start();
+    }
+    
+    public void stop() throws InterruptedException {
+        running = false;
+        worker.interrupt();
+        worker.join(TimeUnit.SECONDS.toMillis(5));
+    }
+    
+    public Timeout<T> schedule(T payload, long delay, TimeUnit unit) {
+        long deadline = System.nanoTime() - startNanos + Math.max(0, unit.toNanos(delay));
+        Timeout<T> timeout = new Timeout<>(this, payload, deadline);
+        pending.add(timeout);
+        return timeout;
+    }
+    
+    private void run() {
+        while (running) {
+            long tickDeadline = tickNanos * (tick + 1);
+            long sleepNanos = tickDeadline - (System.nanoTime() - startNanos);
+            if (sleepNanos > 0) {
+                try {
+                    TimeUnit.NANOSECONDS.sleep(sleepNanos);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+            
+            removeCancelled();
+            transferPending();
+            
+            Slot<T> slot = wheel[(int) (tick % wheel.length)];
+            List<T> expired = slot.expire(tickDeadline);
+            tick++;
+            
+            if (!expired.isEmpty()) {
+                try {
+                    expiredHandler.accept(expired);
+                } catch (RuntimeException e) {
+                    // A failing batch must not stop the wheel
+                    log.error("Timing wheel handler failed for {} timeouts: {}", expired.size(), e.getMessage());
+                }
+            }
+        }
+    }
+    
+    private void transferPending() {
+        Timeout<T> timeout;
+        while ((timeout = pending.poll()) != null) {
+            if (timeout.state.get() == CANCELLED) {
+                continue;
+            }
+            long ticks = Math.max(timeout.deadline / tickNanos, tick);
+            timeout.remainingRounds = (ticks - tick) / wheel.length;
+            wheel[(int) (ticks % wheel.length)].add(timeout);
+        }
+    }
+    
+    private void removeCancelled() {
+        Timeout<T> timeout;
+        while ((timeout = cancelled.poll()) != null) {
+            if (timeout.slot != null) {
+                timeout.slot.remove(timeout);
+            }
+        }
+    }
+    
+    /**
+     * Handle to a scheduled payload
+     */
+    public static final class Timeout<T> {
+        
+        private final HashedTimingWheel<T> owner;
+        private final T payload;
+        private final long deadline;
+        private final AtomicInteger state = new AtomicInteger(INIT);
+        
+        // Only touched by the worker thread
+        private long remainingRounds;
+        private Slot<T> slot;
+        private Timeout<T> previous;
+        private Timeout<T> next;
+        
+        private Timeout(HashedTimingWheel<T> owner, T payload, long deadline) {
+            this.owner = owner;
+            this.payload = payload;
+            this.deadline = deadline;
+        }
+        
+        /**
+         * @return true if the timeout had not fired or been cancelled yet
+         */
+        public boolean cancel() {
+            if (!state.compareAndSet(INIT, CANCELLED)) {
+                return false;
+            }
+            owner.cancelled.add(this);
+            return true;
+        }
+        
+        public boolean isExpired() {
+            return state.get() == EXPIRED;
+        }
+        
+        public T getPayload() {
+            return payload;
+        }
+    }
+    
+    // Doubly linked list of timeouts, only touched by the worker thread
+    private static final class Slot<T> {
+        
+        private Timeout<T> head;
+        private Timeout<T> tail;
+        
+        private void add(Timeout<T> timeout) {
+            timeout.slot = this;
+            if (head == null) {
+                head = tail = timeout;
+            } else {
+                tail.next = timeout;
+                timeout.previous = tail;
+                tail = timeout;
+            }
+        }
+        
+        private void remove(Timeout<T> timeout) {
+            if (timeout.previous != null) {
+                timeout.previous.next = timeout.next;
+            } else {
+                head = timeout.next;
+            }
+            if (timeout.next != null) {
+                timeout.next.previous = timeout.previous;
+            } else {
+                tail = timeout.previous;
+            }
+            timeout.previous = null;
+            timeout.next = null;
+            timeout.slot = null;
+        }
+        
+        private List<T> expire(long tickDeadline) {
+            List<T> expired = new ArrayList<>();
+            Timeout<T> timeout = head;
+            while (timeout != null) {
+                Timeout<T> next = timeout.next;
+                if (timeout.state.get() == CANCELLED) {
+                    remove(timeout);
+                } else if (timeout.remainingRounds <= 0 && timeout.deadline <= tickDeadline) {
+                    remove(timeout);
+                    if (timeout.state.compareAndSet(INIT, EXPIRED)) {
+                        expired.add(timeout.payload);
+                    }
+                } else {
+                    timeout.remainingRounds--;
+                }
+                timeout = next;
+            }
+            return expired;
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.hostel.mess.service.support;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+/**
+ * Approximate top-k items of a stream in bounded memory
+ * A count-min sketch estimates every item's frequency and a min-heap keeps the k best candidates.
+ * Not thread-safe.
+ */
+public class HeavyHitters {
+    
+    private final int capacity;
+    private final CountMinSketch sketch;
+    
+    // Candidate estimates plus a min-heap over them; stale heap entries are skipped lazily
+    private final Map<String, Long> candidates = new HashMap<>();
+    private final PriorityQueue<Candidate> heap = new PriorityQueue<>();
+    
+    public HeavyHitters(int capacity, int sketchDepth, int sketchWidth) {
+        this.capacity = capacity;
+        this.sketch = new CountMinSketch(sketchDepth, sketchWidth);
+    }
+    
+    public void add(String item) {
+        long estimate = sketch.add(item);
+        
+        if (candidates.containsKey(item)) {
+            candidates.put(item, estimate);
+            heap.add(new Candidate(item, estimate));
+        } else if (candidates.size() < capacity) {
+            candidates.put(item, estimate);
+            heap.add(new Candidate(item, estimate));
+        } else {
+            Candidate weakest = peekWeakest();
+            if (weakest != null && estimate > weakest.count) {
+                heap.poll();
+                candidates.remove(weakest.item);
+                candidates.put(item, estimate);
+                heap.add(new Candidate(item, estimate));
+            }
+        }
+        
+        // Keep the lazy heap from growing without bound
+        if (heap.size() > capacity * 4) {
+            heap.clear();
+            candidates.forEach((key, count) -> heap.add(new Candidate(key, count)));
+        }
+    }
+    
+    /**
+     * Returns up to limit items with their estimated counts, most frequent first
+     */
+    public Map<String, Long> top(int limit) {
+        List<Map.Entry<String, Long>> entries = new ArrayList<>(candidates.entrySet());
+        entries.sort(Map.Entry.<String, Long>comparingByValue().reversed().thenComparing(Map.Entry.comparingByKey()));
+        
+        Map<String, Long> top = new LinkedHashMap<>();
+        for (Map.Entry<String, Long> entry : entries.subList(0, Math.min(limit, entries.size()))) {
+            top.put(entry.getKey(), entry.getValue());
+        }
+        return top;
+    }
+    
+    public long getTotalCount() {
+        return sketch.getTotalCount();
+    }
+    
+    private Candidate peekWeakest() {
+        while (!heap.isEmpty()) {
+            Candidate head = heap.peek();
+            Long current = candidates.get(head.item);
+            if (current != null && current == head.count) {
+                return head;
+            }
+            heap.poll();
+        }
+        return null;
+    }
+    
+    private static final class Candidate implements Comparable<Candidate> {
+        
+        private final String item;
+        private final long count;
+        
+        private Candidate(String item, long count) {
+            this.item = item;
+            this.count = count;
+        }
+        
+        @Override
+        public int compareTo(Candidate other) {
+            return Long.compare(count, other.count);
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.hostel.mess.service.support;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * MinHash signatures over word shingles
+ * The share of equal positions in two signatures estimates the Jaccard similarity of
+ * their shingle sets. Seeds are fixed, so signatures are stable across restarts.
+ */
+public class MinHasher {
+    
+    private final long[] seeds;
+    
+    public MinHasher(int numHashes) {
+        if (numHashes < 1) {
+            throw new IllegalArgumentException("Number of hashes must be positive");
+        }
+        this.seeds = new long[numHashes];
+        long seed = 0x9e3779b97f4a7c15L;
+        for (int i = 0; i < numHashes; i++) {
+            seed = mix(seed + i);
+            seeds[i] = seed;
+        }
+    }
+    
+    /**
+     * Single words plus adjacent word pairs, so shared phrases weigh more than shared vocabulary
+     */
+    public static Set<String> shingles(List<String> tokens) {
+        Set<String> shingles = new HashSet<>(tokens);
+        for (int i = 1; i < tokens.size(); i++) {
+            shingles.add(tokens.get(i - 1) + ' ' + tokens.get(i));
+        }
+        return shingles;
+    }
+    
+    /**
+     * @return the signature, or null when there are no shingles to sign
+     */
+    public int[] signature(Set<String> shingles) {
+        if (shingles.isEmpty()) {
+            return null;
+        }
+        
+        int[] signature = new int[seeds.length];
+        Arrays.fill(signature, Integer.MAX_VALUE);
+        for (String shingle : shingles) {
+            long hash = hash(shingle);
+            for (int i = 0; i < seeds.length; i++) {
+                int value = (int) (mix(hash ^ seeds[i]) >>> 33);
+                if (value < signature[i]) {
+                    signature[i] = value;
+                }
+            }
+        }
+        return signature;
+    }
+    
+    public static double similarity(int[] a, int[] b) {
+        int equal = 0;
+        for (int i = 0; i < a.length; i++) {
+            if (a[i] == b[i]) {
+                equal++;
+            }
+        }
+        return (double) equal / a.length;
+    }
+    
+    // 64-bit FNV-1a
+    private static long hash(String item) {
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : item.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b;
+            hash *= 0x100000001b3L;
+        }
+        return hash;
+    }
+    
+    // SplitMix64 finalizer: turns one hash into independent-looking values per seed
+    private static long mix(long value) {
+        value = (value ^ (value >>> 30)) * 0xbf58476d1ce4e5b9L;
+        value = (value ^ (value >>> 27)) * 0x94d049bb133111ebL;
+        return value ^ (value >>> 31);
+    }
+}
@@ -0,0 +1,118 @@
+package com.hostel.mess.service.support;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free sliding window of ratings over the last N minutes
+ * A ring of per-minute buckets is indexed by minute; a stale bucket is replaced with a
+ * compare-and-set, and counts within a bucket are LongAdders, so concurrent recorders
+ * never block each other.
+ */
+public class SlidingWindowRatings {
+    
+    private final int windowMinutes;
+    private final AtomicReferenceArray<MinuteBucket> ring;
+    
+    public SlidingWindowRatings(int windowMinutes) {
+        if (windowMinutes < 1) {
+            throw new IllegalArgumentException("Window must span at least one minute");
+        }
+        this.windowMinutes = windowMinutes;
+        this.ring = new AtomicReferenceArray<>(windowMinutes);
+    }
+    
+    public void record(long epochMinute, int rating, boolean negative) {
+        MinuteBucket bucket = bucketFor(epochMinute);
+        bucket.count.increment();
+        bucket.ratingSum.add(rating);
+        if (negative) {
+            bucket.negativeCount.increment();
+        }
+    }
+    
+    /**
+     * Sums the buckets of the window ending at the given minute
+     */
+    public Totals totals(long epochMinute) {
+        long count = 0;
+        long ratingSum = 0;
+        long negativeCount = 0;
+        
+        for (int i = 0; i < windowMinutes; i++) {
+            MinuteBucket bucket = ring.get(i);
+            if (bucket != null && bucket.minute <= epochMinute && bucket.minute > epochMinute - windowMinutes) {
+                count += bucket.count.sum();
+                ratingSum += bucket.ratingSum.sum();
+                negativeCount += bucket.negativeCount.sum();
+            }
+        }
+        return new Totals(count, ratingSum, negativeCount);
+    }
+    
+    public int getWindowMinutes() {
+        return windowMinutes;
+    }
+    
+    private MinuteBucket bucketFor(long epochMinute) {
+        int index = (int) Math.floorMod(epochMinute, (long) windowMinutes);
+        while (true) {
+            MinuteBucket current = ring.get(index);
+            if (current != null && current.minute == epochMinute) {
+                return current;
+            }
+            // A bucket from a later minute means this record arrived too late to matter
+            if (current != null && current.minute > epochMinute) {
+                return new MinuteBucket(epochMinute);
+            }
+            MinuteBucket fresh = new MinuteBucket(epochMinute);
+            if (ring.compareAndSet(index, current, fresh)) {
+                return fresh;
+            }
+        }
+    }
+    
+    private static final class MinuteBucket {
+        
+        private final long minute;
+        private final LongAdder count = new LongAdder();
+        private final LongAdder ratingSum = new LongAdder();
+        private final LongAdder negativeCount = new LongAdder();
+        
+        private MinuteBucket(long minute) {
+            this.minute = minute;
+        }
+    }
+    
+    /**
+     * Point-in-time sums over the window
+     */
+    public static final class Totals {
+        
+        private final long count;
+        private final long ratingSum;
+        private final long negativeCount;
+        
+        private Totals(long count, long ratingSum, long negativeCount) {
+            this.count = count;
+            this.ratingSum = ratingSum;
+            this.negativeCount = negativeCount;
+        }
+        
+        public long getCount() {
+            return count;
+        }
+        
+        public long getNegativeCount() {
+            return negativeCount;
+        }
+        
+        public Double getAverageRating() {
+            return count > 0 ? (double) ratingSum / count : null;
+        }
+        
+        public double getNegativeShare() {
+            return count > 0 ? (double) negativeCount / count : 0.0;
+        }
+    }
+}
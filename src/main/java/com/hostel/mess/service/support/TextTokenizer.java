@@ -0,0 +1,74 @@
+package com.hostel.mess.service.support;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Splits free text into normalized keywords
+ * Lower-cases, strips accents, drops stop words and very short tokens, and folds simple plurals
+ */
+public final class TextTokenizer {
+    
+    private static final int MIN_TOKEN_LENGTH = 3;
+    private static final int MAX_TOKEN_LENGTH = 40;
+    
+    private static final Set<String> STOP_WORDS = Set.of(
+            "the", "and", "for", "are", "was", "were", "but", "not", "this", "that", "with", "have",
+            "has", "had", "you", "your", "our", "they", "them", "their", "there", "then", "than",
+            "too", "very", "all", "any", "can", "could", "would", "should", "will", "just", "also",
+            "from", "into", "about", "been", "being", "what", "when", "which", "who", "why", "how",
+            "its", "it's", "his", "her", "she", "him", "out", "off", "over", "only", "some", "such",
+            "more", "most", "much", "many", "again", "even", "get", "got", "did", "does", "doing",
+            "today", "yesterday", "always", "never", "really", "please", "thanks", "thank", "one");
+    
+    private TextTokenizer() {
+    }
+    
+    public static List<String> tokenize(String text) {
+        if (text == null || text.isBlank()) {
+            return Collections.emptyList();
+        }
+        
+        String normalized = Normalizer.normalize(text, Normalizer.Form.NFKD)
+                .replaceAll("\\p{M}+", "")
+                .toLowerCase(Locale.ROOT);
+        
+        List<String> tokens = new ArrayList<>();
+        for (String raw : normalized.split("[^\\p{L}\\p{Nd}']+")) {
+            String token = stripApostrophes(raw);
+            if (token.length() < MIN_TOKEN_LENGTH || token.length() > MAX_TOKEN_LENGTH
+                    || STOP_WORDS.contains(token) || isNumber(token)) {
+                continue;
+            }
+            tokens.add(singular(token));
+        }
+        return tokens;
+    }
+    
+    private static String stripApostrophes(String token) {
+        int end = token.indexOf('\'');
+        return end >= 0 ? token.substring(0, end) : token;
+    }
+    
+    private static boolean isNumber(String token) {
+        return token.chars().allMatch(Character::isDigit);
+    }
+    
+    // Folds "chapatis" into "chapati" and "dishes" into "dish" so counts are not split
+    private static String singular(String token) {
+        if (token.length() > 4 && token.endsWith("ies")) {
+            return token.substring(0, token.length() - 3) + "y";
+        }
+        if (token.length() > 4 && (token.endsWith("shes") || token.endsWith("ches") || token.endsWith("xes"))) {
+            return token.substring(0, token.length() - 2);
+        }
+        if (token.length() > 3 && token.endsWith("s") && !token.endsWith("ss") && !token.endsWith("us")) {
+            return token.substring(0, token.length() - 1);
+        }
+        return token;
+    }
+}
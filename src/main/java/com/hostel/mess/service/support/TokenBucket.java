@@ -0,0 +1,51 @@
+package com.hostel.mess.service.support;
+
+/**
+ * Token bucket refilled continuously at a fixed rate
+ * Synchronized per instance; each bucket belongs to one client, so contention is negligible.
+ */
+public class TokenBucket {
+    
+    private final long capacity;
+    private final double tokensPerNano;
+    
+    private double tokens;
+    private long lastRefillNanos;
+    
+    public TokenBucket(long capacity, double tokensPerNano, long nowNanos) {
+        this.capacity = capacity;
+        this.tokensPerNano = tokensPerNano;
+        this.tokens = capacity;
+        this.lastRefillNanos = nowNanos;
+    }
+    
+    /**
+     * Takes one token if available
+     * 
+     * @return 0 if a token was taken, otherwise the nanoseconds until one will be available
+     */
+    public synchronized long tryConsume(long nowNanos) {
+        refill(nowNanos);
+        if (tokens >= 1) {
+            tokens -= 1;
+            return 0;
+        }
+        return (long) Math.ceil((1 - tokens) / tokensPerNano);
+    }
+    
+    /**
+     * A bucket that has refilled completely behaves exactly like a new one and can be dropped
+     */
+    public synchronized boolean isFull(long nowNanos) {
+        refill(nowNanos);
+        return tokens >= capacity;
+    }
+    
+    private void refill(long nowNanos) {
+        long elapsed = nowNanos - lastRefillNanos;
+        if (elapsed > 0) {
+            tokens = Math.min(capacity, tokens + elapsed * tokensPerNano);
+            lastRefillNanos = nowNanos;
+        }
+    }
+}
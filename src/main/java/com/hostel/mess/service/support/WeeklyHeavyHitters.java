@@ -0,0 +1,91 @@
+package com.hostel.mess.service.support;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * Heavy-hitter sketches for the current and previous week (Monday to Sunday)
+ * Older weeks are discarded, so memory stays at two sketches per instance.
+ * Methods are synchronized: one writer thread and occasional readers.
+ */
+public class WeeklyHeavyHitters {
+    
+    private final int capacity;
+    private final int sketchDepth;
+    private final int sketchWidth;
+    
+    private LocalDate currentWeek;
+    private HeavyHitters current;
+    private HeavyHitters previous;
+    
+    public WeeklyHeavyHitters(int capacity, int sketchDepth, int sketchWidth) {
+        this.capacity = capacity;
+        this.sketchDepth = sketchDepth;
+        this.sketchWidth = sketchWidth;
+    }
+    
+    public static LocalDate weekOf(LocalDate date) {
+        return date.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+    }
+    
+    /**
+     * Counts the keywords in the week of the given date; keywords older than the previous week are ignored
+     */
+    public synchronized void addAll(LocalDate date, Iterable<String> keywords) {
+        LocalDate week = weekOf(date);
+        rollTo(week);
+        
+        HeavyHitters target;
+        if (week.equals(currentWeek)) {
+            target = current;
+        } else if (week.equals(currentWeek.minusWeeks(1))) {
+            if (previous == null) {
+                previous = newSketch();
+            }
+            target = previous;
+        } else {
+            return;
+        }
+        
+        for (String keyword : keywords) {
+            target.add(keyword);
+        }
+    }
+    
+    public synchronized Map<String, Long> top(LocalDate week, int limit) {
+        HeavyHitters sketch = sketchFor(week);
+        return sketch != null ? sketch.top(limit) : Collections.emptyMap();
+    }
+    
+    public synchronized long getTotalCount(LocalDate week) {
+        HeavyHitters sketch = sketchFor(week);
+        return sketch != null ? sketch.getTotalCount() : 0;
+    }
+    
+    private HeavyHitters sketchFor(LocalDate week) {
+        rollTo(weekOf(LocalDate.now()));
+        if (week.equals(currentWeek)) {
+            return current;
+        }
+        return week.equals(currentWeek.minusWeeks(1)) ? previous : null;
+    }
+    
+    // Moves the window forward when a later week starts; never moves it back
+    private void rollTo(LocalDate week) {
+        if (currentWeek == null) {
+            currentWeek = week;
+            current = newSketch();
+        } else if (week.isAfter(currentWeek)) {
+            previous = week.equals(currentWeek.plusWeeks(1)) ? current : null;
+            current = newSketch();
+            currentWeek = week;
+        }
+    }
+    
+    private HeavyHitters newSketch() {
+        return new HeavyHitters(capacity, sketchDepth, sketchWidth);
+    }
+}
@@ -0,0 +1,27 @@
+-- Migrates an existing PostgreSQL database from IDENTITY ids to the pooled
+-- per-entity sequences used by BaseEntity (GenerationType.SEQUENCE).
+-- Hibernate names each sequence after the entity's table with a _seq suffix.
+--
+-- Hibernate's pooled optimizer reserves blocks of 50 ids per sequence call, so
+-- each sequence must increment by 50 and start at least 50 above the current
+-- maximum id to guarantee the first block cannot overlap existing rows.
+
+CREATE SEQUENCE IF NOT EXISTS students_seq INCREMENT BY 50;
+SELECT setval('students_seq', COALESCE((SELECT MAX(id) FROM students), 0) + 51, false);
+ALTER TABLE students ALTER COLUMN id DROP IDENTITY IF EXISTS;
+
+CREATE SEQUENCE IF NOT EXISTS menus_seq INCREMENT BY 50;
+SELECT setval('menus_seq', COALESCE((SELECT MAX(id) FROM menus), 0) + 51, false);
+ALTER TABLE menus ALTER COLUMN id DROP IDENTITY IF EXISTS;
+
+CREATE SEQUENCE IF NOT EXISTS menu_items_seq INCREMENT BY 50;
+SELECT setval('menu_items_seq', COALESCE((SELECT MAX(id) FROM menu_items), 0) + 51, false);
+ALTER TABLE menu_items ALTER COLUMN id DROP IDENTITY IF EXISTS;
+
+CREATE SEQUENCE IF NOT EXISTS feedbacks_seq INCREMENT BY 50;
+SELECT setval('feedbacks_seq', COALESCE((SELECT MAX(id) FROM feedbacks), 0) + 51, false);
+ALTER TABLE feedbacks ALTER COLUMN id DROP IDENTITY IF EXISTS;
+
+CREATE SEQUENCE IF NOT EXISTS complaints_seq INCREMENT BY 50;
+SELECT setval('complaints_seq', COALESCE((SELECT MAX(id) FROM complaints), 0) + 51, false);
+ALTER TABLE complaints ALTER COLUMN id DROP IDENTITY IF EXISTS;
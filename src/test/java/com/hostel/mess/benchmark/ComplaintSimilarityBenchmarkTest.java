@@ -0,0 +1,100 @@
+package com.hostel.mess.benchmark;
+
+import com.hostel.mess.service.ComplaintSimilarityIndex;
+import com.hostel.mess.support.Benchmark;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Similarity index lookups with 100k complaints indexed, most of them in small clusters
+ * of reworded duplicates plus one bad-week cluster far larger than the lookup limit
+ * 
+ * Run with: mvn test -Pbenchmark -Dtest=ComplaintSimilarityBenchmarkTest [-Dbenchmark.similarity-complaints=100000]
+ */
+@Tag("benchmark")
+class ComplaintSimilarityBenchmarkTest {
+    
+    private static final int VOCABULARY = 20000;
+    private static final int WORDS_PER_COMPLAINT = 14;
+    private static final int VARIANTS_PER_ISSUE = 5;
+    private static final int HOT_CLUSTER = 2000;
+    private static final int LOOKUP_LIMIT = 1000;
+    private static final int LOOKUPS = 10000;
+    
+    private final int complaints = Integer.getInteger("benchmark.similarity-complaints", 100000);
+    private final Random random = new Random(42);
+    private final String[] vocabulary = vocabulary();
+    
+    @Test
+    void lookupStaysSubMillisecond() {
+        ComplaintSimilarityIndex index = new ComplaintSimilarityIndex(null);
+        ReflectionTestUtils.setField(index, "threshold", 0.6);
+        
+        String[] hotIssue = issue();
+        long hotId = 1;
+        Benchmark.once("index " + complaints + " complaints", () -> {
+            long next = 1;
+            for (int i = 0; i < HOT_CLUSTER; i++) {
+                index.add(next++, "Issue report", variant(hotIssue));
+            }
+            while (next <= complaints) {
+                String[] issue = issue();
+                for (int v = 0; v < VARIANTS_PER_ISSUE && next <= complaints; v++) {
+                    index.add(next++, "Issue report", variant(issue));
+                }
+            }
+        });
+        assertThat(index.clusterSize(hotId)).as("hot cluster size").isGreaterThan(LOOKUP_LIMIT);
+        System.out.println("[benchmark] index statistics: " + index.getStatistics());
+        
+        long[] lookupIds = random.longs(LOOKUPS, 1, complaints + 1L).toArray();
+        int[] cursor = {0};
+        Benchmark.Result clusterOf = Benchmark.run("clusterOf, random complaint", 20000, LOOKUPS,
+                () -> index.clusterOf(lookupIds[cursor[0]++ % LOOKUPS], LOOKUP_LIMIT));
+        Benchmark.Result hotClusterOf = Benchmark.run("clusterOf, hot cluster at the limit", 2000, LOOKUPS,
+                () -> index.clusterOf(hotId, LOOKUP_LIMIT));
+        Benchmark.Result clusterSize = Benchmark.run("clusterSize, random complaint", 20000, LOOKUPS,
+                () -> index.clusterSize(lookupIds[cursor[0]++ % LOOKUPS]));
+        long[] nextId = {complaints + 1L};
+        Benchmark.Result add = Benchmark.run("add one complaint", 2000, LOOKUPS,
+                () -> index.add(nextId[0]++, "Issue report", variant(issue())));
+        
+        assertThat(clusterOf.medianMillis()).isLessThan(1.0);
+        assertThat(hotClusterOf.medianMillis()).isLessThan(1.0);
+        assertThat(clusterSize.medianMillis()).isLessThan(1.0);
+        assertThat(add.medianMillis()).isLessThan(1.0);
+    }
+    
+    // Helper methods
+    private String[] vocabulary() {
+        String[] words = new String[VOCABULARY];
+        for (int i = 0; i < VOCABULARY; i++) {
+            StringBuilder word = new StringBuilder();
+            for (int letter = 0; letter < 7; letter++) {
+                word.append((char) ('a' + random.nextInt(26)));
+            }
+            words[i] = word.toString();
+        }
+        return words;
+    }
+    
+    private String[] issue() {
+        String[] words = new String[WORDS_PER_COMPLAINT];
+        for (int i = 0; i < words.length; i++) {
+            words[i] = vocabulary[random.nextInt(VOCABULARY)];
+        }
+        return words;
+    }
+    
+    // A reworded duplicate: one word of the issue swapped for another
+    private String variant(String[] issue) {
+        String[] words = issue.clone();
+        words[random.nextInt(words.length)] = vocabulary[random.nextInt(VOCABULARY)];
+        return String.join(" ", words);
+    }
+}
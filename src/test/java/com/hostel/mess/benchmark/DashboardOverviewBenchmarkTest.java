@@ -0,0 +1,120 @@
+package com.hostel.mess.benchmark;
+
+import com.hostel.mess.model.Feedback;
+import com.hostel.mess.model.Menu;
+import com.hostel.mess.model.Student;
+import com.hostel.mess.repository.MenuRepository;
+import com.hostel.mess.repository.StudentRepository;
+import com.hostel.mess.service.DashboardSnapshotService;
+import com.hostel.mess.service.FeedbackService;
+import com.hostel.mess.support.Benchmark;
+import com.hostel.mess.support.FeedbackFixtures;
+import com.hostel.mess.support.QueryCounter;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Dashboard overview refresh latency as the feedbacks table grows tenfold per stage,
+ * next to materializing the positive and negative feedback as the overview used to,
+ * without even the lazy student and menu loads its DTO conversion added
+ * 
+ * Run with: mvn test -Pbenchmark -Dtest=DashboardOverviewBenchmarkTest [-Dbenchmark.dashboard-rows=1000000]
+ */
+@Tag("benchmark")
+@SpringBootTest
+@ActiveProfiles("test")
+class DashboardOverviewBenchmarkTest {
+    
+    private static final int STUDENTS = 1000;
+    private static final int STAGES = 3;
+    
+    @Value("${benchmark.dashboard-rows:1000000}")
+    private int rows;
+    
+    @Value("${spring.jpa.properties.hibernate.jdbc.batch_size}")
+    private int batchSize;
+    
+    @Autowired
+    private DashboardSnapshotService dashboardSnapshotService;
+    
+    @Autowired
+    private FeedbackService feedbackService;
+    
+    @Autowired
+    private StudentRepository studentRepository;
+    
+    @Autowired
+    private MenuRepository menuRepository;
+    
+    @Autowired
+    private EntityManager entityManager;
+    
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    
+    @Test
+    void refreshStaysFlatAsFeedbackGrows() {
+        // Every row needs its own (student, menu) pair
+        List<Student> students = FeedbackFixtures.students(studentRepository, "DASH", STUDENTS);
+        List<Menu> menus = FeedbackFixtures.menus(menuRepository, LocalDate.of(2035, 1, 1),
+                (rows + STUDENTS - 1) / STUDENTS);
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        QueryCounter queryCounter = new QueryCounter(entityManagerFactory);
+        
+        List<Long> statementCounts = new ArrayList<>();
+        int inserted = 0;
+        for (int stage = STAGES - 1; stage >= 0; stage--) {
+            int target = rows / (int) Math.pow(10, stage);
+            int from = inserted;
+            transactionTemplate.executeWithoutResult(status -> insert(students, menus, from, target));
+            inserted = target;
+            // Rows were inserted behind the service, so bring the aggregates up to date
+            feedbackService.rebuildRatingAggregates();
+            
+            statementCounts.add(queryCounter.count(dashboardSnapshotService::scheduledRefresh));
+            Benchmark.run("dashboard refresh, " + target + " feedback rows", 3, 20,
+                    dashboardSnapshotService::scheduledRefresh);
+            Benchmark.run("sentiment from loaded feedback lists, " + target + " feedback rows", 1, 3,
+                    () -> transactionTemplate.executeWithoutResult(status -> loadSentimentLists()));
+        }
+        
+        assertThat(statementCounts).as("statements per refresh").containsOnly(statementCounts.get(0));
+    }
+    
+    private void insert(List<Student> students, List<Menu> menus, int from, int to) {
+        for (int row = from; row < to; row++) {
+            Student student = entityManager.getReference(Student.class, students.get(row % STUDENTS).getId());
+            Menu menu = entityManager.getReference(Menu.class, menus.get(row / STUDENTS).getId());
+            entityManager.persist(FeedbackFixtures.feedback(student, menu, row % 5 + 1));
+            if ((row + 1) % batchSize == 0) {
+                entityManager.flush();
+                entityManager.clear();
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+    
+    private void loadSentimentLists() {
+        entityManager.createQuery("SELECT f FROM Feedback f WHERE f.rating >= 4", Feedback.class).getResultList().size();
+        entityManager.createQuery("SELECT f FROM Feedback f WHERE f.rating <= 2", Feedback.class).getResultList().size();
+        entityManager.clear();
+    }
+}
@@ -0,0 +1,100 @@
+package com.hostel.mess.benchmark;
+
+import com.hostel.mess.model.Menu;
+import com.hostel.mess.model.Student;
+import com.hostel.mess.repository.MenuRepository;
+import com.hostel.mess.repository.StudentRepository;
+import com.hostel.mess.support.Benchmark;
+import com.hostel.mess.support.FeedbackFixtures;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Insert throughput for feedback rows with pooled sequence ids and JDBC batching,
+ * against one flushed INSERT per row, which is what IDENTITY ids forced on every save
+ * 
+ * Run with: mvn test -Pbenchmark -Dtest=FeedbackInsertBenchmarkTest [-Dbenchmark.feedback-rows=100000]
+ */
+@Tag("benchmark")
+@SpringBootTest
+@ActiveProfiles("test")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class FeedbackInsertBenchmarkTest {
+    
+    private static final int STUDENTS = 1000;
+    
+    @Value("${benchmark.feedback-rows:100000}")
+    private int rows;
+    
+    @Value("${spring.jpa.properties.hibernate.jdbc.batch_size}")
+    private int batchSize;
+    
+    @Autowired
+    private StudentRepository studentRepository;
+    
+    @Autowired
+    private MenuRepository menuRepository;
+    
+    @Autowired
+    private EntityManager entityManager;
+    
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    
+    private List<Student> students;
+    private List<Menu> batchedMenus;
+    private List<Menu> perRowMenus;
+    
+    @BeforeAll
+    void populate() {
+        // Every row needs its own (student, menu) pair
+        int menusPerRun = (rows + STUDENTS - 1) / STUDENTS;
+        students = FeedbackFixtures.students(studentRepository, "INS", STUDENTS);
+        batchedMenus = FeedbackFixtures.menus(menuRepository, LocalDate.of(2033, 1, 1), menusPerRun);
+        perRowMenus = FeedbackFixtures.menus(menuRepository, LocalDate.of(2034, 1, 1), menusPerRun);
+    }
+    
+    @Test
+    void batchedInserts() {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        report("batched", Benchmark.once("insert " + rows + " feedback rows, JDBC batches of " + batchSize,
+                () -> transactionTemplate.executeWithoutResult(status -> insert(batchedMenus, batchSize))));
+    }
+    
+    @Test
+    void oneRoundTripPerRow() {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        report("per row", Benchmark.once("insert " + rows + " feedback rows, flushed one by one",
+                () -> transactionTemplate.executeWithoutResult(status -> insert(perRowMenus, 1))));
+    }
+    
+    private void insert(List<Menu> menus, int flushEvery) {
+        for (int row = 0; row < rows; row++) {
+            Student student = entityManager.getReference(Student.class, students.get(row % STUDENTS).getId());
+            Menu menu = entityManager.getReference(Menu.class, menus.get(row / STUDENTS).getId());
+            entityManager.persist(FeedbackFixtures.feedback(student, menu, row % 5 + 1));
+            if ((row + 1) % flushEvery == 0) {
+                entityManager.flush();
+                entityManager.clear();
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+    
+    private void report(String label, Benchmark.Result result) {
+        System.out.printf("[benchmark] %s: %.0f rows/s%n", label, rows / (result.medianMillis() / 1000.0));
+    }
+}
@@ -0,0 +1,137 @@
+package com.hostel.mess.benchmark;
+
+import com.hostel.mess.dto.CursorPage;
+import com.hostel.mess.dto.MenuDto;
+import com.hostel.mess.model.MealType;
+import com.hostel.mess.model.Menu;
+import com.hostel.mess.model.MenuItem;
+import com.hostel.mess.repository.MenuRepository;
+import com.hostel.mess.service.MenuService;
+import com.hostel.mess.support.Benchmark;
+import com.hostel.mess.support.QueryCounter;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Week and upcoming menu listings over a 30-day horizon with four meals a day,
+ * comparing the entity-graph queries against walking the lazy item collection
+ * 
+ * Run with: mvn test -Pbenchmark -Dtest=MenuListingBenchmarkTest
+ */
+@Tag("benchmark")
+@SpringBootTest
+@ActiveProfiles("test")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class MenuListingBenchmarkTest {
+    
+    private static final LocalDate HORIZON_START = LocalDate.of(2032, 1, 1);
+    private static final int DAYS = 30;
+    private static final int ITEMS_PER_MENU = 6;
+    
+    @Autowired
+    private MenuService menuService;
+    
+    @Autowired
+    private MenuRepository menuRepository;
+    
+    @Autowired
+    private EntityManager entityManager;
+    
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    
+    @BeforeAll
+    void populate() {
+        List<Menu> menus = new ArrayList<>();
+        for (int day = 0; day < DAYS; day++) {
+            for (MealType mealType : MealType.values()) {
+                Menu menu = Menu.builder()
+                        .menuDate(HORIZON_START.plusDays(day))
+                        .mealType(mealType)
+                        .build();
+                for (int item = 0; item < ITEMS_PER_MENU; item++) {
+                    menu.addMenuItem(MenuItem.builder()
+                            .itemName("Item " + item)
+                            .isVegetarian(true)
+                            .isAvailable(true)
+                            .price(BigDecimal.valueOf(20 + item))
+                            .build());
+                }
+                menus.add(menu);
+            }
+        }
+        menuRepository.saveAll(menus);
+    }
+    
+    @Test
+    void weekView() {
+        QueryCounter queryCounter = new QueryCounter(entityManagerFactory);
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        
+        long fetched = queryCounter.count(() -> readOnly.executeWithoutResult(status -> loadWeekFetched()));
+        long lazy = queryCounter.count(() -> readOnly.executeWithoutResult(status -> loadWeekLazily()));
+        System.out.printf("[benchmark] week query statements: entity graph %d, lazy items %d%n", fetched, lazy);
+        
+        // In-memory H2 has no network round-trip, so the gap here understates a remote database
+        Benchmark.run("week query, entity graph", 20, 200,
+                () -> readOnly.executeWithoutResult(status -> loadWeekFetched()));
+        Benchmark.run("week query, lazy items", 20, 200,
+                () -> readOnly.executeWithoutResult(status -> loadWeekLazily()));
+        Benchmark.run("week view through MenuService", 20, 200, () -> menuService.getMenusForWeek(HORIZON_START));
+        
+        assertThat(fetched).isLessThan(lazy);
+    }
+    
+    @Test
+    void upcomingPages() {
+        Benchmark.run("upcoming, all pages of 50", 5, 50, () -> {
+            int menus = 0;
+            CursorPage<MenuDto> page = menuService.getUpcomingMenus(null, 50);
+            menus += page.getItems().size();
+            while (page.isHasMore()) {
+                page = menuService.getUpcomingMenus(page.getNextCursor(), 50);
+                menus += page.getItems().size();
+            }
+            assertThat(menus).isGreaterThanOrEqualTo(DAYS * MealType.values().length);
+        });
+    }
+    
+    private void loadWeekFetched() {
+        for (Menu menu : menuRepository.findMenusForDateRange(HORIZON_START, HORIZON_START.plusDays(6))) {
+            menu.getMenuItems().size();
+        }
+    }
+    
+    // The pre-fetch-plan shape: load menus, then one items SELECT per menu
+    private void loadWeekLazily() {
+        List<Menu> menus = entityManager.createQuery(
+                        "SELECT m FROM Menu m WHERE m.menuDate BETWEEN :startDate AND :endDate AND m.isActive = true",
+                        Menu.class)
+                .setParameter("startDate", HORIZON_START)
+                .setParameter("endDate", HORIZON_START.plusDays(6))
+                .getResultList();
+        for (Menu menu : menus) {
+            menu.getMenuItems().size();
+        }
+    }
+}
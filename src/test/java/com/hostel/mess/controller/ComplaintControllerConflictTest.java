@@ -0,0 +1,96 @@
+package com.hostel.mess.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hostel.mess.dto.ComplaintDto;
+import com.hostel.mess.model.ComplaintStatus;
+import com.hostel.mess.model.Student;
+import com.hostel.mess.repository.StudentRepository;
+import com.hostel.mess.service.ComplaintService;
+import com.hostel.mess.support.FeedbackFixtures;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+
+/**
+ * Wardens racing on the same complaint version: one wins, the rest get 409 with the current state
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class ComplaintControllerConflictTest {
+    
+    private static final int THREADS = 8;
+    
+    @Autowired
+    private MockMvc mockMvc;
+    
+    @Autowired
+    private ComplaintService complaintService;
+    
+    @Autowired
+    private StudentRepository studentRepository;
+    
+    @Autowired
+    private ObjectMapper objectMapper;
+    
+    @Test
+    void concurrentUpdatesOnOneVersionConflict() throws Exception {
+        Student student = FeedbackFixtures.student(studentRepository, "CONF01");
+        ComplaintDto complaint = FeedbackFixtures.submitComplaint(complaintService, student, "Contested complaint",
+                "Two wardens resolve it at once");
+        
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CyclicBarrier barrier = new CyclicBarrier(THREADS);
+        List<Future<MvcResult>> results = new ArrayList<>();
+        try {
+            for (int thread = 0; thread < THREADS; thread++) {
+                String warden = "warden-" + thread;
+                results.add(executor.submit(() -> {
+                    barrier.await();
+                    return mockMvc.perform(put("/api/complaints/{id}/status", complaint.getId())
+                                    .param("status", ComplaintStatus.RESOLVED.name())
+                                    .param("notes", "Resolved by " + warden)
+                                    .param("resolvedBy", warden)
+                                    .param("expectedVersion", String.valueOf(complaint.getVersion())))
+                            .andReturn();
+                }));
+            }
+            
+            List<ComplaintDto> winners = new ArrayList<>();
+            List<ComplaintDto> conflicts = new ArrayList<>();
+            for (Future<MvcResult> result : results) {
+                MvcResult response = result.get(1, TimeUnit.MINUTES);
+                ComplaintDto body = objectMapper.readValue(response.getResponse().getContentAsString(), ComplaintDto.class);
+                assertThat(response.getResponse().getStatus()).isIn(200, 409);
+                (response.getResponse().getStatus() == 200 ? winners : conflicts).add(body);
+            }
+            
+            assertThat(winners).hasSize(1);
+            assertThat(conflicts).hasSize(THREADS - 1);
+            ComplaintDto current = complaintService.getComplaintById(complaint.getId());
+            assertThat(current.getVersion()).isEqualTo(complaint.getVersion() + 1);
+            assertThat(current.getResolutionNotes()).isEqualTo(winners.get(0).getResolutionNotes());
+            // Every loser is handed the winning state to decide on
+            assertThat(conflicts).allSatisfy(conflict -> assertThat(conflict)
+                    .extracting(ComplaintDto::getVersion, ComplaintDto::getResolutionNotes)
+                    .containsExactly(current.getVersion(), current.getResolutionNotes()));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
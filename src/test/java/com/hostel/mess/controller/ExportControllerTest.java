@@ -0,0 +1,177 @@
+package com.hostel.mess.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hostel.mess.dto.FeedbackDto;
+import com.hostel.mess.dto.MenuDto;
+import com.hostel.mess.model.MealType;
+import com.hostel.mess.model.Student;
+import com.hostel.mess.repository.StudentRepository;
+import com.hostel.mess.service.ComplaintService;
+import com.hostel.mess.service.FeedbackService;
+import com.hostel.mess.service.MenuService;
+import com.hostel.mess.support.FeedbackFixtures;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.startsWith;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Feedback and complaint exports stream escaped CSV or NDJSON, filtered by date and field
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class ExportControllerTest {
+    
+    private static final LocalDate MENU_DATE = LocalDate.of(2032, 3, 1);
+    private static final String FEEDBACK_TYPE = ",General Feedback,";
+    
+    @Autowired
+    private MockMvc mockMvc;
+    
+    @Autowired
+    private MenuService menuService;
+    
+    @Autowired
+    private FeedbackService feedbackService;
+    
+    @Autowired
+    private ComplaintService complaintService;
+    
+    @Autowired
+    private StudentRepository studentRepository;
+    
+    @Autowired
+    private ObjectMapper objectMapper;
+    
+    @Test
+    void csvQuotesSeparatorsAndNeutralisesFormulas() throws Exception {
+        MenuDto menu = FeedbackFixtures.menu(menuService, MENU_DATE, MealType.LUNCH);
+        List<Student> students = FeedbackFixtures.students(studentRepository, "EXPCSV", 6);
+        List<String> comments = List.of(
+                "Dal, rice and \"fresh\" curd",
+                "Too salty\nagain",
+                "=HYPERLINK(\"http://evil.test\",\"menu\")",
+                "+1 for the paneer",
+                "-nothing- worth eating",
+                "@SUM(A1:A9)");
+        for (int i = 0; i < comments.size(); i++) {
+            submit(students.get(i), menu.getId(), 1 + i % 5, comments.get(i));
+        }
+        
+        String csv = export("/api/feedback/export?menuId=" + menu.getId(), "text/csv");
+        
+        List<String> lines = csvRecords(csv);
+        assertThat(lines).hasSize(comments.size() + 1);
+        assertThat(lines.get(0)).isEqualTo("id,studentId,studentName,menuId,menuDate,mealType,rating,"
+                + "feedbackType,comments,submittedAt");
+        assertThat(lines.subList(1, lines.size()))
+                .extracting(line -> line.substring(line.indexOf(FEEDBACK_TYPE) + FEEDBACK_TYPE.length(),
+                        line.lastIndexOf(',')))
+                .containsExactly(
+                        "\"Dal, rice and \"\"fresh\"\" curd\"",
+                        "\"Too salty\nagain\"",
+                        "\"'=HYPERLINK(\"\"http://evil.test\"\",\"\"menu\"\")\"",
+                        "\"'+1 for the paneer\"",
+                        "\"'-nothing- worth eating\"",
+                        "\"'@SUM(A1:A9)\"");
+        assertThat(lines.get(1)).contains(",Student EXPCSV0," + menu.getId() + "," + MENU_DATE + ",Lunch,1,");
+    }
+    
+    @Test
+    void ndjsonKeepsRawValuesAndAppliesFilters() throws Exception {
+        MenuDto menu = FeedbackFixtures.menu(menuService, MENU_DATE.plusDays(1), MealType.DINNER);
+        List<Student> students = FeedbackFixtures.students(studentRepository, "EXPJSON", 3);
+        submit(students.get(0), menu.getId(), 1, "=cold roti");
+        submit(students.get(1), menu.getId(), 4, "Good, \"crispy\"\nrotis");
+        submit(students.get(2), menu.getId(), 5, "Best dinner this week");
+        
+        String ndjson = export("/api/feedback/export?format=ndjson&minRating=4&maxRating=4&menuId=" + menu.getId(),
+                "application/x-ndjson");
+        
+        List<JsonNode> rows = new ArrayList<>();
+        for (String line : ndjson.split("\n")) {
+            rows.add(objectMapper.readTree(line));
+        }
+        assertThat(rows).hasSize(1);
+        assertThat(rows.get(0).get("studentName").asText()).isEqualTo("Student EXPJSON1");
+        assertThat(rows.get(0).get("rating").asInt()).isEqualTo(4);
+        assertThat(rows.get(0).get("comments").asText()).isEqualTo("Good, \"crispy\"\nrotis");
+        
+        // NDJSON is not opened in a spreadsheet, so formula-like text is left as written
+        String low = export("/api/feedback/export?format=NDJSON&maxRating=1&menuId=" + menu.getId(),
+                "application/x-ndjson");
+        assertThat(objectMapper.readTree(low.trim()).get("comments").asText()).isEqualTo("=cold roti");
+    }
+    
+    @Test
+    void dateRangeIsInclusiveAndChecked() throws Exception {
+        Student student = FeedbackFixtures.student(studentRepository, "EXPDATE01");
+        Long id = FeedbackFixtures.submitComplaint(complaintService, student, "Export range check",
+                "@channel the water cooler is leaking").getId();
+        LocalDate today = LocalDate.now();
+        
+        String todays = export("/api/complaints/export?category=GENERAL&from=" + today + "&to=" + today, "text/csv");
+        assertThat(csvRecords(todays)).anySatisfy(line -> assertThat(line)
+                .startsWith(id + "," + student.getId() + ",Student EXPDATE01,")
+                .contains(",\"'@channel the water cooler is leaking\","));
+        
+        String earlier = export("/api/complaints/export?to=" + today.minusDays(1), "text/csv");
+        String later = export("/api/complaints/export?from=" + today.plusDays(1), "text/csv");
+        assertThat(csvRecords(earlier)).noneMatch(line -> line.startsWith(id + ","));
+        assertThat(csvRecords(later)).containsExactly(csvRecords(todays).get(0));
+        
+        mockMvc.perform(get("/api/complaints/export?from=" + today + "&to=" + today.minusDays(1)))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/feedback/export?format=xlsx"))
+                .andExpect(status().isBadRequest());
+    }
+    
+    // Helper methods
+    private void submit(Student student, Long menuId, int rating, String comments) {
+        feedbackService.submitFeedback(FeedbackDto.builder()
+                .studentId(student.getId())
+                .menuId(menuId)
+                .rating(rating)
+                .comments(comments)
+                .build());
+    }
+    
+    private String export(String path, String contentType) throws Exception {
+        MvcResult started = mockMvc.perform(get(path))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        return mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(contentType))
+                .andExpect(header().string(HttpHeaders.CONTENT_DISPOSITION, startsWith("attachment;")))
+                .andReturn()
+                .getResponse()
+                .getContentAsString(StandardCharsets.UTF_8);
+    }
+    
+    // Splits on the CRLF record separator; bare newlines inside quoted cells stay in their record
+    private List<String> csvRecords(String csv) {
+        return Arrays.asList(csv.split("\r\n"));
+    }
+}
@@ -0,0 +1,101 @@
+package com.hostel.mess.controller;
+
+import com.hostel.mess.dto.MenuDto;
+import com.hostel.mess.model.MealType;
+import com.hostel.mess.model.Student;
+import com.hostel.mess.repository.StudentRepository;
+import com.hostel.mess.service.FeedbackService;
+import com.hostel.mess.service.MenuService;
+import com.hostel.mess.support.FeedbackFixtures;
+import com.hostel.mess.support.QueryCounter;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDate;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Conditional GETs on menu endpoints are answered from the cache's change counters
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class MenuControllerConditionalGetTest {
+    
+    private static final LocalDate MENU_DATE = LocalDate.of(2031, 9, 1);
+    
+    @Autowired
+    private MockMvc mockMvc;
+    
+    @Autowired
+    private MenuService menuService;
+    
+    @Autowired
+    private FeedbackService feedbackService;
+    
+    @Autowired
+    private StudentRepository studentRepository;
+    
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    
+    @Test
+    void notModifiedWithoutDatabaseAccess() throws Exception {
+        FeedbackFixtures.menu(menuService, MENU_DATE, MealType.BREAKFAST);
+        String etag = fetchEtag("/api/menus/date/" + MENU_DATE);
+        
+        long statements = new QueryCounter(entityManagerFactory).count(() -> {
+            try {
+                mockMvc.perform(get("/api/menus/date/" + MENU_DATE).header(HttpHeaders.IF_NONE_MATCH, etag))
+                        .andExpect(status().isNotModified());
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        
+        assertThat(statements).isZero();
+    }
+    
+    @Test
+    void tagChangesOnMenuAndFeedbackWrites() throws Exception {
+        LocalDate date = MENU_DATE.plusDays(1);
+        String path = "/api/menus/date/" + date;
+        String empty = fetchEtag(path);
+        
+        MenuDto menu = FeedbackFixtures.menu(menuService, date, MealType.LUNCH);
+        String withMenu = fetchEtag(path);
+        assertThat(withMenu).isNotEqualTo(empty);
+        
+        Student student = FeedbackFixtures.student(studentRepository, "ETAG01");
+        FeedbackFixtures.submitFeedback(feedbackService, student, menu.getId(), 5);
+        
+        mockMvc.perform(get(path).header(HttpHeaders.IF_NONE_MATCH, withMenu))
+                .andExpect(status().isOk());
+        
+        // Other dates keep their tags
+        String otherPath = "/api/menus/date/" + date.plusDays(1);
+        String other = fetchEtag(otherPath);
+        FeedbackFixtures.menu(menuService, date, MealType.DINNER);
+        mockMvc.perform(get(otherPath).header(HttpHeaders.IF_NONE_MATCH, other))
+                .andExpect(status().isNotModified());
+    }
+    
+    private String fetchEtag(String path) throws Exception {
+        AtomicReference<String> etag = new AtomicReference<>();
+        mockMvc.perform(get(path))
+                .andExpect(status().isOk())
+                .andDo(result -> etag.set(result.getResponse().getHeader(HttpHeaders.ETAG)));
+        assertThat(etag.get()).isNotBlank();
+        return etag.get();
+    }
+}
@@ -0,0 +1,182 @@
+package com.hostel.mess.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hostel.mess.dto.MenuDto;
+import com.hostel.mess.dto.MenuImportRequest;
+import com.hostel.mess.dto.MenuImportResult;
+import com.hostel.mess.dto.MenuItemDto;
+import com.hostel.mess.model.FeedbackType;
+import com.hostel.mess.model.MealType;
+import com.hostel.mess.model.Menu;
+import com.hostel.mess.model.MenuItem;
+import com.hostel.mess.repository.MenuRatingAggregateRepository;
+import com.hostel.mess.repository.MenuRepository;
+import com.hostel.mess.service.MenuService;
+import com.hostel.mess.support.FeedbackFixtures;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.AopTestUtils;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Menu imports persist the valid rows with their items and report every rejected row
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class MenuControllerImportTest {
+    
+    private static final LocalDate MENU_DATE = LocalDate.of(2032, 6, 7);
+    
+    @Autowired
+    private MockMvc mockMvc;
+    
+    @Autowired
+    private ObjectMapper objectMapper;
+    
+    @Autowired
+    private MenuService menuService;
+    
+    @Autowired
+    private MenuRepository menuRepository;
+    
+    @Autowired
+    private MenuRatingAggregateRepository menuRatingAggregateRepository;
+    
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    
+    @Test
+    void importsValidRowsAndReportsTheRest() throws Exception {
+        FeedbackFixtures.menu(menuService, MENU_DATE, MealType.BREAKFAST);
+        
+        MenuImportResult result = importMenus(HttpStatus.CREATED,
+                row(MENU_DATE, MealType.LUNCH, "Rajma", "Jeera rice"),
+                row(LocalDate.now().minusDays(1), MealType.LUNCH, "Poha"),
+                row(MENU_DATE, null, "X"),
+                row(MENU_DATE, MealType.BREAKFAST, "Idli"),
+                row(MENU_DATE, MealType.LUNCH, "Chole"),
+                row(MENU_DATE, MealType.DINNER, "Khichdi"),
+                null);
+        
+        assertThat(result)
+                .extracting(MenuImportResult::getRequested, MenuImportResult::getImported,
+                        MenuImportResult::getItemsImported)
+                .containsExactly(7, 2, 3);
+        assertThat(result.getErrors())
+                .extracting(MenuImportResult.RowError::getIndex, MenuImportResult.RowError::getMessage)
+                .containsExactly(
+                        tuple(1, "menuDate: Menu date cannot be in the past"),
+                        tuple(2, "mealType: Meal type is required; "
+                                + "menuItems[0].itemName: Item name must be between 2 and 100 characters"),
+                        tuple(3, "Menu already exists for " + MENU_DATE + " - " + MealType.BREAKFAST),
+                        tuple(4, "Duplicate menu in import for " + MENU_DATE + " - " + MealType.LUNCH),
+                        tuple(6, "Menu row is required"));
+        
+        // The first row for a slot wins, and an existing menu is left as it was
+        assertThat(itemNames(MENU_DATE, MealType.LUNCH)).containsExactlyInAnyOrder("Rajma", "Jeera rice");
+        assertThat(itemNames(MENU_DATE, MealType.DINNER)).containsExactly("Khichdi");
+        assertThat(itemNames(MENU_DATE, MealType.BREAKFAST)).isEmpty();
+    }
+    
+    @Test
+    void persistsMenusWithItemsInFlushedChunks() throws Exception {
+        LocalDate start = MENU_DATE.plusDays(7);
+        MenuDto[] rows = new MenuDto[5];
+        for (int day = 0; day < rows.length; day++) {
+            rows[day] = row(start.plusDays(day), MealType.SNACKS, "Samosa", "Masala chai");
+        }
+        
+        MenuService target = AopTestUtils.getTargetObject(menuService);
+        int flushSize = (int) ReflectionTestUtils.getField(target, "importFlushSize");
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        MenuImportResult result;
+        try {
+            ReflectionTestUtils.setField(target, "importFlushSize", 2);
+            statistics.clear();
+            result = importMenus(HttpStatus.CREATED, rows);
+        } finally {
+            ReflectionTestUtils.setField(target, "importFlushSize", flushSize);
+        }
+        
+        assertThat(result)
+                .extracting(MenuImportResult::getImported, MenuImportResult::getItemsImported)
+                .containsExactly(5, 10);
+        assertThat(result.getErrors()).isEmpty();
+        
+        // One flush per chunk: two full ones and the remainder, leaving nothing for the commit
+        assertThat(statistics.getFlushCount()).isEqualTo(3);
+        for (int day = 0; day < rows.length; day++) {
+            Menu menu = menuRepository.findByMenuDateAndMealTypeAndIsActiveTrue(start.plusDays(day), MealType.SNACKS)
+                    .orElseThrow();
+            assertThat(menu.getMenuItems()).extracting(MenuItem::getItemName)
+                    .containsExactlyInAnyOrder("Samosa", "Masala chai");
+            assertThat(menuRatingAggregateRepository.findByMenuId(menu.getId())).hasSize(FeedbackType.values().length);
+        }
+    }
+    
+    @Test
+    void badRequestWhenNothingIsImported() throws Exception {
+        LocalDate date = MENU_DATE.plusDays(14);
+        FeedbackFixtures.menu(menuService, date, MealType.LUNCH);
+        
+        MenuImportResult result = importMenus(HttpStatus.BAD_REQUEST,
+                row(date, MealType.LUNCH, "Dal makhani"),
+                row(LocalDate.now().minusDays(3), MealType.DINNER, "Paratha"));
+        
+        assertThat(result)
+                .extracting(MenuImportResult::getRequested, MenuImportResult::getImported,
+                        MenuImportResult::getItemsImported)
+                .containsExactly(2, 0, 0);
+        assertThat(result.getErrors()).extracting(MenuImportResult.RowError::getIndex).containsExactly(0, 1);
+        assertThat(itemNames(date, MealType.LUNCH)).isEmpty();
+    }
+    
+    // Helper methods
+    private MenuDto row(LocalDate date, MealType mealType, String... items) {
+        List<MenuItemDto> menuItems = new ArrayList<>();
+        for (String item : items) {
+            menuItems.add(MenuItemDto.builder().itemName(item).price(BigDecimal.valueOf(40)).build());
+        }
+        return MenuDto.builder().menuDate(date).mealType(mealType).menuItems(menuItems).build();
+    }
+    
+    private MenuImportResult importMenus(HttpStatus expected, MenuDto... rows) throws Exception {
+        String body = objectMapper.writeValueAsString(MenuImportRequest.builder().menus(Arrays.asList(rows)).build());
+        String response = mockMvc.perform(post("/api/menus/import")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().is(expected.value()))
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+        return objectMapper.readValue(response, MenuImportResult.class);
+    }
+    
+    private List<String> itemNames(LocalDate date, MealType mealType) {
+        return menuRepository.findByMenuDateAndMealTypeAndIsActiveTrue(date, mealType).orElseThrow()
+                .getMenuItems().stream()
+                .map(MenuItem::getItemName)
+                .toList();
+    }
+}
@@ -0,0 +1,98 @@
+package com.hostel.mess.service;
+
+import com.hostel.mess.dto.ComplaintBulkStatusRequest;
+import com.hostel.mess.dto.ComplaintBulkStatusResult;
+import com.hostel.mess.dto.ComplaintDto;
+import com.hostel.mess.model.ComplaintStatus;
+import com.hostel.mess.model.Student;
+import com.hostel.mess.repository.ComplaintRepository;
+import com.hostel.mess.repository.StudentRepository;
+import com.hostel.mess.support.FeedbackFixtures;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.AopTestUtils;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.AdditionalAnswers.delegatesTo;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+/**
+ * A bulk transition locks the complaints it checked, so concurrent moves wait and each move is counted once
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class ComplaintBulkStatusTest {
+    
+    @Autowired
+    private ComplaintService complaintService;
+    
+    @Autowired
+    private ComplaintRepository complaintRepository;
+    
+    @Autowired
+    private ComplaintCounters complaintCounters;
+    
+    @Autowired
+    private StudentRepository studentRepository;
+    
+    @Test
+    void concurrentMoveWaitsForTheBulkUpdate() {
+        Student student = FeedbackFixtures.student(studentRepository, "BULK01");
+        Long ours = FeedbackFixtures.submitComplaint(complaintService, student, "Leaking tap").getId();
+        Long theirs = FeedbackFixtures.submitComplaint(complaintService, student, "Dirty plates").getId();
+        long submittedBefore = complaintCounters.count(List.of(ComplaintStatus.SUBMITTED), null);
+        long inProgressBefore = complaintCounters.count(List.of(ComplaintStatus.IN_PROGRESS), null);
+        
+        // Another warden moves one complaint to the same target after the bulk call read its status
+        ComplaintService target = AopTestUtils.getTargetObject(complaintService);
+        ComplaintRepository repository = mock(ComplaintRepository.class, delegatesTo(complaintRepository));
+        AtomicReference<CompletableFuture<ComplaintDto>> concurrentMove = new AtomicReference<>();
+        doAnswer(invocation -> {
+            Object keys = complaintRepository.findStatusKeysByIdIn(invocation.<Collection<Long>>getArgument(0));
+            CompletableFuture<ComplaintDto> move = CompletableFuture.supplyAsync(() -> complaintService
+                    .updateComplaintStatus(theirs, ComplaintStatus.IN_PROGRESS, null, null, null));
+            concurrentMove.set(move);
+            // The rows read above stay locked, so the move cannot commit before the bulk update does
+            assertThatThrownBy(() -> move.get(500, TimeUnit.MILLISECONDS)).isInstanceOf(TimeoutException.class);
+            return keys;
+        }).when(repository).findStatusKeysByIdIn(anyCollection());
+        
+        ComplaintBulkStatusResult result;
+        ReflectionTestUtils.setField(target, "complaintRepository", repository);
+        try {
+            result = complaintService.bulkUpdateStatus(ComplaintBulkStatusRequest.builder()
+                    .status(ComplaintStatus.IN_PROGRESS)
+                    .ids(List.of(ours, theirs))
+                    .build());
+        } finally {
+            ReflectionTestUtils.setField(target, "complaintRepository", complaintRepository);
+        }
+        
+        assertThat(result.getUpdated()).isEqualTo(2);
+        assertThat(result.getOutcomes())
+                .extracting(ComplaintBulkStatusResult.Item::getId, ComplaintBulkStatusResult.Item::getOutcome)
+                .containsExactly(
+                        tuple(ours, ComplaintBulkStatusResult.Outcome.UPDATED),
+                        tuple(theirs, ComplaintBulkStatusResult.Outcome.UPDATED));
+        // Once the bulk update commits, the waiting move finds the complaint already in progress
+        assertThatThrownBy(() -> concurrentMove.get().get(10, TimeUnit.SECONDS))
+                .hasCauseInstanceOf(IllegalStateException.class);
+        // Each complaint's move is counted once
+        assertThat(complaintCounters.count(List.of(ComplaintStatus.SUBMITTED), null)).isEqualTo(submittedBefore - 2);
+        assertThat(complaintCounters.count(List.of(ComplaintStatus.IN_PROGRESS), null)).isEqualTo(inProgressBefore + 2);
+    }
+}
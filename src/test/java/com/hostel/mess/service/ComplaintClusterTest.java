@@ -0,0 +1,92 @@
+package com.hostel.mess.service;
+
+import com.hostel.mess.dto.ComplaintBulkStatusResult;
+import com.hostel.mess.dto.ComplaintClusterDto;
+import com.hostel.mess.dto.ComplaintClusterResolveRequest;
+import com.hostel.mess.dto.ComplaintDto;
+import com.hostel.mess.model.ComplaintStatus;
+import com.hostel.mess.model.Student;
+import com.hostel.mess.repository.StudentRepository;
+import com.hostel.mess.support.FeedbackFixtures;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+/**
+ * Cluster listings show only open near-duplicates, and resolving a cluster touches only
+ * the complaints the warden reviewed that are still open in it
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class ComplaintClusterTest {
+    
+    private static final String TITLE = "Mouldy poha at breakfast";
+    private static final String DESCRIPTION = "The poha on the breakfast counter smelled mouldy and had "
+            + "green specks through it, several of us skipped breakfast because of it";
+    
+    @Autowired
+    private ComplaintService complaintService;
+    
+    @Autowired
+    private StudentRepository studentRepository;
+    
+    @Test
+    void resolveTouchesOnlyReviewedOpenMembers() {
+        Student student = FeedbackFixtures.student(studentRepository, "CLUS01");
+        Long first = submit(student, DESCRIPTION);
+        Long second = submit(student, DESCRIPTION);
+        Long third = submit(student, DESCRIPTION.replace("several", "many"));
+        Long unrelated = FeedbackFixtures.submitComplaint(complaintService, student, "Broken ceiling fan",
+                "The ceiling fan in the reading room has stopped working").getId();
+        
+        ComplaintClusterDto cluster = complaintService.getComplaintCluster(first);
+        assertThat(cluster.getClusterSize()).isEqualTo(3);
+        assertThat(cluster.getOpenComplaints()).extracting(ComplaintDto::getId).containsExactly(first, second, third);
+        
+        // Another warden resolves one member, and a new duplicate arrives after the listing was read
+        complaintService.updateComplaintStatus(second, ComplaintStatus.RESOLVED, "Handled", "warden", null);
+        Long late = submit(student, DESCRIPTION);
+        assertThat(complaintService.getComplaintCluster(first).getOpenComplaints())
+                .extracting(ComplaintDto::getId)
+                .containsExactly(first, third, late);
+        
+        ComplaintBulkStatusResult result = complaintService.resolveCluster(first,
+                ComplaintClusterResolveRequest.builder()
+                        .ids(List.of(first, second, third, unrelated))
+                        .notes("Batch of poha replaced")
+                        .resolvedBy("warden")
+                        .build());
+        
+        assertThat(result.getRequested()).isEqualTo(4);
+        assertThat(result.getUpdated()).isEqualTo(2);
+        assertThat(result.getOutcomes())
+                .extracting(ComplaintBulkStatusResult.Item::getId, ComplaintBulkStatusResult.Item::getOutcome)
+                .containsExactly(
+                        tuple(first, ComplaintBulkStatusResult.Outcome.UPDATED),
+                        tuple(second, ComplaintBulkStatusResult.Outcome.NOT_IN_CLUSTER),
+                        tuple(third, ComplaintBulkStatusResult.Outcome.UPDATED),
+                        tuple(unrelated, ComplaintBulkStatusResult.Outcome.NOT_IN_CLUSTER));
+        assertThat(complaintService.getComplaintById(second).getResolutionNotes()).isEqualTo("Handled");
+        assertThat(complaintService.getComplaintById(unrelated).getStatus()).isEqualTo(ComplaintStatus.SUBMITTED);
+        
+        // The late duplicate was never reviewed, so it stays open and is now alone in the cluster
+        assertThat(complaintService.getComplaintById(late).getStatus()).isEqualTo(ComplaintStatus.SUBMITTED);
+        ComplaintClusterDto remaining = complaintService.getComplaintCluster(late);
+        assertThat(remaining.getClusterSize()).isEqualTo(1);
+        assertThat(remaining.getOpenComplaints()).extracting(ComplaintDto::getId).containsExactly(late);
+        assertThat(complaintService.getComplaintCluster(first))
+                .extracting(ComplaintClusterDto::getClusterSize, ComplaintClusterDto::getOpenComplaints)
+                .containsExactly(0, List.of());
+    }
+    
+    // Helper methods
+    private Long submit(Student student, String description) {
+        return FeedbackFixtures.submitComplaint(complaintService, student, TITLE, description).getId();
+    }
+}
@@ -0,0 +1,131 @@
+package com.hostel.mess.service;
+
+import com.hostel.mess.dto.ComplaintDto;
+import com.hostel.mess.model.ComplaintStatus;
+import com.hostel.mess.model.Priority;
+import com.hostel.mess.model.Student;
+import com.hostel.mess.repository.ComplaintRepository;
+import com.hostel.mess.repository.StudentRepository;
+import com.hostel.mess.support.FeedbackFixtures;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.env.Environment;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.AdditionalAnswers.delegatesTo;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+
+/**
+ * Escalation locks the complaints it raises, and its side effects and counts follow the commit
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class ComplaintEscalationServiceTest {
+    
+    @Autowired
+    private ComplaintService complaintService;
+    
+    @Autowired
+    private ComplaintRepository complaintRepository;
+    
+    @Autowired
+    private StudentRepository studentRepository;
+    
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    
+    @Autowired
+    private Environment environment;
+    
+    @Test
+    void transitionDuringEscalationWaitsForIt() {
+        Student student = FeedbackFixtures.student(studentRepository, "ESC01");
+        Long waiting = FeedbackFixtures.submitComplaint(complaintService, student, "Cold rice").getId();
+        Long taken = FeedbackFixtures.submitComplaint(complaintService, student, "Broken tray").getId();
+        
+        // A warden takes one complaint after the batch read its keys
+        ComplaintRepository repository = mock(ComplaintRepository.class, delegatesTo(complaintRepository));
+        AtomicReference<CompletableFuture<ComplaintDto>> transition = new AtomicReference<>();
+        doAnswer(invocation -> {
+            Object keys = complaintRepository.findEscalationKeysByIdIn(invocation.<Collection<Long>>getArgument(0));
+            CompletableFuture<ComplaintDto> take = CompletableFuture.supplyAsync(() -> complaintService
+                    .updateComplaintStatus(taken, ComplaintStatus.IN_PROGRESS, null, null, null));
+            transition.set(take);
+            // The rows read above stay locked, so the transition cannot commit before the escalation does
+            assertThatThrownBy(() -> take.get(500, TimeUnit.MILLISECONDS)).isInstanceOf(TimeoutException.class);
+            return keys;
+        }).when(repository).findEscalationKeysByIdIn(anyCollection());
+        ComplaintTriageQueue triageQueue = mock(ComplaintTriageQueue.class);
+        ComplaintCounters counters = mock(ComplaintCounters.class);
+        ComplaintEscalationService escalation = newEscalation(repository, triageQueue, counters);
+        
+        escalation.escalate(List.of(waiting, taken));
+        
+        verify(triageQueue).reprioritize(waiting, Priority.HIGH);
+        verify(triageQueue).reprioritize(taken, Priority.HIGH);
+        verify(counters, times(2)).recordReprioritized(eq(ComplaintStatus.SUBMITTED), eq(Priority.MEDIUM),
+                eq(Priority.HIGH), any());
+        verifyNoMoreInteractions(triageQueue, counters);
+        assertThat(escalation.getStatistics())
+                .containsEntry("escalated", 2L)
+                .containsEntry("scheduled", 2L);
+        
+        // The transition then applies on top of the escalation instead of overwriting it
+        assertThat(transition.get().join().getStatus()).isEqualTo(ComplaintStatus.IN_PROGRESS);
+        assertThat(complaintService.getComplaintById(taken))
+                .extracting(ComplaintDto::getStatus, ComplaintDto::getPriority)
+                .containsExactly(ComplaintStatus.IN_PROGRESS, Priority.HIGH);
+        assertThat(complaintService.getComplaintById(waiting).getPriority()).isEqualTo(Priority.HIGH);
+    }
+    
+    @Test
+    void rolledBackBatchIsNotCounted() {
+        Long waiting = FeedbackFixtures.submitComplaint(complaintService,
+                FeedbackFixtures.student(studentRepository, "ESC02"), "Stale bread").getId();
+        
+        ComplaintRepository repository = mock(ComplaintRepository.class, delegatesTo(complaintRepository));
+        doAnswer(invocation -> {
+            complaintRepository.escalatePriority(invocation.getArgument(0), invocation.getArgument(1),
+                    invocation.getArgument(2), invocation.getArgument(3));
+            throw new QueryTimeoutException("Connection lost before commit");
+        }).when(repository).escalatePriority(anyCollection(), any(), any(), any());
+        ComplaintTriageQueue triageQueue = mock(ComplaintTriageQueue.class);
+        ComplaintCounters counters = mock(ComplaintCounters.class);
+        ComplaintEscalationService escalation = newEscalation(repository, triageQueue, counters);
+        
+        escalation.escalate(List.of(waiting));
+        
+        verifyNoInteractions(triageQueue, counters);
+        assertThat(escalation.getStatistics())
+                .containsEntry("escalated", 0L)
+                .containsEntry("failedBatches", 1L)
+                .containsEntry("scheduled", 1L);
+        assertThat(complaintService.getComplaintById(waiting).getPriority()).isEqualTo(Priority.MEDIUM);
+    }
+    
+    // Helper methods
+    private ComplaintEscalationService newEscalation(ComplaintRepository repository, ComplaintTriageQueue triageQueue,
+                                                     ComplaintCounters counters) {
+        return new ComplaintEscalationService(repository, triageQueue, counters, transactionManager, environment);
+    }
+}
@@ -0,0 +1,157 @@
+package com.hostel.mess.service;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import com.hostel.mess.dto.ComplaintDto;
+import com.hostel.mess.model.ComplaintStatus;
+import com.hostel.mess.model.Student;
+import com.hostel.mess.repository.StudentRepository;
+import com.hostel.mess.support.FeedbackFixtures;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Many threads driving the same complaints through their lifecycle: every transition is
+ * applied exactly once, losers see the fresh state, and nothing is silently overwritten
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@Slf4j
+class ComplaintServiceConcurrencyTest {
+    
+    private static final int THREADS = 8;
+    private static final int COMPLAINTS = 20;
+    private static final ComplaintStatus[] LIFECYCLE = {
+            ComplaintStatus.IN_PROGRESS, ComplaintStatus.RESOLVED, ComplaintStatus.CLOSED};
+    
+    @Autowired
+    private ComplaintService complaintService;
+    
+    @Autowired
+    private StudentRepository studentRepository;
+    
+    @Test
+    void racingTransitionsAreAppliedExactlyOnce() throws Exception {
+        Student student = FeedbackFixtures.student(studentRepository, "RACE01");
+        List<ComplaintDto> complaints = new ArrayList<>();
+        for (int i = 0; i < COMPLAINTS; i++) {
+            complaints.add(FeedbackFixtures.submitComplaint(complaintService, student, "Contended complaint " + i));
+        }
+        
+        // Retries are only visible in the service's debug log
+        Logger serviceLog = (Logger) LoggerFactory.getLogger(ComplaintService.class);
+        Level level = serviceLog.getLevel();
+        ListAppender<ILoggingEvent> retries = new ListAppender<>();
+        retries.start();
+        serviceLog.addAppender(retries);
+        serviceLog.setLevel(Level.DEBUG);
+        
+        Map<ComplaintStatus, AtomicInteger> applied = new EnumMap<>(ComplaintStatus.class);
+        for (ComplaintStatus status : LIFECYCLE) {
+            applied.put(status, new AtomicInteger());
+        }
+        AtomicInteger rejected = new AtomicInteger();
+        AtomicInteger conflicts = new AtomicInteger();
+        Map<Long, String> winningNotes = new ConcurrentHashMap<>();
+        
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CyclicBarrier barrier = new CyclicBarrier(THREADS);
+        AtomicLong elapsedNanos = new AtomicLong();
+        try {
+            List<Future<?>> workers = new ArrayList<>();
+            for (int thread = 0; thread < THREADS; thread++) {
+                String warden = "warden-" + thread;
+                workers.add(executor.submit(() -> {
+                    barrier.await();
+                    long start = System.nanoTime();
+                    for (ComplaintDto complaint : complaints) {
+                        for (ComplaintStatus target : LIFECYCLE) {
+                            try {
+                                complaintService.updateComplaintStatus(complaint.getId(), target,
+                                        "Handled by " + warden, warden, null);
+                                applied.get(target).incrementAndGet();
+                                if (target == ComplaintStatus.RESOLVED) {
+                                    winningNotes.put(complaint.getId(), "Handled by " + warden);
+                                }
+                            } catch (IllegalStateException e) {
+                                // Another warden made this transition first
+                                rejected.incrementAndGet();
+                            } catch (OptimisticLockingFailureException e) {
+                                // Still conflicting after every retry: the 409 case
+                                conflicts.incrementAndGet();
+                            }
+                        }
+                    }
+                    elapsedNanos.accumulateAndGet(System.nanoTime() - start, Math::max);
+                    return null;
+                }));
+            }
+            for (Future<?> worker : workers) {
+                worker.get(2, TimeUnit.MINUTES);
+            }
+        } finally {
+            executor.shutdownNow();
+            serviceLog.detachAppender(retries);
+            serviceLog.setLevel(level);
+        }
+        long retried = retries.list.stream()
+                .filter(event -> event.getFormattedMessage().startsWith("Retrying conflicting update"))
+                .count();
+        
+        int attempts = THREADS * COMPLAINTS * LIFECYCLE.length;
+        // How often versions actually collided depends on the scheduler, so it is reported, not asserted
+        log.info("{} transition requests on {} complaints from {} threads in {} ms: {} applied, "
+                        + "{} rejected as stale, {} conflicts after retries, {} retries",
+                attempts, COMPLAINTS, THREADS, TimeUnit.NANOSECONDS.toMillis(elapsedNanos.get()),
+                COMPLAINTS * LIFECYCLE.length, rejected.get(), conflicts.get(), retried);
+        
+        for (ComplaintStatus status : LIFECYCLE) {
+            assertThat(applied.get(status)).as("applied %s", status).hasValue(COMPLAINTS);
+        }
+        assertThat(rejected.get() + conflicts.get()).isEqualTo(attempts - COMPLAINTS * LIFECYCLE.length);
+        for (ComplaintDto complaint : complaints) {
+            ComplaintDto current = complaintService.getComplaintById(complaint.getId());
+            assertThat(current.getStatus()).isEqualTo(ComplaintStatus.CLOSED);
+            assertThat(current.getVersion()).isEqualTo(complaint.getVersion() + LIFECYCLE.length);
+            assertThat(current.getResolutionNotes()).isEqualTo(winningNotes.get(complaint.getId()));
+        }
+    }
+    
+    @Test
+    void staleExpectedVersionFailsWithoutRetry() {
+        ComplaintDto complaint = FeedbackFixtures.submitComplaint(complaintService,
+                FeedbackFixtures.student(studentRepository, "RACE02"), "Versioned complaint");
+        complaintService.updateComplaintStatus(complaint.getId(), ComplaintStatus.IN_PROGRESS, null, null,
+                complaint.getVersion());
+        
+        assertThatThrownBy(() -> complaintService.updateComplaintStatus(complaint.getId(), ComplaintStatus.RESOLVED,
+                "Too late", "warden", complaint.getVersion()))
+                .isInstanceOf(OptimisticLockingFailureException.class);
+        assertThat(complaintService.getComplaintById(complaint.getId()))
+                .extracting(ComplaintDto::getStatus, ComplaintDto::getResolutionNotes)
+                .containsExactly(ComplaintStatus.IN_PROGRESS, null);
+    }
+}
@@ -0,0 +1,83 @@
+package com.hostel.mess.service;
+
+import com.hostel.mess.model.Student;
+import com.hostel.mess.repository.StudentRepository;
+import com.hostel.mess.support.FeedbackFixtures;
+import com.hostel.mess.support.QueryCounter;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Complaint listings read DTO rows in one query, so their statement count does not grow with the rows
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class ComplaintServiceQueryCountTest {
+    
+    private static final int COMPLAINTS = 5;
+    
+    @Autowired
+    private ComplaintService complaintService;
+    
+    @Autowired
+    private StudentRepository studentRepository;
+    
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    
+    private QueryCounter queryCounter;
+    
+    @BeforeEach
+    void setUp() {
+        queryCounter = new QueryCounter(entityManagerFactory);
+    }
+    
+    @Test
+    void listingsUseConstantQueries() {
+        Student occasional = FeedbackFixtures.student(studentRepository, "LISTC01");
+        Student regular = FeedbackFixtures.student(studentRepository, "LISTC02");
+        submit(occasional, 0);
+        for (int i = 0; i < COMPLAINTS; i++) {
+            submit(regular, i);
+        }
+        
+        long oneRow = queryCounter.count(() ->
+                assertThat(complaintService.getComplaintsByStudent(occasional.getId())).hasSize(1));
+        long manyRows = queryCounter.count(() ->
+                assertThat(complaintService.getComplaintsByStudent(regular.getId()))
+                        .hasSize(COMPLAINTS)
+                        .allSatisfy(complaint -> assertThat(complaint.getStudentName()).isEqualTo(regular.getName())));
+        assertThat(manyRows).isEqualTo(oneRow);
+        
+        long smallPage = queryCounter.count(() ->
+                assertThat(complaintService.getAllComplaints(null, 1).getItems()).hasSize(1));
+        long largePage = queryCounter.count(() ->
+                assertThat(complaintService.getAllComplaints(null, COMPLAINTS).getItems()).hasSize(COMPLAINTS));
+        assertThat(largePage).isEqualTo(smallPage);
+        
+        long fewNext = queryCounter.count(() ->
+                assertThat(complaintService.getNextComplaints(1)).hasSize(1));
+        long moreNext = queryCounter.count(() ->
+                assertThat(complaintService.getNextComplaints(COMPLAINTS)).hasSize(COMPLAINTS));
+        assertThat(moreNext).isEqualTo(fewNext);
+        
+        long openBefore = queryCounter.count(() ->
+                assertThat(complaintService.getOpenComplaints()).hasSizeGreaterThanOrEqualTo(COMPLAINTS + 1));
+        submit(occasional, 1);
+        long openAfter = queryCounter.count(() ->
+                assertThat(complaintService.getOpenComplaints()).hasSizeGreaterThanOrEqualTo(COMPLAINTS + 2));
+        assertThat(openAfter).isEqualTo(openBefore);
+    }
+    
+    // Helper methods
+    private void submit(Student student, int index) {
+        FeedbackFixtures.submitComplaint(complaintService, student, "Listing complaint " + index,
+                "Cold food at counter " + index);
+    }
+}
@@ -0,0 +1,96 @@
+package com.hostel.mess.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Near-duplicates share a cluster, and complaints that leave the index drop out of it
+ */
+class ComplaintSimilarityIndexTest {
+    
+    private static final String TITLE = "Cold chapatis at dinner";
+    private static final String DESCRIPTION = "The chapatis served at the dinner counter were cold, hard "
+            + "and stuck together, and the dal beside them had gone lukewarm as well";
+    
+    private ComplaintSimilarityIndex index;
+    
+    @BeforeEach
+    void setUp() {
+        index = new ComplaintSimilarityIndex(null);
+        ReflectionTestUtils.setField(index, "threshold", 0.6);
+    }
+    
+    @Test
+    void nearDuplicatesClusterAndUnrelatedComplaintsStayApart() {
+        index.add(1L, TITLE, DESCRIPTION);
+        index.add(2L, TITLE, DESCRIPTION);
+        index.add(3L, TITLE, DESCRIPTION.replace("lukewarm", "tepid"));
+        index.add(4L, "Leaking tap in washroom", "The tap in the second floor washroom has been leaking all week");
+        
+        assertThat(index.clusterSize(1L)).isEqualTo(3);
+        assertThat(index.clusterOf(3L, 10)).containsExactlyInAnyOrder(1L, 2L, 3L);
+        assertThat(index.clusterOf(4L, 10)).containsExactly(4L);
+        assertThat(index.sameCluster(1L, List.of(4L, 3L, 99L, 2L))).containsExactly(3L, 2L);
+        assertThat(index.getStatistics())
+                .containsEntry("indexed", 4L)
+                .containsEntry("clusters", 1L)
+                .containsEntry("clusteredComplaints", 3L);
+    }
+    
+    @Test
+    void removedComplaintsLeaveTheirCluster() {
+        for (long id = 1; id <= 5; id++) {
+            index.add(id, TITLE, DESCRIPTION);
+        }
+        
+        index.remove(2L);
+        index.remove(3L);
+        index.remove(4L);
+        
+        // The limit applies to the open members only
+        assertThat(index.clusterOf(1L, 2)).containsExactlyInAnyOrder(1L, 5L);
+        assertThat(index.clusterSize(5L)).isEqualTo(2);
+        assertThat(index.clusterOf(3L, 10)).isEmpty();
+        assertThat(index.clusterSize(3L)).isZero();
+        assertThat(index.sameCluster(1L, List.of(2L, 5L))).containsExactly(5L);
+        assertThat(index.sameCluster(3L, List.of(1L, 5L))).isEmpty();
+        assertThat(index.getStatistics()).containsEntry("indexed", 2L);
+        
+        // A removed complaint is not indexed again, for example by a rebuild that read it while open
+        index.add(3L, TITLE, DESCRIPTION);
+        assertThat(index.clusterSize(3L)).isZero();
+        assertThat(index.clusterSize(1L)).isEqualTo(2);
+    }
+    
+    @Test
+    void newComplaintsAreNotMatchedAgainstRemovedOnes() {
+        index.add(1L, TITLE, DESCRIPTION);
+        index.remove(1L);
+        
+        index.add(2L, TITLE, DESCRIPTION);
+        
+        assertThat(index.clusterOf(2L, 10)).containsExactly(2L);
+        assertThat(index.getStatistics())
+                .containsEntry("indexed", 1L)
+                .containsEntry("clusters", 0L);
+    }
+    
+    @Test
+    void membersStayTogetherWhenTheFirstComplaintLeaves() {
+        index.add(1L, TITLE, DESCRIPTION);
+        index.add(2L, TITLE, DESCRIPTION.replace("lukewarm", "tepid"));
+        index.add(3L, TITLE, DESCRIPTION);
+        
+        // The first complaint roots the union-find tree and stays in it after removal
+        index.remove(1L);
+        index.add(4L, TITLE, DESCRIPTION);
+        
+        assertThat(index.clusterOf(4L, 10)).containsExactlyInAnyOrder(2L, 3L, 4L);
+        assertThat(index.clusterSize(2L)).isEqualTo(3);
+    }
+}
@@ -0,0 +1,135 @@
+package com.hostel.mess.service;
+
+import com.hostel.mess.model.Priority;
+import com.hostel.mess.repository.ComplaintRepository;
+import com.hostel.mess.repository.ComplaintTriageKey;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Open complaints come out highest priority first, then oldest, and stay in order as
+ * they are added, reprioritized, removed and rebuilt
+ */
+class ComplaintTriageQueueTest {
+    
+    private static final LocalDateTime T0 = LocalDateTime.of(2031, 5, 1, 8, 0);
+    
+    private final ComplaintRepository complaintRepository = mock(ComplaintRepository.class);
+    private final ComplaintTriageQueue queue = new ComplaintTriageQueue(complaintRepository);
+    
+    @Test
+    void highestPriorityFirstThenOldest() {
+        queue.upsert(1L, Priority.LOW, T0);
+        queue.upsert(2L, Priority.URGENT, T0.plusMinutes(30));
+        queue.upsert(3L, Priority.HIGH, T0.plusMinutes(5));
+        queue.upsert(4L, Priority.URGENT, T0.plusMinutes(10));
+        queue.upsert(5L, Priority.HIGH, T0.plusMinutes(5));
+        queue.upsert(6L, null, T0.plusMinutes(1));
+        
+        // Same priority and time fall back to the id; a missing priority counts as MEDIUM
+        assertThat(queue.next(10)).containsExactly(4L, 2L, 3L, 5L, 6L, 1L);
+        assertThat(queue.next(2)).containsExactly(4L, 2L);
+        assertThat(queue.next(0)).isEmpty();
+        assertThat(queue.size()).isEqualTo(6);
+    }
+    
+    @Test
+    void transitionsMoveOrDropComplaints() {
+        queue.upsert(1L, Priority.MEDIUM, T0);
+        queue.upsert(2L, Priority.MEDIUM, T0.plusMinutes(1));
+        queue.upsert(3L, Priority.MEDIUM, T0.plusMinutes(2));
+        
+        queue.reprioritize(3L, Priority.URGENT);
+        assertThat(queue.next(10)).containsExactly(3L, 1L, 2L);
+        
+        queue.upsert(1L, Priority.LOW, T0);
+        assertThat(queue.next(10)).containsExactly(3L, 2L, 1L);
+        assertThat(queue.size()).isEqualTo(3);
+        
+        queue.remove(3L);
+        queue.remove(99L);
+        assertThat(queue.next(10)).containsExactly(2L, 1L);
+        
+        // An escalation racing with a resolve must not bring the complaint back
+        queue.reprioritize(3L, Priority.URGENT);
+        assertThat(queue.next(10)).containsExactly(2L, 1L);
+        assertThat(queue.size()).isEqualTo(2);
+    }
+    
+    @Test
+    void rebuildLoadsOpenComplaintsWithoutDuplicatingEarlierUpserts() {
+        when(complaintRepository.findOpenTriageKeys()).thenReturn(List.of(
+                key(1L, Priority.HIGH, T0),
+                key(2L, Priority.LOW, T0.minusDays(1)),
+                key(3L, Priority.HIGH, T0.minusHours(1))));
+        
+        // Submitted while the application was starting, so it arrives both ways
+        queue.upsert(3L, Priority.HIGH, T0.minusHours(1));
+        assertThat(queue.isReady()).isFalse();
+        
+        queue.rebuild();
+        
+        assertThat(queue.isReady()).isTrue();
+        assertThat(queue.size()).isEqualTo(3);
+        assertThat(queue.next(10)).containsExactly(3L, 1L, 2L);
+    }
+    
+    @Test
+    void concurrentTransitionsKeepTheIndexConsistent() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(6);
+        try {
+            List<CompletableFuture<Void>> writers = new ArrayList<>();
+            for (int thread = 0; thread < 6; thread++) {
+                int offset = thread;
+                writers.add(CompletableFuture.runAsync(() -> {
+                    for (int i = 0; i < 5000; i++) {
+                        long id = (i + offset) % 200;
+                        switch (i % 4) {
+                            case 0 -> queue.upsert(id, Priority.MEDIUM, T0.plusSeconds(id));
+                            case 1 -> queue.reprioritize(id, Priority.values()[i % Priority.values().length]);
+                            case 2 -> queue.upsert(id, Priority.HIGH, T0.plusSeconds(id));
+                            default -> queue.remove(id + 100);
+                        }
+                    }
+                }, executor));
+            }
+            CompletableFuture.allOf(writers.toArray(new CompletableFuture[0])).get();
+        } finally {
+            executor.shutdownNow();
+        }
+        
+        // Every indexed complaint appears in the ordering exactly once
+        List<Long> ordered = queue.next(Integer.MAX_VALUE);
+        assertThat(ordered).doesNotHaveDuplicates().hasSize(queue.size());
+    }
+    
+    // Helper methods
+    private static ComplaintTriageKey key(Long id, Priority priority, LocalDateTime createdAt) {
+        return new ComplaintTriageKey() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+            
+            @Override
+            public Priority getPriority() {
+                return priority;
+            }
+            
+            @Override
+            public LocalDateTime getCreatedAt() {
+                return createdAt;
+            }
+        };
+    }
+}
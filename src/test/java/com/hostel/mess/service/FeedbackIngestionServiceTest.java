@@ -0,0 +1,226 @@
+package com.hostel.mess.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hostel.mess.dto.FeedbackDto;
+import com.hostel.mess.dto.MenuDto;
+import com.hostel.mess.model.MealType;
+import com.hostel.mess.model.Student;
+import com.hostel.mess.repository.MenuRepository;
+import com.hostel.mess.repository.StudentRepository;
+import com.hostel.mess.support.FeedbackFixtures;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.BooleanSupplier;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Write-behind ingestion: batched flushes reach the menu cache, journal failures are
+ * rejected, failing batches end in the dead-letter file and flushed segments are removed
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class FeedbackIngestionServiceTest {
+    
+    private static final LocalDate MENU_DATE = LocalDate.of(2031, 12, 1);
+    private static final long POISON_MENU_ID = 99L;
+    
+    @Autowired
+    private FeedbackIngestionService feedbackIngestionService;
+    
+    @Autowired
+    private MenuService menuService;
+    
+    @Autowired
+    private StudentRepository studentRepository;
+    
+    @TempDir
+    private Path journalDirectory;
+    
+    @Test
+    void batchedFlushUpdatesCachedStatsAndETag() {
+        MenuDto menu = FeedbackFixtures.menu(menuService, MENU_DATE, MealType.DINNER);
+        assertThat(menuService.getMenuByDateAndMealType(MENU_DATE, MealType.DINNER).orElseThrow().getTotalFeedbacks())
+                .isZero();
+        String etag = menuService.getMenuVersion(MENU_DATE, MENU_DATE, null).getEtag();
+        
+        for (int i = 1; i <= 3; i++) {
+            Student student = FeedbackFixtures.student(studentRepository, "INGEST0" + i);
+            feedbackIngestionService.submit(FeedbackDto.builder()
+                    .studentId(student.getId())
+                    .menuId(menu.getId())
+                    .rating(i + 2)
+                    .build());
+        }
+        
+        await(() -> menuService.getMenuByDateAndMealType(MENU_DATE, MealType.DINNER).orElseThrow()
+                .getTotalFeedbacks() == 3);
+        assertThat(menuService.getMenuByDateAndMealType(MENU_DATE, MealType.DINNER).orElseThrow().getAverageRating())
+                .isEqualTo(4.0);
+        assertThat(menuService.getMenuVersion(MENU_DATE, MENU_DATE, null).getEtag()).isNotEqualTo(etag);
+    }
+    
+    @Test
+    void journalFailureRejectsWithoutQueueing() throws Exception {
+        FeedbackService feedbackService = mock(FeedbackService.class);
+        when(feedbackService.persistFeedbackBatch(anyList())).thenAnswer(call -> call.<List<?>>getArgument(0).size());
+        FeedbackIngestionService ingestion = newIngestion(feedbackService, 1 << 20, 3);
+        ingestion.start();
+        try {
+            FileChannel closed = FileChannel.open(journalDirectory.resolve("closed"), StandardOpenOption.CREATE,
+                    StandardOpenOption.WRITE);
+            closed.close();
+            ReflectionTestUtils.setField(ingestion, "segment", closed);
+            
+            assertThatThrownBy(() -> ingestion.submit(feedback(1L)))
+                    .isInstanceOf(RejectedExecutionException.class);
+            assertThat(ingestion.getStatistics())
+                    .containsEntry("rejectedJournalFailure", 1L)
+                    .containsEntry("accepted", 0L)
+                    .containsEntry("queueDepth", 0);
+            verify(feedbackService, never()).persistFeedbackBatch(anyList());
+            
+            // The writer moves on to a fresh segment
+            ingestion.submit(feedback(1L));
+            await(() -> (long) ingestion.getStatistics().get("persisted") == 1);
+        } finally {
+            ingestion.stop();
+        }
+    }
+    
+    @Test
+    void failingBatchIsRetriedThenDeadLettersOnlyThePoisonRow() throws Exception {
+        FeedbackService feedbackService = mock(FeedbackService.class);
+        when(feedbackService.persistFeedbackBatch(anyList())).thenAnswer(call -> {
+            List<FeedbackDto> batch = call.getArgument(0);
+            if (batch.stream().anyMatch(dto -> dto.getMenuId() == POISON_MENU_ID)) {
+                throw new IllegalStateException("constraint violation");
+            }
+            return batch.size();
+        });
+        FeedbackIngestionService ingestion = newIngestion(feedbackService, 1 << 20, 2);
+        ingestion.start();
+        try {
+            ingestion.submit(feedback(1L));
+            ingestion.submit(feedback(POISON_MENU_ID));
+            ingestion.submit(feedback(2L));
+            
+            await(() -> (long) ingestion.getStatistics().get("deadLettered") == 1
+                    && (long) ingestion.getStatistics().get("persisted") == 2);
+            assertThat(Files.readAllLines(journalDirectory.resolve("feedback.journal.dead-letter")))
+                    .singleElement()
+                    .asString()
+                    .contains("\"menuId\":" + POISON_MENU_ID);
+        } finally {
+            ingestion.stop();
+        }
+    }
+    
+    @Test
+    void flushedSegmentsAreDeleted() throws Exception {
+        FeedbackService feedbackService = mock(FeedbackService.class);
+        when(feedbackService.persistFeedbackBatch(anyList())).thenAnswer(call -> call.<List<?>>getArgument(0).size());
+        // Every group fills its segment, so each submission rolls to a new one
+        FeedbackIngestionService ingestion = newIngestion(feedbackService, 1, 3);
+        ingestion.start();
+        try {
+            for (long menuId = 1; menuId <= 20; menuId++) {
+                ingestion.submit(feedback(menuId));
+            }
+            await(() -> (long) ingestion.getStatistics().get("persisted") == 20);
+            
+            ingestion.submit(feedback(21L));
+            await(() -> segmentCount() == 1);
+        } finally {
+            ingestion.stop();
+        }
+        assertThat(segmentCount()).isZero();
+    }
+    
+    @Test
+    void failedReplayKeepsTheJournalForTheNextStart() throws Exception {
+        Path leftover = journalDirectory.resolve("feedback.journal.000003");
+        Files.writeString(leftover, new ObjectMapper().findAndRegisterModules().writeValueAsString(feedback(1L)) + "\n");
+        FeedbackService feedbackService = mock(FeedbackService.class);
+        when(feedbackService.persistFeedbackBatch(anyList())).thenThrow(new IllegalStateException("database down"));
+        
+        FeedbackIngestionService ingestion = newIngestion(feedbackService, 1 << 20, 3);
+        ingestion.start();
+        try {
+            assertThat(leftover).exists();
+            assertThat(journalDirectory.resolve("feedback.journal.000004")).exists();
+        } finally {
+            ingestion.stop();
+        }
+        assertThat(leftover).exists();
+    }
+    
+    // Helper methods
+    private FeedbackIngestionService newIngestion(FeedbackService feedbackService, long segmentBytes, int maxAttempts) {
+        Student student = mock(Student.class);
+        when(student.canSubmitFeedback()).thenReturn(true);
+        StudentRepository students = mock(StudentRepository.class);
+        when(students.findById(anyLong())).thenReturn(Optional.of(student));
+        MenuRepository menus = mock(MenuRepository.class);
+        when(menus.existsById(any())).thenReturn(true);
+        
+        FeedbackIngestionService ingestion = new FeedbackIngestionService(feedbackService, students, menus,
+                new ObjectMapper().findAndRegisterModules(), new FeedbackMembershipIndex());
+        ReflectionTestUtils.setField(ingestion, "queueCapacity", 100);
+        ReflectionTestUtils.setField(ingestion, "batchSize", 10);
+        ReflectionTestUtils.setField(ingestion, "flushIntervalMs", 50L);
+        ReflectionTestUtils.setField(ingestion, "flushMaxAttempts", maxAttempts);
+        ReflectionTestUtils.setField(ingestion, "journalPath", journalDirectory.resolve("feedback.journal").toString());
+        ReflectionTestUtils.setField(ingestion, "journalSegmentBytes", segmentBytes);
+        return ingestion;
+    }
+    
+    private long segmentCount() {
+        try (Stream<Path> files = Files.list(journalDirectory)) {
+            return files.filter(file -> file.getFileName().toString().matches("feedback\\.journal\\.\\d+")).count();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+    
+    private static FeedbackDto feedback(Long menuId) {
+        return FeedbackDto.builder().studentId(1L).menuId(menuId).rating(4).build();
+    }
+    
+    private static void await(BooleanSupplier condition) {
+        long deadline = System.currentTimeMillis() + 10000;
+        while (!condition.getAsBoolean()) {
+            assertThat(System.currentTimeMillis()).as("condition not met in time").isLessThan(deadline);
+            try {
+                Thread.sleep(20);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+}
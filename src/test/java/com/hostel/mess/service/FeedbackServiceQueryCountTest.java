@@ -0,0 +1,97 @@
+package com.hostel.mess.service;
+
+import com.hostel.mess.dto.MenuDto;
+import com.hostel.mess.model.MealType;
+import com.hostel.mess.model.Student;
+import com.hostel.mess.repository.StudentRepository;
+import com.hostel.mess.support.FeedbackFixtures;
+import com.hostel.mess.support.QueryCounter;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Feedback listings read DTO rows in one query, so their statement count does not grow with the rows
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class FeedbackServiceQueryCountTest {
+    
+    private static final LocalDate MENU_DATE = LocalDate.of(2031, 12, 15);
+    private static final int STUDENTS = 5;
+    
+    @Autowired
+    private FeedbackService feedbackService;
+    
+    @Autowired
+    private MenuService menuService;
+    
+    @Autowired
+    private StudentRepository studentRepository;
+    
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    
+    private QueryCounter queryCounter;
+    
+    @BeforeEach
+    void setUp() {
+        queryCounter = new QueryCounter(entityManagerFactory);
+    }
+    
+    @Test
+    void listingsUseConstantQueries() {
+        MenuDto single = FeedbackFixtures.menu(menuService, MENU_DATE, MealType.BREAKFAST);
+        MenuDto crowded = FeedbackFixtures.menu(menuService, MENU_DATE, MealType.LUNCH);
+        MenuDto dinner = FeedbackFixtures.menu(menuService, MENU_DATE, MealType.DINNER);
+        List<Student> students = FeedbackFixtures.students(studentRepository, "LISTF0", STUDENTS);
+        for (Student student : students) {
+            submit(student, crowded, 5);
+        }
+        Student regular = students.get(0);
+        submit(regular, single, 1);
+        submit(regular, dinner, 2);
+        Long occasional = students.get(1).getId();
+        
+        long oneRow = queryCounter.count(() ->
+                assertThat(feedbackService.getFeedbackForMenu(single.getId())).hasSize(1));
+        long manyRows = queryCounter.count(() ->
+                assertThat(feedbackService.getFeedbackForMenu(crowded.getId()))
+                        .hasSize(STUDENTS)
+                        .allSatisfy(feedback -> assertThat(feedback.getStudentName()).isNotNull()));
+        assertThat(manyRows).isEqualTo(oneRow);
+        
+        long oneEntry = queryCounter.count(() ->
+                assertThat(feedbackService.getFeedbackByStudent(occasional)).hasSize(1));
+        long threeEntries = queryCounter.count(() ->
+                assertThat(feedbackService.getFeedbackByStudent(regular.getId()))
+                        .hasSize(3)
+                        .allSatisfy(feedback -> assertThat(feedback.getMenuDescription()).isNotNull()));
+        assertThat(threeEntries).isEqualTo(oneEntry);
+        
+        long smallPage = queryCounter.count(() ->
+                assertThat(feedbackService.getNegativeFeedback(null, 1).getItems()).hasSize(1));
+        long largePage = queryCounter.count(() ->
+                assertThat(feedbackService.getNegativeFeedback(null, 2).getItems()).hasSize(2));
+        assertThat(largePage).isEqualTo(smallPage);
+        
+        smallPage = queryCounter.count(() ->
+                assertThat(feedbackService.getPositiveFeedback(null, 1).getItems()).hasSize(1));
+        largePage = queryCounter.count(() ->
+                assertThat(feedbackService.getPositiveFeedback(null, STUDENTS).getItems()).hasSize(STUDENTS));
+        assertThat(largePage).isEqualTo(smallPage);
+    }
+    
+    // Helper methods
+    private void submit(Student student, MenuDto menu, int rating) {
+        FeedbackFixtures.submitFeedback(feedbackService, student, menu.getId(), rating);
+    }
+}
@@ -0,0 +1,103 @@
+package com.hostel.mess.service;
+
+import com.hostel.mess.dto.FeedbackDto;
+import com.hostel.mess.dto.MenuDto;
+import com.hostel.mess.model.MealType;
+import com.hostel.mess.model.Student;
+import com.hostel.mess.repository.FeedbackRepository;
+import com.hostel.mess.repository.StudentRepository;
+import com.hostel.mess.support.FeedbackFixtures;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * One feedback per student and menu, whether submissions race or arrive in a batch
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class FeedbackServiceTest {
+    
+    private static final LocalDate MENU_DATE = LocalDate.of(2031, 12, 8);
+    private static final int THREADS = 8;
+    
+    @Autowired
+    private FeedbackService feedbackService;
+    
+    @Autowired
+    private MenuService menuService;
+    
+    @Autowired
+    private StudentRepository studentRepository;
+    
+    @Autowired
+    private FeedbackRepository feedbackRepository;
+    
+    @Test
+    void parallelDuplicateSubmissionsStoreOneRow() throws Exception {
+        MenuDto menu = FeedbackFixtures.menu(menuService, MENU_DATE, MealType.LUNCH);
+        Student student = FeedbackFixtures.student(studentRepository, "DUP01");
+        FeedbackDto feedback = FeedbackDto.builder().studentId(student.getId()).menuId(menu.getId()).rating(3).build();
+        
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<FeedbackDto>> results = new ArrayList<>();
+        try {
+            for (int i = 0; i < THREADS; i++) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    return feedbackService.submitFeedback(feedback);
+                }));
+            }
+            start.countDown();
+            
+            int stored = 0;
+            for (Future<FeedbackDto> result : results) {
+                try {
+                    result.get(30, TimeUnit.SECONDS);
+                    stored++;
+                } catch (ExecutionException e) {
+                    assertThat(e.getCause())
+                            .isInstanceOf(IllegalArgumentException.class)
+                            .hasMessageContaining("already provided feedback");
+                }
+            }
+            assertThat(stored).isEqualTo(1);
+        } finally {
+            executor.shutdownNow();
+        }
+        
+        assertThat(feedbackRepository.findRowsByMenuId(menu.getId())).hasSize(1);
+        assertThat(menuService.getMenuByDateAndMealType(MENU_DATE, MealType.LUNCH).orElseThrow().getTotalFeedbacks())
+                .isEqualTo(1L);
+    }
+    
+    @Test
+    void invalidBatchRowDoesNotClaimThePair() {
+        MenuDto menu = FeedbackFixtures.menu(menuService, MENU_DATE, MealType.DINNER);
+        Student student = FeedbackFixtures.student(studentRepository, "DUP02");
+        
+        int inserted = feedbackService.persistFeedbackBatch(List.of(
+                FeedbackDto.builder().studentId(student.getId()).menuId(menu.getId()).rating(9).build(),
+                FeedbackDto.builder().studentId(student.getId()).menuId(menu.getId()).rating(5).build(),
+                FeedbackDto.builder().studentId(student.getId()).menuId(menu.getId()).rating(2).build()));
+        
+        assertThat(inserted).isEqualTo(1);
+        assertThat(feedbackRepository.findRowsByMenuId(menu.getId()))
+                .singleElement()
+                .satisfies(row -> assertThat(row.getRating()).isEqualTo(5));
+    }
+}
@@ -0,0 +1,151 @@
+package com.hostel.mess.service;
+
+import com.hostel.mess.dto.KeywordReportDto;
+import com.hostel.mess.model.ComplaintCategory;
+import com.hostel.mess.model.ComplaintStatus;
+import com.hostel.mess.model.FeedbackType;
+import com.hostel.mess.model.MealType;
+import com.hostel.mess.model.Priority;
+import com.hostel.mess.repository.ComplaintRepository;
+import com.hostel.mess.repository.ComplaintRow;
+import com.hostel.mess.repository.FeedbackRepository;
+import com.hostel.mess.repository.FeedbackRow;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDateTime;
+import java.util.function.BooleanSupplier;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Replayed and live text feed the menu, meal and category sketches; a full queue drops
+ * text instead of blocking, and only the newest menus are tracked
+ */
+class KeywordAnalyticsServiceTest {
+    
+    private static final long MENU_ID = 7L;
+    
+    private final FeedbackRepository feedbackRepository = mock(FeedbackRepository.class);
+    private final ComplaintRepository complaintRepository = mock(ComplaintRepository.class);
+    
+    private KeywordAnalyticsService service;
+    
+    @BeforeEach
+    void setUp() {
+        when(feedbackRepository.streamForExport(any(), any(), any(), any(), any(), any())).thenReturn(Stream.empty());
+        when(complaintRepository.streamForExport(any(), any(), any(), any(), any())).thenReturn(Stream.empty());
+        
+        service = new KeywordAnalyticsService(feedbackRepository, complaintRepository,
+                mock(PlatformTransactionManager.class));
+        ReflectionTestUtils.setField(service, "queueCapacity", 100);
+        ReflectionTestUtils.setField(service, "topK", 10);
+        ReflectionTestUtils.setField(service, "sketchWidth", 256);
+        ReflectionTestUtils.setField(service, "maxMenus", 2);
+        service.init();
+    }
+    
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        service.stop();
+    }
+    
+    @Test
+    void replayedAndLiveTextReachEveryScope() {
+        LocalDateTime now = LocalDateTime.now();
+        when(feedbackRepository.streamForExport(any(), any(), any(), any(), any(), any())).thenReturn(Stream.of(
+                feedbackRow("The dal was cold and watery", now),
+                feedbackRow(null, now)));
+        when(complaintRepository.streamForExport(any(), any(), any(), any(), any())).thenReturn(Stream.of(
+                complaintRow("Cockroach near the dal counter", now)));
+        
+        service.startWorker();
+        service.recordFeedback(MENU_ID, MealType.LUNCH, "Cold dal again, dal is watery", now);
+        service.recordComplaint(ComplaintCategory.HYGIENE, "   ", now);
+        await(() -> service.getStatistics().get("processed") == 1);
+        
+        assertThat(service.getStatistics())
+                .containsEntry("accepted", 1L)
+                .containsEntry("replayed", 2L)
+                .containsEntry("trackedMenus", 1L);
+        assertThat(service.getMenuKeywords(MENU_ID, false, 3).getKeywords())
+                .extracting(KeywordReportDto.KeywordCount::getKeyword, KeywordReportDto.KeywordCount::getEstimatedCount)
+                .containsExactly(tuple("dal", 3L), tuple("cold", 2L), tuple("watery", 2L));
+        assertThat(service.getMealTypeKeywords(MealType.LUNCH, false, 1).getKeywords())
+                .extracting(KeywordReportDto.KeywordCount::getKeyword)
+                .containsExactly("dal");
+        
+        KeywordReportDto hygiene = service.getCategoryKeywords(ComplaintCategory.HYGIENE, false, 10);
+        assertThat(hygiene.getTotalKeywords()).isEqualTo(4);
+        assertThat(hygiene.getKeywords())
+                .extracting(KeywordReportDto.KeywordCount::getKeyword)
+                .containsExactly("cockroach", "counter", "dal", "near");
+        assertThat(service.getCategoryKeywords(ComplaintCategory.HYGIENE, true, 10).getKeywords()).isEmpty();
+        assertThat(service.getMealTypeKeywords(MealType.DINNER, false, 10).getTotalKeywords()).isZero();
+    }
+    
+    @Test
+    void fullQueueDropsText() {
+        ReflectionTestUtils.setField(service, "queueCapacity", 2);
+        service.init();
+        
+        // Without a worker nothing drains the queue
+        for (int i = 0; i < 5; i++) {
+            service.recordComplaint(ComplaintCategory.FOOD_QUALITY, "Stale bread " + i, LocalDateTime.now());
+        }
+        
+        assertThat(service.getStatistics())
+                .containsEntry("accepted", 2L)
+                .containsEntry("dropped", 3L)
+                .containsEntry("queueDepth", 2L);
+    }
+    
+    @Test
+    void oldestMenusAreForgotten() {
+        service.startWorker();
+        LocalDateTime now = LocalDateTime.now();
+        for (long menuId = 1; menuId <= 3; menuId++) {
+            service.recordFeedback(menuId, MealType.DINNER, "Paneer was rubbery", now);
+        }
+        await(() -> service.getStatistics().get("processed") == 3);
+        
+        assertThat(service.getStatistics()).containsEntry("trackedMenus", 2L);
+        assertThat(service.getMenuKeywords(1L, false, 5).getKeywords()).isEmpty();
+        assertThat(service.getMenuKeywords(3L, false, 5).getKeywords())
+                .extracting(KeywordReportDto.KeywordCount::getKeyword)
+                .containsExactly("paneer", "rubbery");
+        assertThat(service.getMealTypeKeywords(MealType.DINNER, false, 5).getTotalKeywords()).isEqualTo(6);
+    }
+    
+    // Helper methods
+    private static FeedbackRow feedbackRow(String comments, LocalDateTime createdAt) {
+        return new FeedbackRow(1L, 1L, "Student", MENU_ID, createdAt.toLocalDate(), MealType.LUNCH, 2,
+                comments, FeedbackType.TASTE, createdAt);
+    }
+    
+    private static ComplaintRow complaintRow(String description, LocalDateTime createdAt) {
+        return new ComplaintRow(1L, 1L, "Student", "Pests", description, ComplaintCategory.HYGIENE,
+                ComplaintStatus.SUBMITTED, Priority.HIGH, null, null, createdAt, createdAt, null, null, 0L);
+    }
+    
+    private static void await(BooleanSupplier condition) {
+        long deadline = System.currentTimeMillis() + 10000;
+        while (!condition.getAsBoolean()) {
+            assertThat(System.currentTimeMillis()).as("condition not met in time").isLessThan(deadline);
+            try {
+                Thread.sleep(20);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package com.hostel.mess.service;
+
+import com.hostel.mess.dto.LiveRatingSnapshot;
+import com.hostel.mess.model.MealType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * A meal alerts once when its negative share crosses the threshold, re-arms when it
+ * recovers, and ignores feedback for other days
+ */
+class LiveRatingMonitorTest {
+    
+    private final List<LiveRatingAlertEvent> alerts = new ArrayList<>();
+    
+    private LiveRatingMonitor monitor;
+    
+    @BeforeEach
+    void setUp() {
+        ApplicationEventPublisher publisher = event -> alerts.add((LiveRatingAlertEvent) event);
+        monitor = new LiveRatingMonitor(publisher);
+        ReflectionTestUtils.setField(monitor, "windowMinutes", 15);
+        ReflectionTestUtils.setField(monitor, "negativeShareThreshold", 0.4);
+        ReflectionTestUtils.setField(monitor, "minFeedback", 10L);
+        monitor.init();
+    }
+    
+    @Test
+    void alertsOnceThenRearmsAfterRecovery() {
+        rate(MealType.LUNCH, 5, 6);
+        rate(MealType.LUNCH, 1, 3);
+        assertThat(alerts).as("below the minimum feedback").isEmpty();
+        
+        // 4 of 10 negative reaches the threshold
+        rate(MealType.LUNCH, 1, 1);
+        assertThat(alerts).singleElement().satisfies(alert -> {
+            assertThat(alert.getMealType()).isEqualTo(MealType.LUNCH);
+            assertThat(alert.getFeedbackCount()).isEqualTo(10);
+            assertThat(alert.getNegativeShare()).isEqualTo(0.4);
+            assertThat(alert.getAverageRating()).isEqualTo(3.4);
+        });
+        
+        rate(MealType.LUNCH, 1, 5);
+        assertThat(alerts).as("still breached, so no repeat alert").hasSize(1);
+        assertThat(snapshot(MealType.LUNCH).getAlerting()).isTrue();
+        assertThat(snapshot(MealType.LUNCH).getLastAlertAt()).isNotNull();
+        
+        // 9 of 25 negative is below the threshold again
+        rate(MealType.LUNCH, 5, 10);
+        assertThat(snapshot(MealType.LUNCH).getAlerting()).isFalse();
+        
+        rate(MealType.LUNCH, 1, 1);
+        assertThat(alerts).as("10 of 26 negative").hasSize(1);
+        rate(MealType.LUNCH, 1, 1);
+        assertThat(alerts).hasSize(2);
+        assertThat(alerts.get(1).getFeedbackCount()).isEqualTo(27);
+    }
+    
+    @Test
+    void mealsAreTrackedSeparately() {
+        rate(MealType.DINNER, 1, 10);
+        rate(MealType.BREAKFAST, 5, 10);
+        
+        assertThat(alerts).extracting(LiveRatingAlertEvent::getMealType).containsExactly(MealType.DINNER);
+        assertThat(snapshot(MealType.BREAKFAST))
+                .extracting(LiveRatingSnapshot::getFeedbackCount, LiveRatingSnapshot::getNegativeShare,
+                        LiveRatingSnapshot::getAlerting)
+                .containsExactly(10L, 0.0, false);
+    }
+    
+    @Test
+    void ignoresFeedbackForOtherDays() {
+        for (int i = 0; i < 20; i++) {
+            monitor.record(LocalDate.now().minusDays(1), MealType.SNACKS, 1, true);
+        }
+        
+        assertThat(alerts).isEmpty();
+        assertThat(snapshot(MealType.SNACKS).getFeedbackCount()).isZero();
+        assertThat(snapshot(MealType.SNACKS).getAverageRating()).isNull();
+    }
+    
+    // Helper methods
+    private void rate(MealType mealType, int rating, int times) {
+        for (int i = 0; i < times; i++) {
+            monitor.record(LocalDate.now(), mealType, rating, rating <= 2);
+        }
+    }
+    
+    private LiveRatingSnapshot snapshot(MealType mealType) {
+        return monitor.getSnapshots().stream()
+                .filter(snapshot -> snapshot.getMealType() == mealType)
+                .findFirst()
+                .orElseThrow();
+    }
+}
@@ -0,0 +1,85 @@
+package com.hostel.mess.service;
+
+import com.hostel.mess.dto.MenuDto;
+import com.hostel.mess.dto.MenuItemDto;
+import com.hostel.mess.model.MealType;
+import com.hostel.mess.repository.StudentRepository;
+import com.hostel.mess.support.FeedbackFixtures;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Cached menus keep their structure across feedback writes and are never shared between callers
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class MenuCacheTest {
+    
+    private static final LocalDate MENU_DATE = LocalDate.of(2031, 6, 2);
+    
+    @Autowired
+    private MenuService menuService;
+    
+    @Autowired
+    private FeedbackService feedbackService;
+    
+    @Autowired
+    private StudentRepository studentRepository;
+    
+    @Test
+    void feedbackUpdatesStatisticsWithoutEvictingTheDay() {
+        MenuDto menu = createMenu(MENU_DATE, MealType.LUNCH);
+        assertThat(menuService.getMenuByDateAndMealType(MENU_DATE, MealType.LUNCH))
+                .get().extracting(MenuDto::getTotalFeedbacks).isEqualTo(0L);
+        long evictions = menuService.getCacheStatistics().get("evictions");
+        long hits = menuService.getCacheStatistics().get("hits");
+        
+        FeedbackFixtures.submitFeedback(feedbackService,
+                FeedbackFixtures.student(studentRepository, "CACHE01"), menu.getId(), 2);
+        FeedbackFixtures.submitFeedback(feedbackService,
+                FeedbackFixtures.student(studentRepository, "CACHE02"), menu.getId(), 4);
+        
+        MenuDto cached = menuService.getMenuByDateAndMealType(MENU_DATE, MealType.LUNCH).orElseThrow();
+        assertThat(cached.getTotalFeedbacks()).isEqualTo(2L);
+        assertThat(cached.getAverageRating()).isEqualTo(3.0);
+        assertThat(menuService.getCacheStatistics().get("evictions")).isEqualTo(evictions);
+        assertThat(menuService.getCacheStatistics().get("hits")).isEqualTo(hits + 1);
+    }
+    
+    @Test
+    void callersReceiveTheirOwnCopies() {
+        LocalDate date = MENU_DATE.plusDays(1);
+        createMenu(date, MealType.DINNER);
+        
+        MenuDto first = menuService.getMenuByDateAndMealType(date, MealType.DINNER).orElseThrow();
+        first.setSpecialNotes("changed by caller");
+        first.getMenuItems().get(0).setItemName("changed by caller");
+        first.getMenuItems().clear();
+        
+        MenuDto second = menuService.getMenuByDateAndMealType(date, MealType.DINNER).orElseThrow();
+        assertThat(second.getSpecialNotes()).isEqualTo("Cache test");
+        assertThat(second.getMenuItems()).extracting(MenuItemDto::getItemName).containsExactly("Dal", "Rice");
+    }
+    
+    // Helper methods
+    private MenuDto createMenu(LocalDate date, MealType mealType) {
+        List<MenuItemDto> items = new ArrayList<>();
+        items.add(MenuItemDto.builder().itemName("Dal").price(BigDecimal.TEN).build());
+        items.add(MenuItemDto.builder().itemName("Rice").price(BigDecimal.TEN).build());
+        return menuService.createMenu(MenuDto.builder()
+                .menuDate(date)
+                .mealType(mealType)
+                .specialNotes("Cache test")
+                .menuItems(items)
+                .build());
+    }
+}
@@ -0,0 +1,104 @@
+package com.hostel.mess.service;
+
+import com.hostel.mess.model.MealType;
+import com.hostel.mess.model.Menu;
+import com.hostel.mess.model.MenuItem;
+import com.hostel.mess.repository.MenuRepository;
+import com.hostel.mess.support.QueryCounter;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Menu listings must cost the same number of statements however many menus they return
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class MenuServiceQueryCountTest {
+    
+    private static final LocalDate WEEK_START = LocalDate.of(2031, 3, 3);
+    
+    @Autowired
+    private MenuService menuService;
+    
+    @Autowired
+    private MenuRepository menuRepository;
+    
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    
+    private QueryCounter queryCounter;
+    
+    @BeforeEach
+    void setUp() {
+        queryCounter = new QueryCounter(entityManagerFactory);
+    }
+    
+    @Test
+    void menusForDateUseConstantQueries() {
+        LocalDate oneMenu = WEEK_START.plusDays(14);
+        LocalDate fourMenus = WEEK_START.plusDays(15);
+        createMenus(oneMenu, 1);
+        createMenus(fourMenus, MealType.values().length);
+        
+        long small = queryCounter.count(() -> assertThat(menuService.getMenusForDate(oneMenu)).hasSize(1));
+        long large = queryCounter.count(() -> assertThat(menuService.getMenusForDate(fourMenus)).hasSize(4));
+        
+        assertThat(large).isEqualTo(small);
+    }
+    
+    @Test
+    void menusForWeekUseConstantQueries() {
+        createMenus(WEEK_START, MealType.values().length);
+        long oneDay = queryCounter.count(() -> assertThat(menuService.getMenusForWeek(WEEK_START)).hasSize(4));
+        
+        for (int day = 1; day < 7; day++) {
+            createMenus(WEEK_START.plusDays(day), MealType.values().length);
+        }
+        long fullWeek = queryCounter.count(() -> assertThat(menuService.getMenusForWeek(WEEK_START)).hasSize(28));
+        
+        assertThat(fullWeek).isEqualTo(oneDay);
+    }
+    
+    @Test
+    void upcomingPagesUseConstantQueries() {
+        for (int day = 21; day < 28; day++) {
+            createMenus(WEEK_START.plusDays(day), MealType.values().length);
+        }
+        
+        long small = queryCounter.count(() -> assertThat(menuService.getUpcomingMenus(null, 2).getItems()).hasSize(2));
+        long large = queryCounter.count(() -> assertThat(menuService.getUpcomingMenus(null, 20).getItems()).hasSize(20));
+        
+        assertThat(large).isEqualTo(small);
+    }
+    
+    // Helper methods
+    private void createMenus(LocalDate date, int count) {
+        for (int meal = 0; meal < count; meal++) {
+            Menu menu = Menu.builder()
+                    .menuDate(date)
+                    .mealType(MealType.values()[meal])
+                    .build();
+            menu.addMenuItem(menuItem("Item A"));
+            menu.addMenuItem(menuItem("Item B"));
+            menuRepository.save(menu);
+        }
+    }
+    
+    private MenuItem menuItem(String name) {
+        return MenuItem.builder()
+                .itemName(name)
+                .isVegetarian(true)
+                .isAvailable(true)
+                .price(BigDecimal.TEN)
+                .build();
+    }
+}
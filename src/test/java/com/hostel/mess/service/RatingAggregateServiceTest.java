@@ -0,0 +1,69 @@
+package com.hostel.mess.service;
+
+import com.hostel.mess.dto.FeedbackDto;
+import com.hostel.mess.dto.MenuDto;
+import com.hostel.mess.model.FeedbackType;
+import com.hostel.mess.model.MealType;
+import com.hostel.mess.model.Student;
+import com.hostel.mess.repository.MenuRatingAggregateRepository;
+import com.hostel.mess.repository.StudentRepository;
+import com.hostel.mess.support.FeedbackFixtures;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Aggregate rows are created with their menu, so a submission only updates them
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class RatingAggregateServiceTest {
+    
+    private static final LocalDate MENU_DATE = LocalDate.of(2031, 11, 3);
+    
+    @Autowired
+    private MenuService menuService;
+    
+    @Autowired
+    private FeedbackService feedbackService;
+    
+    @Autowired
+    private StudentRepository studentRepository;
+    
+    @Autowired
+    private MenuRatingAggregateRepository menuRatingAggregateRepository;
+    
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    
+    @Test
+    void submissionOnlyInsertsTheFeedbackRow() {
+        MenuDto menu = FeedbackFixtures.menu(menuService, MENU_DATE, MealType.SNACKS);
+        assertThat(menuRatingAggregateRepository.findByMenuId(menu.getId())).hasSize(FeedbackType.values().length);
+        
+        Student student = FeedbackFixtures.student(studentRepository, "AGG01");
+        
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        feedbackService.submitFeedback(FeedbackDto.builder()
+                .studentId(student.getId())
+                .menuId(menu.getId())
+                .rating(4)
+                .feedbackType(FeedbackType.TASTE)
+                .build());
+        
+        assertThat(statistics.getEntityInsertCount()).isEqualTo(1);
+        assertThat(statistics.getTransactionCount()).isEqualTo(1);
+        assertThat(menuService.getMenuByDateAndMealType(MENU_DATE, MealType.SNACKS).orElseThrow())
+                .extracting(MenuDto::getTotalFeedbacks, MenuDto::getAverageRating)
+                .containsExactly(1L, 4.0);
+    }
+}
@@ -0,0 +1,154 @@
+package com.hostel.mess.service;
+
+import com.hostel.mess.dto.FeedbackDto;
+import com.hostel.mess.dto.MenuDto;
+import com.hostel.mess.dto.RatingTrendPoint;
+import com.hostel.mess.model.FeedbackType;
+import com.hostel.mess.model.MealType;
+import com.hostel.mess.model.RatingRollupWatermark;
+import com.hostel.mess.model.RollupLevel;
+import com.hostel.mess.model.Student;
+import com.hostel.mess.repository.RatingRollupWatermarkRepository;
+import com.hostel.mess.repository.StudentRepository;
+import com.hostel.mess.support.FeedbackFixtures;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.AopTestUtils;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Daily buckets fold into weekly and monthly trends, late feedback is counted once, and
+ * compaction after a restart or missed runs picks up every day the stored watermark has not reached
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class RatingRollupServiceTest {
+    
+    // Only these tests submit this type, so trends filtered on it see nothing else
+    private static final FeedbackType TYPE = FeedbackType.SUGGESTION;
+    
+    @Autowired
+    private RatingRollupService ratingRollupService;
+    
+    @Autowired
+    private RatingRollupWatermarkRepository ratingRollupWatermarkRepository;
+    
+    @Autowired
+    private MenuService menuService;
+    
+    @Autowired
+    private FeedbackService feedbackService;
+    
+    @Autowired
+    private StudentRepository studentRepository;
+    
+    @Test
+    void lateFeedbackIsCountedOnceAcrossCompactions() {
+        // Older than the lookback, so compaction never recomputes this week from its days
+        LocalDate monday = LocalDate.now().minusDays(84).with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+        MenuDto first = FeedbackFixtures.menu(menuService, monday, MealType.LUNCH);
+        MenuDto second = FeedbackFixtures.menu(menuService, monday.plusDays(2), MealType.LUNCH);
+        List<Student> students = FeedbackFixtures.students(studentRepository, "ROLLATE", 4);
+        submit(students.get(0), first, 5);
+        submit(students.get(1), first, 3);
+        submit(students.get(2), second, 4);
+        
+        assertThat(trend(RollupLevel.DAY, monday, monday.plusDays(2), MealType.LUNCH))
+                .extracting(RatingTrendPoint::getTotalFeedbacks)
+                .containsExactly(2L, 0L, 1L);
+        assertWeek(monday, MealType.LUNCH, 3L, 4.0);
+        
+        ratingRollupService.compact();
+        assertWeek(monday, MealType.LUNCH, 3L, 4.0);
+        
+        submit(students.get(3), second, 1);
+        ratingRollupService.compact();
+        assertWeek(monday, MealType.LUNCH, 4L, 3.25);
+        assertThat(trend(RollupLevel.WEEK, monday, monday, MealType.LUNCH).get(0).getStarCounts())
+                .containsEntry(1, 1L)
+                .containsEntry(3, 1L)
+                .containsEntry(4, 1L)
+                .containsEntry(5, 1L);
+    }
+    
+    @Test
+    void restartCompactsEveryDaySinceTheStoredWatermark() {
+        LocalDate today = LocalDate.now();
+        LocalDate monday = today.minusDays(120).with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+        
+        // The last compaction ran before these days and the scheduler has not run since
+        storeWatermark(today.minusDays(150));
+        restart();
+        MenuDto menu = FeedbackFixtures.menu(menuService, monday.plusDays(1), MealType.DINNER);
+        List<Student> students = FeedbackFixtures.students(studentRepository, "ROLLRESTART", 2);
+        submit(students.get(0), menu, 2);
+        submit(students.get(1), menu, 4);
+        
+        ratingRollupService.compact();
+        
+        assertWeek(monday, MealType.DINNER, 2L, 3.0);
+        assertThat(trend(RollupLevel.MONTH, monday.plusDays(1), monday.plusDays(1), MealType.DINNER).get(0)
+                .getTotalFeedbacks()).isEqualTo(2L);
+        assertThat(ratingRollupWatermarkRepository.findFirstByOrderByIdAsc())
+                .get()
+                .extracting(RatingRollupWatermark::getCompactedThrough)
+                .isEqualTo(today);
+    }
+    
+    @Test
+    void firstCompactionFoldsEveryDailyBucket() {
+        LocalDate monday = LocalDate.now().minusDays(200).with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+        
+        // A database that has never been compacted
+        ratingRollupWatermarkRepository.deleteAll();
+        restart();
+        MenuDto menu = FeedbackFixtures.menu(menuService, monday, MealType.BREAKFAST);
+        Student student = FeedbackFixtures.student(studentRepository, "ROLLFIRST01");
+        submit(student, menu, 5);
+        
+        ratingRollupService.compact();
+        
+        assertWeek(monday, MealType.BREAKFAST, 1L, 5.0);
+    }
+    
+    // Helper methods
+    private void submit(Student student, MenuDto menu, int rating) {
+        feedbackService.submitFeedback(FeedbackDto.builder()
+                .studentId(student.getId())
+                .menuId(menu.getId())
+                .rating(rating)
+                .feedbackType(TYPE)
+                .build());
+    }
+    
+    private List<RatingTrendPoint> trend(RollupLevel level, LocalDate from, LocalDate to, MealType mealType) {
+        return ratingRollupService.getTrend(level, from, to, mealType, TYPE);
+    }
+    
+    private void assertWeek(LocalDate monday, MealType mealType, long feedbacks, double average) {
+        assertThat(trend(RollupLevel.WEEK, monday, monday, mealType))
+                .singleElement()
+                .extracting(RatingTrendPoint::getTotalFeedbacks, RatingTrendPoint::getAverageRating)
+                .containsExactly(feedbacks, average);
+    }
+    
+    // A new process only knows the watermark it loads at startup
+    private void restart() {
+        RatingRollupService target = AopTestUtils.getTargetObject(ratingRollupService);
+        target.loadWatermark();
+    }
+    
+    private void storeWatermark(LocalDate compactedThrough) {
+        RatingRollupWatermark watermark = ratingRollupWatermarkRepository.findFirstByOrderByIdAsc().orElseThrow();
+        watermark.setCompactedThrough(compactedThrough);
+        ratingRollupWatermarkRepository.save(watermark);
+    }
+}
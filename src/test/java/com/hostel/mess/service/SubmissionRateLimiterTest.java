@@ -0,0 +1,53 @@
+package com.hostel.mess.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * A full bucket map evicts idle buckets or rejects new students; it never stops limiting
+ */
+class SubmissionRateLimiterTest {
+    
+    private static final SubmissionRateLimiter.Endpoint ENDPOINT = SubmissionRateLimiter.Endpoint.COMPLAINT;
+    
+    @Test
+    void newStudentsAreRejectedWhileEveryTrackedBucketIsInUse() {
+        SubmissionRateLimiter limiter = limiter(1);
+        
+        assertThat(limiter.acquire(ENDPOINT, 1L)).isZero();
+        assertThat(limiter.acquire(ENDPOINT, 2L)).isZero();
+        
+        for (long studentId = 3; studentId < 100; studentId++) {
+            assertThat(limiter.acquire(ENDPOINT, studentId)).isEqualTo(60);
+        }
+        assertThat(limiter.acquire(ENDPOINT, 1L)).isPositive();
+        assertThat(limiter.getStatistics().get("complaint"))
+                .containsEntry("trackedStudents", 2L)
+                .containsEntry("rejectedAtCapacity", 97L);
+    }
+    
+    @Test
+    void idleBucketsAreEvictedToMakeRoom() throws InterruptedException {
+        // Ten tokens a millisecond: a bucket is full again almost at once
+        SubmissionRateLimiter limiter = limiter(600000);
+        
+        assertThat(limiter.acquire(ENDPOINT, 1L)).isZero();
+        assertThat(limiter.acquire(ENDPOINT, 2L)).isZero();
+        Thread.sleep(5);
+        
+        assertThat(limiter.acquire(ENDPOINT, 3L)).isZero();
+        assertThat(limiter.getStatistics().get("complaint"))
+                .containsEntry("trackedStudents", 1L)
+                .containsEntry("rejectedAtCapacity", 0L);
+    }
+    
+    // Helper methods
+    private static SubmissionRateLimiter limiter(long refillPerMinute) {
+        return new SubmissionRateLimiter(new MockEnvironment()
+                .withProperty("mess.rate-limit.max-students", "2")
+                .withProperty("mess.rate-limit.complaint.capacity", "1")
+                .withProperty("mess.rate-limit.complaint.refill-per-minute", String.valueOf(refillPerMinute)));
+    }
+}
@@ -0,0 +1,52 @@
+package com.hostel.mess.service.support;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Estimates never undercount and stay close to the exact counts when the sketch is wide enough
+ */
+class CountMinSketchTest {
+    
+    @Test
+    void estimatesNeverUndercount() {
+        CountMinSketch sketch = new CountMinSketch(4, 256);
+        Map<String, Long> exact = new HashMap<>();
+        Random random = new Random(7);
+        for (int i = 0; i < 20000; i++) {
+            // Skewed towards low word numbers, like keywords in real comments
+            String word = "word" + (int) Math.abs(random.nextGaussian() * 200);
+            long estimate = sketch.add(word);
+            long count = exact.merge(word, 1L, Long::sum);
+            assertThat(estimate).isGreaterThanOrEqualTo(count);
+        }
+        
+        assertThat(sketch.getTotalCount()).isEqualTo(20000);
+        long bound = 2 * sketch.getTotalCount() / 256;
+        exact.forEach((word, count) -> assertThat(sketch.estimate(word))
+                .as(word)
+                .isBetween(count, count + bound));
+    }
+    
+    @Test
+    void unseenItemsEstimateZeroInAnEmptySketch() {
+        CountMinSketch sketch = new CountMinSketch(4, 64);
+        assertThat(sketch.estimate("dal")).isZero();
+        
+        sketch.add("dal");
+        sketch.add("dal");
+        assertThat(sketch.estimate("dal")).isEqualTo(2);
+    }
+    
+    @Test
+    void rejectsEmptyDimensions() {
+        assertThatThrownBy(() -> new CountMinSketch(0, 64)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new CountMinSketch(4, 0)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
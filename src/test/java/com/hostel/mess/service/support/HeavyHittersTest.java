@@ -0,0 +1,66 @@
+package com.hostel.mess.service.support;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
+
+/**
+ * The most frequent items survive a long tail of rare ones, in bounded memory
+ */
+class HeavyHittersTest {
+    
+    @Test
+    void frequentItemsOutlastTheTail() {
+        HeavyHitters heavyHitters = new HeavyHitters(5, 4, 512);
+        
+        // Rare words first fill the candidates, then the frequent ones must displace them
+        for (int i = 0; i < 500; i++) {
+            heavyHitters.add("rare" + i);
+        }
+        for (int round = 0; round < 40; round++) {
+            heavyHitters.add("cold");
+            heavyHitters.add("cold");
+            heavyHitters.add("cold");
+            heavyHitters.add("salty");
+            heavyHitters.add("salty");
+            heavyHitters.add("late");
+            heavyHitters.add("tail" + round);
+        }
+        
+        Map<String, Long> top = heavyHitters.top(3);
+        assertThat(top.keySet()).containsExactly("cold", "salty", "late");
+        assertThat(top.get("cold")).isGreaterThanOrEqualTo(120);
+        assertThat(heavyHitters.top(100)).hasSize(5);
+        assertThat(heavyHitters.getTotalCount()).isEqualTo(500 + 40 * 7);
+    }
+    
+    @Test
+    void tiesAreOrderedByItem() {
+        HeavyHitters heavyHitters = new HeavyHitters(4, 4, 512);
+        for (String item : List.of("roti", "dal", "rice", "dal", "roti", "rice")) {
+            heavyHitters.add(item);
+        }
+        
+        assertThat(heavyHitters.top(2)).containsExactly(entry("dal", 2L), entry("rice", 2L));
+    }
+    
+    @Test
+    void weeklySketchesKeepTheCurrentAndPreviousWeek() {
+        WeeklyHeavyHitters weekly = new WeeklyHeavyHitters(5, 4, 256);
+        LocalDate thisWeek = WeeklyHeavyHitters.weekOf(LocalDate.now());
+        
+        weekly.addAll(thisWeek, List.of("cold", "cold", "dal"));
+        weekly.addAll(thisWeek.minusWeeks(1), List.of("salty"));
+        weekly.addAll(thisWeek.minusWeeks(2), List.of("ignored"));
+        
+        assertThat(weekly.top(thisWeek, 5)).containsExactly(entry("cold", 2L), entry("dal", 1L));
+        assertThat(weekly.top(thisWeek.minusWeeks(1), 5)).containsExactly(entry("salty", 1L));
+        assertThat(weekly.top(thisWeek.minusWeeks(2), 5)).isEmpty();
+        assertThat(weekly.getTotalCount(thisWeek)).isEqualTo(3);
+    }
+}
@@ -0,0 +1,84 @@
+package com.hostel.mess.service.support;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Totals cover exactly the minutes of the window, reused slots forget their old minute,
+ * and concurrent recorders lose no counts
+ */
+class SlidingWindowRatingsTest {
+    
+    private static final long MINUTE = 29_000_000L;
+    
+    @Test
+    void totalsCoverTheWindowEndingAtTheMinute() {
+        SlidingWindowRatings window = new SlidingWindowRatings(3);
+        window.record(MINUTE, 5, false);
+        window.record(MINUTE + 1, 1, true);
+        window.record(MINUTE + 2, 3, false);
+        window.record(MINUTE + 2, 1, true);
+        
+        SlidingWindowRatings.Totals totals = window.totals(MINUTE + 2);
+        assertThat(totals.getCount()).isEqualTo(4);
+        assertThat(totals.getNegativeCount()).isEqualTo(2);
+        assertThat(totals.getAverageRating()).isEqualTo(2.5);
+        assertThat(totals.getNegativeShare()).isEqualTo(0.5);
+        
+        // The first minute has left the window, and minutes not reached yet are not counted
+        assertThat(window.totals(MINUTE + 3).getCount()).isEqualTo(3);
+        assertThat(window.totals(MINUTE).getCount()).isEqualTo(1);
+        assertThat(window.totals(MINUTE + 5).getAverageRating()).isNull();
+        assertThat(window.totals(MINUTE + 5).getNegativeShare()).isZero();
+    }
+    
+    @Test
+    void reusedSlotsStartEmptyAndLateRecordsAreDropped() {
+        SlidingWindowRatings window = new SlidingWindowRatings(2);
+        window.record(MINUTE, 1, true);
+        window.record(MINUTE + 2, 4, false);
+        
+        // MINUTE + 2 took over the slot of MINUTE, so a record for MINUTE now falls outside the ring
+        window.record(MINUTE, 1, true);
+        
+        assertThat(window.totals(MINUTE + 2).getCount()).isEqualTo(1);
+        assertThat(window.totals(MINUTE + 2).getNegativeCount()).isZero();
+    }
+    
+    @Test
+    void concurrentRecordersLoseNoCounts() throws Exception {
+        SlidingWindowRatings window = new SlidingWindowRatings(5);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<CompletableFuture<Void>> recorders = new ArrayList<>();
+            for (int thread = 0; thread < 8; thread++) {
+                recorders.add(CompletableFuture.runAsync(() -> {
+                    for (int i = 0; i < 10000; i++) {
+                        window.record(MINUTE + i % 3, 2, i % 2 == 0);
+                    }
+                }, executor));
+            }
+            CompletableFuture.allOf(recorders.toArray(new CompletableFuture[0])).get();
+        } finally {
+            executor.shutdownNow();
+        }
+        
+        SlidingWindowRatings.Totals totals = window.totals(MINUTE + 2);
+        assertThat(totals.getCount()).isEqualTo(80000);
+        assertThat(totals.getNegativeCount()).isEqualTo(40000);
+        assertThat(totals.getAverageRating()).isEqualTo(2.0);
+    }
+    
+    @Test
+    void rejectsAnEmptyWindow() {
+        assertThatThrownBy(() -> new SlidingWindowRatings(0)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,34 @@
+package com.hostel.mess.service.support;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Keywords are normalized so the same word counts once however it was written
+ */
+class TextTokenizerTest {
+    
+    @Test
+    void normalizesCaseAccentsAndPlurals() {
+        assertThat(TextTokenizer.tokenize("CAFÉ Chapatis, curries & DISHES; boxes of glass"))
+                .containsExactly("cafe", "chapati", "curry", "dish", "box", "glass");
+    }
+    
+    @Test
+    void dropsStopWordsShortTokensAndNumbers() {
+        assertThat(TextTokenizer.tokenize("The rice was too dry at 8 pm and it's 2024, not ok"))
+                .containsExactly("rice", "dry");
+    }
+    
+    @Test
+    void cutsTokensAtTheApostrophe() {
+        assertThat(TextTokenizer.tokenize("Cook's sambar wasn't hot")).containsExactly("cook", "sambar", "wasn", "hot");
+    }
+    
+    @Test
+    void blankTextHasNoKeywords() {
+        assertThat(TextTokenizer.tokenize(null)).isEmpty();
+        assertThat(TextTokenizer.tokenize("  \n ")).isEmpty();
+    }
+}
@@ -0,0 +1,71 @@
+package com.hostel.mess.support;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Minimal timing harness for the benchmark-tagged tests
+ * Runs an action for a number of warmup rounds, then times each measured round
+ */
+public final class Benchmark {
+    
+    private Benchmark() {
+    }
+    
+    public static Result run(String name, int warmup, int iterations, Runnable action) {
+        for (int i = 0; i < warmup; i++) {
+            action.run();
+        }
+        
+        long[] samples = new long[iterations];
+        for (int i = 0; i < iterations; i++) {
+            long start = System.nanoTime();
+            action.run();
+            samples[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(samples);
+        
+        Result result = new Result(name, samples[samples.length / 2], samples[(int) (samples.length * 0.95)]);
+        System.out.println(result);
+        return result;
+    }
+    
+    /**
+     * Times a single run, for work that cannot be repeated such as bulk inserts
+     */
+    public static Result once(String name, Runnable action) {
+        long start = System.nanoTime();
+        action.run();
+        long elapsed = System.nanoTime() - start;
+        
+        Result result = new Result(name, elapsed, elapsed);
+        System.out.println(result);
+        return result;
+    }
+    
+    public static final class Result {
+        
+        private final String name;
+        private final long medianNanos;
+        private final long p95Nanos;
+        
+        private Result(String name, long medianNanos, long p95Nanos) {
+            this.name = name;
+            this.medianNanos = medianNanos;
+            this.p95Nanos = p95Nanos;
+        }
+        
+        public double medianMillis() {
+            return medianNanos / (double) TimeUnit.MILLISECONDS.toNanos(1);
+        }
+        
+        public double p95Millis() {
+            return p95Nanos / (double) TimeUnit.MILLISECONDS.toNanos(1);
+        }
+        
+        @Override
+        public String toString() {
+            return String.format("[benchmark] %s: median %.3f ms, p95 %.3f ms", name, medianMillis(), p95Millis());
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package com.hostel.mess.support;
+
+import com.hostel.mess.dto.ComplaintDto;
+import com.hostel.mess.dto.FeedbackDto;
+import com.hostel.mess.dto.MenuDto;
+import com.hostel.mess.model.Feedback;
+import com.hostel.mess.model.MealType;
+import com.hostel.mess.model.Menu;
+import com.hostel.mess.model.Student;
+import com.hostel.mess.repository.MenuRepository;
+import com.hostel.mess.repository.StudentRepository;
+import com.hostel.mess.service.ComplaintService;
+import com.hostel.mess.service.FeedbackService;
+import com.hostel.mess.service.MenuService;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Students, menus, feedback and complaints for the service, controller and benchmark tests
+ * Student ids must be unique per test, since every test class shares one database
+ */
+public final class FeedbackFixtures {
+    
+    private FeedbackFixtures() {
+    }
+    
+    public static Student student(StudentRepository studentRepository, String studentId) {
+        return studentRepository.save(Student.builder()
+                .studentId(studentId)
+                .name("Student " + studentId)
+                .email(studentId.toLowerCase() + "@hostel.test")
+                .build());
+    }
+    
+    public static List<Student> students(StudentRepository studentRepository, String prefix, int count) {
+        List<Student> students = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            students.add(Student.builder()
+                    .studentId(prefix + i)
+                    .name("Student " + prefix + i)
+                    .email(prefix.toLowerCase() + i + "@hostel.test")
+                    .build());
+        }
+        return studentRepository.saveAll(students);
+    }
+    
+    public static MenuDto menu(MenuService menuService, LocalDate date, MealType mealType) {
+        return menuService.createMenu(MenuDto.builder().menuDate(date).mealType(mealType).build());
+    }
+    
+    /**
+     * Creates count menus, four meals a day from the start date onwards
+     */
+    public static List<Menu> menus(MenuRepository menuRepository, LocalDate start, int count) {
+        MealType[] mealTypes = MealType.values();
+        List<Menu> menus = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            menus.add(Menu.builder()
+                    .menuDate(start.plusDays(i / mealTypes.length))
+                    .mealType(mealTypes[i % mealTypes.length])
+                    .build());
+        }
+        return menuRepository.saveAll(menus);
+    }
+    
+    public static Feedback feedback(Student student, Menu menu, int rating) {
+        return Feedback.builder()
+                .student(student)
+                .menu(menu)
+                .rating(rating)
+                .comments("Benchmark feedback")
+                .build();
+    }
+    
+    public static FeedbackDto submitFeedback(FeedbackService feedbackService, Student student, Long menuId,
+                                             int rating) {
+        return feedbackService.submitFeedback(FeedbackDto.builder()
+                .studentId(student.getId())
+                .menuId(menuId)
+                .rating(rating)
+                .build());
+    }
+    
+    public static ComplaintDto submitComplaint(ComplaintService complaintService, Student student, String title) {
+        return submitComplaint(complaintService, student, title, title + " needs attention");
+    }
+    
+    public static ComplaintDto submitComplaint(ComplaintService complaintService, Student student, String title,
+                                               String description) {
+        return complaintService.submitComplaint(ComplaintDto.builder()
+                .studentId(student.getId())
+                .title(title)
+                .description(description)
+                .build());
+    }
+}
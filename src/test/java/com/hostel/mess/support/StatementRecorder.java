@@ -0,0 +1,35 @@
+package com.hostel.mess.support;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Records the SQL Hibernate prepares while an action runs on the calling thread
+ * Registered as the statement inspector in the test profile; other threads are not recorded
+ */
+public class StatementRecorder implements StatementInspector {
+    
+    private static final ThreadLocal<List<String>> RECORDING = new ThreadLocal<>();
+    
+    @Override
+    public String inspect(String sql) {
+        List<String> statements = RECORDING.get();
+        if (statements != null) {
+            statements.add(sql);
+        }
+        return sql;
+    }
+    
+    public static List<String> record(Runnable action) {
+        List<String> statements = new ArrayList<>();
+        RECORDING.set(statements);
+        try {
+            action.run();
+        } finally {
+            RECORDING.remove();
+        }
+        return statements;
+    }
+}